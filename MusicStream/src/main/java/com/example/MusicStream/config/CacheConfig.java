@@ -0,0 +1,57 @@
+package com.example.MusicStream.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.cache.autoconfigure.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Catalogue caches, held in Caffeine on each instance. Evictions only reach the local copy, so
+ * other instances keep serving an entry until its TTL runs out.
+ * <p>
+ * Caching advice runs outside the transaction advice, so evictions happen after commit. A reader
+ * that loaded the row before that commit can still put it back after the eviction; such an entry
+ * stays until the next write to the track or until its TTL runs out.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String TRACKS = "tracks";
+    public static final String TRACK_SEARCH = "trackSearch";
+    public static final String COVERS = "covers";
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> trackCachesCustomizer(
+            @Value("${cache.tracks.max-size:10000}") long tracksMaxSize,
+            @Value("${cache.tracks.ttl:PT30M}") Duration tracksTtl,
+            @Value("${cache.track-search.max-size:2000}") long searchMaxSize,
+            @Value("${cache.track-search.ttl:PT2M}") Duration searchTtl,
+            @Value("${cache.covers.max-bytes:32MB}") DataSize coversMaxBytes) {
+        return cacheManager -> {
+            cacheManager.registerCustomCache(TRACKS, Caffeine.newBuilder()
+                    .maximumSize(tracksMaxSize)
+                    .expireAfterWrite(tracksTtl)
+                    .recordStats()
+                    .build());
+            cacheManager.registerCustomCache(TRACK_SEARCH, Caffeine.newBuilder()
+                    .maximumSize(searchMaxSize)
+                    .expireAfterWrite(searchTtl)
+                    .recordStats()
+                    .build());
+            // Cover variants are immutable, so only their total size bounds the cache
+            cacheManager.registerCustomCache(COVERS, Caffeine.newBuilder()
+                    .maximumWeight(coversMaxBytes.toBytes())
+                    .weigher((Object key, Object value) -> value instanceof byte[] bytes ? bytes.length : 1)
+                    .recordStats()
+                    .build());
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.MusicStream.config;
+
+import com.example.MusicStream.repository.IndexedBy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Fails startup unless every repository query method declares the indexes it relies on with
+ * {@link IndexedBy} and each of those indexes exists in the migrated schema. A new finder
+ * without a declaration, or a migration that drops a declared index, stops the application.
+ * <p>
+ * Only the existence of the named indexes is checked, not the query plans: a declaration that
+ * the planner does not actually use goes unnoticed, as does a method declared with an empty list.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "schema.verify-declared-indexes", havingValue = "true")
+public class DeclaredIndexVerifier implements SmartInitializingSingleton {
+
+    private final ListableBeanFactory beanFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    public DeclaredIndexVerifier(ListableBeanFactory beanFactory, JdbcTemplate jdbcTemplate) {
+        this.beanFactory = beanFactory;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Map<String, List<Method>> queryMethods = new TreeMap<>();
+        Repositories repositories = new Repositories(beanFactory);
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            queryMethods.put(information.getRepositoryInterface().getSimpleName(),
+                    information.getQueryMethods());
+        }
+        Set<String> indexes = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE schemaname = current_schema()", String.class));
+
+        List<String> problems = check(queryMethods, indexes);
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Repository queries without their declared indexes:\n  "
+                    + String.join("\n  ", problems));
+        }
+        log.info("Declared indexes found for {} repository query methods",
+                queryMethods.values().stream().mapToInt(List::size).sum());
+    }
+
+    static List<String> check(Map<String, List<Method>> queryMethods, Set<String> indexes) {
+        List<String> problems = new ArrayList<>();
+        queryMethods.forEach((repository, methods) -> methods.stream()
+                .sorted(Comparator.comparing(Method::getName))
+                .forEach(method -> {
+                    IndexedBy indexedBy = method.getAnnotation(IndexedBy.class);
+                    String name = repository + "." + method.getName();
+                    if (indexedBy == null) {
+                        problems.add(name + " has no @IndexedBy");
+                        return;
+                    }
+                    for (String index : indexedBy.value()) {
+                        if (!indexes.contains(index)) {
+                            problems.add(name + " needs missing index " + index);
+                        }
+                    }
+                }));
+        return problems;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.MusicStream.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class MediaConfig {
+
+    /**
+     * Runs media processing off request threads. Bounded on both threads and queue: jobs
+     * beyond the queue are rejected and recorded as failed rather than piling up.
+     */
+    @Bean(name = "mediaExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor mediaExecutor(@Value("${media.workers:2}") int workers,
+                                                @Value("${media.queue-capacity:100}") int queueCapacity,
+                                                Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadFactory(ThreadingConfig.threadFactory(environment, "media-"));
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.MusicStream.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Records an observation for every connection checkout and statement execution, so traces
+ * show pool waits and individual SQL statements beneath the repository call that issued them.
+ * Statement text is attached as a high-cardinality value and never becomes a metric tag.
+ */
+public class ObservedDataSource extends DelegatingDataSource {
+
+    static final String CONNECTION = "jdbc.connection";
+    static final String QUERY = "jdbc.query";
+
+    private final ObservationRegistry observationRegistry;
+
+    public ObservedDataSource(DataSource target, ObservationRegistry observationRegistry) {
+        super(target);
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Observation.createNotStarted(CONNECTION, observationRegistry)
+                .contextualName("connection")
+                .observeChecked(() -> super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Observation.createNotStarted(CONNECTION, observationRegistry)
+                .contextualName("connection")
+                .observeChecked(() -> super.getConnection(username, password)));
+    }
+
+    private Connection wrap(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            Object result = invoke(target, method, args);
+                            if (result instanceof Statement statement && method.getReturnType().isInterface()
+                                    && Statement.class.isAssignableFrom(method.getReturnType())) {
+                                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                                return wrap(statement, method.getReturnType(), sql);
+                            }
+                            return result;
+                    }
+                });
+    }
+
+    private Object wrap(Statement target, Class<?> type, String preparedSql) {
+        return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    switch (name) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            if (!name.startsWith("execute")) {
+                                return invoke(target, method, args);
+                            }
+                            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                            Observation observation = Observation.createNotStarted(QUERY, observationRegistry)
+                                    .contextualName(name)
+                                    .lowCardinalityKeyValue("operation", name);
+                            if (sql != null) {
+                                observation.highCardinalityKeyValue("db.statement", sql);
+                            }
+                            return observation.observeChecked(() -> invoke(target, method, args));
+                    }
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.MusicStream.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas, switched on by listing their JDBC URLs in {@code datasource.replicas.urls}.
+ * The primary and every replica get their own Hikari pool, configured from
+ * {@code spring.datasource.*} and reporting as {@code primary} and {@code replica-N}; replicas
+ * use the primary's credentials. Without the property Spring Boot's single pool is used.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.urls")
+public class ReplicaConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties properties, Environment environment,
+                                               ObjectProvider<MeterRegistry> meterRegistry,
+                                               @Value("${datasource.replicas.urls}") List<String> urls,
+                                               @Value("${datasource.replicas.connection-timeout:PT2S}") Duration connectionTimeout,
+                                               @Value("${datasource.replicas.health-check-interval:PT5S}") Duration healthCheckInterval) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = pool(properties, binder, meterRegistry, properties.determineUrl(), "primary");
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            HikariDataSource replica = pool(properties, binder, meterRegistry, url.trim(), "replica-" + (replicas.size() + 1));
+            replica.setReadOnly(true);
+            // A replica that is down at startup only stays out of rotation
+            replica.setInitializationFailTimeout(-1);
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            replicas.add(replica);
+        }
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replicas);
+        dataSource.startHealthCheck(healthCheckInterval, ThreadingConfig.threadFactory(environment, "replica-health-"));
+        return dataSource;
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Binder binder,
+                                         ObjectProvider<MeterRegistry> meterRegistry, String url, String name) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        meterRegistry.ifAvailable(pool::setMetricRegistry);
+        return pool;
+    }
+
+    @Bean
+    public MeterBinder replicaMetrics(ObjectProvider<DataSource> dataSource) {
+        return registry -> {
+            ReplicaRoutingDataSource routing;
+            try {
+                routing = dataSource.getObject().unwrap(ReplicaRoutingDataSource.class);
+            } catch (SQLException e) {
+                return;
+            }
+            Gauge.builder("jdbc.replicas.healthy", routing, ReplicaRoutingDataSource::healthyReplicas)
+                    .description("Read replicas currently in rotation")
+                    .register(registry);
+            FunctionCounter.builder("jdbc.replicas.fallbacks", routing, ReplicaRoutingDataSource::fallbacks)
+                    .description("Read-only connections served by the primary because no replica was healthy")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.MusicStream.config;
+
+import com.example.MusicStream.storage.LocalTrackStorage;
+import com.example.MusicStream.storage.S3TrackStorage;
+import com.example.MusicStream.storage.TrackStorage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class StorageConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "file.storage", havingValue = "local", matchIfMissing = true)
+    public TrackStorage localTrackStorage(@Value("${file.upload-dir:uploads/music}") String uploadDir) {
+        return new LocalTrackStorage(Paths.get(uploadDir));
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "file.storage", havingValue = "s3")
+    static class S3StorageConfig {
+
+        @Value("${file.s3.endpoint:}")
+        private String endpoint;
+
+        @Value("${file.s3.region:us-east-1}")
+        private String region;
+
+        @Value("${file.s3.access-key:}")
+        private String accessKey;
+
+        @Value("${file.s3.secret-key:}")
+        private String secretKey;
+
+        @Value("${file.s3.path-style:true}")
+        private boolean pathStyle;
+
+        @Bean(destroyMethod = "close")
+        public S3Client s3Client() {
+            S3ClientBuilder builder = S3Client.builder()
+                    .region(Region.of(region))
+                    .credentialsProvider(credentials())
+                    .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(pathStyle).build());
+            if (StringUtils.hasText(endpoint)) builder.endpointOverride(URI.create(endpoint));
+            return builder.build();
+        }
+
+        @Bean(destroyMethod = "close")
+        public S3Presigner s3Presigner() {
+            S3Presigner.Builder builder = S3Presigner.builder()
+                    .region(Region.of(region))
+                    .credentialsProvider(credentials())
+                    .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(pathStyle).build());
+            if (StringUtils.hasText(endpoint)) builder.endpointOverride(URI.create(endpoint));
+            return builder.build();
+        }
+
+        @Bean(destroyMethod = "shutdown")
+        public ExecutorService s3UploadExecutor(@Value("${file.s3.upload-concurrency:4}") int concurrency,
+                                                Environment environment) {
+            return Executors.newFixedThreadPool(concurrency, ThreadingConfig.threadFactory(environment, "s3-upload-"));
+        }
+
+        @Bean
+        public TrackStorage s3TrackStorage(S3Client s3Client,
+                                           S3Presigner s3Presigner,
+                                           ExecutorService s3UploadExecutor,
+                                           @Value("${file.s3.bucket}") String bucket,
+                                           @Value("${file.s3.prefix:music/}") String prefix,
+                                           @Value("${file.s3.part-size:8MB}") DataSize partSize,
+                                           @Value("${file.s3.presign-ttl:PT15M}") Duration presignTtl) {
+            return new S3TrackStorage(s3Client, s3Presigner, bucket, prefix,
+                    partSize.toBytes(), presignTtl, s3UploadExecutor);
+        }
+
+        private AwsCredentialsProvider credentials() {
+            if (StringUtils.hasText(accessKey)) {
+                return StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+            }
+            return DefaultCredentialsProvider.builder().build();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.MusicStream.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual-thread mode, switched on with {@code spring.threads.virtual.enabled} on Java 21+.
+ * Spring Boot then runs Tomcat requests, {@code @Scheduled} tasks and its own task executor
+ * on virtual threads; the executors defined here follow the same switch, and the
+ * connection pool is put behind a semaphore sized to it.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    public static ThreadFactory threadFactory(Environment environment, String prefix) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return new VirtualThreadTaskExecutor(prefix).getVirtualThreadFactory();
+        }
+        return new CustomizableThreadFactory(prefix);
+    }
+
+    // Ordered so it runs before the tracing wrapper, which then also times the permit wait
+    @Bean
+    static BeanPostProcessor connectionLimitingPostProcessor(Environment environment) {
+        return new OrderedBeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionLimitingDataSource
+                        || !Threading.VIRTUAL.isActive(environment)) {
+                    return bean;
+                }
+                int maxConnections = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+                if (bean instanceof ReplicaRoutingDataSource routing) {
+                    // Every replica has a pool of the same size next to the primary's
+                    maxConnections *= 1 + routing.replicas().size();
+                }
+                Duration timeout = Duration.ofMillis(
+                        environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30000L));
+                return new ConnectionLimitingDataSource(dataSource, maxConnections, timeout);
+            }
+
+            @Override
+            public int getOrder() {
+                return Ordered.LOWEST_PRECEDENCE;
+            }
+        };
+    }
+
+    private interface OrderedBeanPostProcessor extends BeanPostProcessor, Ordered {
+    }
+
+    // Threads queued here never reach the pool, so Hikari's pending gauge does not see them
+    @Bean
+    public MeterBinder connectionLimitMetrics(ObjectProvider<DataSource> dataSource) {
+        return registry -> {
+            if (dataSource.getIfAvailable() instanceof ConnectionLimitingDataSource limited) {
+                Gauge.builder("jdbc.connections.limit.waiting", limited, ConnectionLimitingDataSource::waiting)
+                        .description("Threads waiting for a connection permit")
+                        .register(registry);
+                Gauge.builder("jdbc.connections.limit.available", limited, ConnectionLimitingDataSource::availablePermits)
+                        .description("Connection permits not in use")
+                        .register(registry);
+            }
+        };
+    }
+}
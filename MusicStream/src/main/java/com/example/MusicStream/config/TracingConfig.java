@@ -0,0 +1,69 @@
+package com.example.MusicStream.config;
+
+import com.example.MusicStream.storage.ObservedTrackStorage;
+import com.example.MusicStream.storage.TrackStorage;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import javax.sql.DataSource;
+
+/**
+ * Tracing below the service layer. Controllers and services are observed through
+ * {@code @Observed}; here repository calls, JDBC statements and storage I/O get their own
+ * observations, which Micrometer Tracing turns into child spans. Spans go to the OTLP
+ * endpoint in {@code management.opentelemetry.tracing.export.otlp.endpoint} when set, and
+ * to the application log when {@code tracing.log-spans} is true.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    static BeanPostProcessor tracingPostProcessor(ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactory) {
+                    repositoryFactory.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repository) -> proxyFactory.addAdvice(repositoryInterceptor(
+                                    observationRegistry, repository.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ObservedDataSource)) {
+                    return new ObservedDataSource(dataSource, observationRegistry.getObject());
+                }
+                if (bean instanceof TrackStorage storage && !(bean instanceof ObservedTrackStorage)) {
+                    return new ObservedTrackStorage(storage, observationRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static MethodInterceptor repositoryInterceptor(ObjectProvider<ObservationRegistry> observationRegistry,
+                                                           String repository) {
+        return invocation -> Observation.createNotStarted("track.repository", observationRegistry.getObject())
+                .contextualName(repository + "#" + invocation.getMethod().getName())
+                .lowCardinalityKeyValue("repository", repository)
+                .lowCardinalityKeyValue("method", invocation.getMethod().getName())
+                .observeChecked(() -> invocation.proceed());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "tracing.log-spans", havingValue = "true")
+    public SpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+}
@@ -9,10 +9,6 @@ public class WebConfig implements WebMvcConfigurer {
 
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // Serve uploaded music files
-        registry.addResourceHandler("/uploads/music/**")
-                .addResourceLocations("file:uploads/music/");
-        
         // Serve uploaded cover images
         registry.addResourceHandler("/uploads/covers/**")
                 .addResourceLocations("file:uploads/covers/");
@@ -0,0 +1,66 @@
+package com.example.MusicStream.controller;
+
+import com.example.MusicStream.dto.AlbumDto;
+import com.example.MusicStream.dto.ArtistDto;
+import com.example.MusicStream.dto.CursorPage;
+import com.example.MusicStream.dto.TrackDto;
+import com.example.MusicStream.service.ArtistService;
+import io.micrometer.observation.annotation.Observed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@Observed(name = "track.controller")
+@RequestMapping("/api/artists")
+@RequiredArgsConstructor
+@Tag(name = "Artists", description = "Browse artists, their albums and tracks")
+@CrossOrigin(origins = "http://localhost:4200",
+        allowedHeaders = "*",
+        methods = {RequestMethod.GET, RequestMethod.POST,
+                RequestMethod.PUT, RequestMethod.DELETE,
+                RequestMethod.OPTIONS})
+public class ArtistController {
+
+    private final ArtistService artistService;
+
+    @Operation(summary = "List artists, optionally by name prefix")
+    @GetMapping
+    public Page<ArtistDto> search(@RequestParam(required = false) String name,
+                                  @RequestParam(defaultValue = "0") int page,
+                                  @RequestParam(defaultValue = "20") int size) {
+        return artistService.search(name, PageRequest.of(page, Math.max(1, Math.min(size, 100))));
+    }
+
+    @Operation(summary = "Get artist by ID")
+    @GetMapping("/{id}")
+    public ArtistDto show(@PathVariable long id) {
+        return artistService.show(id);
+    }
+
+    @Operation(summary = "Rename an artist; the name is updated on all of its tracks")
+    @PutMapping("/{id}")
+    public ArtistDto rename(@PathVariable long id, @RequestBody ArtistDto dto) {
+        return artistService.rename(id, dto);
+    }
+
+    @Operation(summary = "List an artist's albums")
+    @GetMapping("/{id}/albums")
+    public List<AlbumDto> albums(@PathVariable long id) {
+        return artistService.albums(id);
+    }
+
+    @Operation(summary = "Scroll an artist's tracks with a cursor, optionally within one album")
+    @GetMapping("/{id}/tracks")
+    public CursorPage<TrackDto> tracks(@PathVariable long id,
+                                       @RequestParam(required = false) Long albumId,
+                                       @RequestParam(required = false) String cursor,
+                                       @RequestParam(defaultValue = "20") int size) {
+        return artistService.tracks(id, albumId, cursor, Math.max(1, Math.min(size, 100)));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.MusicStream.controller;
+
+import com.example.MusicStream.media.CoverFormat;
+import com.example.MusicStream.service.CoverService;
+import io.micrometer.observation.annotation.Observed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@Observed(name = "track.controller")
+@RequestMapping("/api/covers")
+@RequiredArgsConstructor
+@Tag(name = "Covers", description = "Serve resized cover images")
+public class CoverController {
+
+    // Variant URLs embed the content hash, so a response never goes stale
+    private static final String IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable()
+            .getHeaderValue();
+
+    private final CoverService coverService;
+
+    @Operation(summary = "Get a cover at one of the configured sizes, in the most compact format the client accepts")
+    @GetMapping("/{checksum}/{size}")
+    public ResponseEntity<byte[]> cover(@PathVariable String checksum,
+                                        @PathVariable int size,
+                                        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                        WebRequest request,
+                                        HttpServletResponse response) {
+        List<MediaType> accepted = acceptedTypes(accept);
+        for (CoverFormat format : coverService.formats()) {
+            if (format != CoverFormat.jpg && !explicitlyAccepted(accepted, format.mediaType())) {
+                continue;
+            }
+            Optional<byte[]> image = coverService.read(checksum, size, format);
+            if (image.isEmpty()) {
+                continue;
+            }
+            response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            if (request.checkNotModified("\"" + checksum + "-" + size + "." + format + "\"")) {
+                return null;
+            }
+            return ResponseEntity.ok().contentType(format.mediaType()).body(image.get());
+        }
+        throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Cover not found: " + checksum + "/" + size);
+    }
+
+    // Browsers send image/* and */* whatever they decode, so only a named subtype with q > 0 counts
+    private static boolean explicitlyAccepted(List<MediaType> accepted, MediaType mediaType) {
+        return accepted.stream().anyMatch(type -> type.equalsTypeAndSubtype(mediaType) && type.getQualityValue() > 0);
+    }
+
+    private static List<MediaType> acceptedTypes(String accept) {
+        if (accept == null) {
+            return List.of();
+        }
+        try {
+            return MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return List.of();
+        }
+    }
+}
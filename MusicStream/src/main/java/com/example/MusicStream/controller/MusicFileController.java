@@ -0,0 +1,33 @@
+package com.example.MusicStream.controller;
+
+import com.example.MusicStream.streaming.AudioStreamer;
+import io.micrometer.observation.annotation.Observed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@Observed(name = "track.controller")
+@RequestMapping("/uploads/music")
+@RequiredArgsConstructor
+@Tag(name = "Music files", description = "Serve stored audio files")
+public class MusicFileController {
+
+    private final AudioStreamer audioStreamer;
+
+    @Operation(summary = "Stream a stored audio file by name")
+    @GetMapping("/{name:.+}")
+    public void stream(@PathVariable String name,
+                       HttpServletRequest request,
+                       HttpServletResponse response) throws IOException {
+        audioStreamer.stream(name, request, response);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.MusicStream.controller;
+
+import com.example.MusicStream.dto.CursorPage;
+import com.example.MusicStream.dto.PlaylistDto;
+import com.example.MusicStream.dto.PlaylistEntryDto;
+import com.example.MusicStream.dto.PlaylistTracksRequest;
+import com.example.MusicStream.service.PlaylistService;
+import io.micrometer.observation.annotation.Observed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@Observed(name = "track.controller")
+@RequestMapping("/api/playlists")
+@RequiredArgsConstructor
+@Tag(name = "Playlists", description = "Manage playlists and their ordered tracks")
+@CrossOrigin(origins = "http://localhost:4200",
+        allowedHeaders = "*",
+        methods = {RequestMethod.GET, RequestMethod.POST,
+                RequestMethod.PUT, RequestMethod.DELETE,
+                RequestMethod.OPTIONS})
+public class PlaylistController {
+
+    private final PlaylistService playlistService;
+
+    @Operation(summary = "Create a new playlist")
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public PlaylistDto create(@RequestBody PlaylistDto dto) {
+        return playlistService.create(dto);
+    }
+
+    @Operation(summary = "List playlists")
+    @GetMapping
+    public Page<PlaylistDto> list(@RequestParam(defaultValue = "0") int page,
+                                  @RequestParam(defaultValue = "20") int size) {
+        return playlistService.list(PageRequest.of(page, Math.max(1, Math.min(size, 100))));
+    }
+
+    @Operation(summary = "Get playlist by ID")
+    @GetMapping("/{id}")
+    public PlaylistDto show(@PathVariable long id) {
+        return playlistService.show(id);
+    }
+
+    @Operation(summary = "Rename or describe a playlist")
+    @PutMapping("/{id}")
+    public PlaylistDto update(@PathVariable long id, @RequestBody PlaylistDto dto) {
+        return playlistService.update(id, dto);
+    }
+
+    @Operation(summary = "Delete playlist by ID, with its entries")
+    @DeleteMapping("/{id}")
+    public void delete(@PathVariable long id) {
+        playlistService.delete(id);
+    }
+
+    @Operation(summary = "Scroll a playlist's tracks in order with a cursor")
+    @GetMapping("/{id}/tracks")
+    public CursorPage<PlaylistEntryDto> tracks(@PathVariable long id,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "50") int size) {
+        return playlistService.tracks(id, cursor, Math.max(1, Math.min(size, 500)));
+    }
+
+    @Operation(summary = "Add tracks in one batch, at the end, at the start or after an entry")
+    @PostMapping("/{id}/tracks")
+    public List<PlaylistEntryDto> addTracks(@PathVariable long id, @RequestBody PlaylistTracksRequest request) {
+        return playlistService.addTracks(id, request);
+    }
+
+    @Operation(summary = "Move entries in one batch, keeping their request order")
+    @PutMapping("/{id}/entries/move")
+    public List<PlaylistEntryDto> moveEntries(@PathVariable long id, @RequestBody PlaylistTracksRequest request) {
+        return playlistService.moveEntries(id, request);
+    }
+
+    @Operation(summary = "Remove entries in one batch, returning how many were removed")
+    @DeleteMapping("/{id}/entries")
+    public int removeEntries(@PathVariable long id, @RequestBody List<Long> entryIds) {
+        return playlistService.removeEntries(id, entryIds);
+    }
+}
@@ -1,18 +1,44 @@
 package com.example.MusicStream.controller;
 
+import com.example.MusicStream.dto.CursorPage;
+import com.example.MusicStream.dto.ImportSummary;
 import com.example.MusicStream.dto.TrackDto;
+import com.example.MusicStream.dto.TrackSummary;
+import com.example.MusicStream.entity.ImportFormat;
 import com.example.MusicStream.entity.MusicCategory;
+import com.example.MusicStream.entity.TrackSort;
+import com.example.MusicStream.service.CoverService;
+import com.example.MusicStream.service.PlayCountService;
+import com.example.MusicStream.service.TrackImportService;
 import com.example.MusicStream.service.TrackService;
+import com.example.MusicStream.service.TrendingService;
+import com.example.MusicStream.streaming.AudioStreamer;
+import io.micrometer.observation.annotation.Observed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Function;
 
 @RestController
+@Observed(name = "track.controller")
 @RequestMapping("/api/tracks")
 @RequiredArgsConstructor
 @Tag(name = "Tracks", description = "Manage all tracks")
@@ -23,12 +49,26 @@ import org.springframework.web.multipart.MultipartFile;
                 RequestMethod.OPTIONS})
 public class TrackController {
 
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    // Keeps the summary and full representations of one page from sharing an ETag
+    private static final long SUMMARY_ETAG_SEED = 0x5EED_0000_0000L;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final TrackService trackService;
+    private final CoverService coverService;
+    private final PlayCountService playCountService;
+    private final TrendingService trendingService;
+    private final TrackImportService trackImportService;
+    private final AudioStreamer audioStreamer;
+    private final JsonMapper jsonMapper;
 
     @Operation(summary = "Create a new track")
     @PostMapping(consumes = "multipart/form-data")
     public TrackDto create(@RequestPart("title") String title,
                           @RequestPart("artist") String artist,
+                          @RequestPart(value = "album", required = false) String album,
                           @RequestPart("category") String category,
                           @RequestPart(value = "description", required = false) String description,
                           @RequestPart(value = "duration", required = false) String duration,
@@ -40,6 +80,7 @@ public class TrackController {
         TrackDto dto = new TrackDto();
         dto.setTitle(title);
         dto.setArtist(artist);
+        dto.setAlbum(album);
         dto.setCategory(MusicCategory.valueOf(category));
         dto.setDescription(description);
         dto.setDuration(Long.parseLong(duration));
@@ -48,20 +89,136 @@ public class TrackController {
         return trackService.createWithFile(dto, file);
     }
 
+    @Operation(summary = "Bulk import track metadata from NDJSON or CSV, reporting one result per row")
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public void importTracks(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ImportFormat format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(TEXT_CSV)
+                ? ImportFormat.csv : ImportFormat.ndjson;
+        response.setContentType("application/x-ndjson");
+        OutputStream out = response.getOutputStream();
+        ImportSummary summary = trackImportService.importTracks(request.getInputStream(), format,
+                result -> writeLine(out, result));
+        writeLine(out, summary);
+        out.flush();
+    }
+
     @Operation(summary = "Search tracks by title and category")
     @GetMapping
     public Page<TrackDto> search(@RequestParam(required = false) String title,
                                  @RequestParam(required = false) MusicCategory category,
                                  @RequestParam(defaultValue = "0") int page,
-                                 @RequestParam(defaultValue = "8") int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        return trackService.search(title, category, pageable);
+                                 @RequestParam(defaultValue = "8") int size,
+                                 WebRequest request) {
+        Pageable pageable = PageRequest.of(page, bounded(size));
+        Page<TrackDto> result = trackService.search(title, category, pageable);
+        if (request.checkNotModified(listingEtag(result.getContent(), result.getTotalElements()))) {
+            return null;
+        }
+        return result;
+    }
+
+    @Operation(summary = "Scroll tracks with a cursor, without total count")
+    @GetMapping(params = "cursor")
+    public CursorPage<TrackDto> scroll(@RequestParam(required = false) String title,
+                                       @RequestParam(required = false) MusicCategory category,
+                                       @RequestParam(defaultValue = "id") TrackSort sort,
+                                       @RequestParam(name = "cursor") String cursor,
+                                       @RequestParam(defaultValue = "8") int size,
+                                       WebRequest request) {
+        CursorPage<TrackDto> result = trackService.scroll(title, category, sort, cursor, bounded(size));
+        if (request.checkNotModified(listingEtag(result.getContent(), result.isHasNext() ? 1 : 0))) {
+            return null;
+        }
+        return result;
+    }
+
+    @Operation(summary = "Search tracks, returning only the listing fields (fields=summary)")
+    @GetMapping(params = "fields=summary")
+    public Page<TrackSummary> searchSummaries(@RequestParam(required = false) String title,
+                                              @RequestParam(required = false) MusicCategory category,
+                                              @RequestParam(defaultValue = "0") int page,
+                                              @RequestParam(defaultValue = "8") int size,
+                                              WebRequest request) {
+        Page<TrackSummary> result = trackService.searchSummaries(title, category, PageRequest.of(page, bounded(size)));
+        if (request.checkNotModified(listingEtag(result.getContent(), TrackSummary::getId, TrackSummary::getVersion,
+                SUMMARY_ETAG_SEED + result.getTotalElements()))) {
+            return null;
+        }
+        return result;
+    }
+
+    @Operation(summary = "Scroll tracks with a cursor, returning only the listing fields (fields=summary)")
+    @GetMapping(params = {"cursor", "fields=summary"})
+    public CursorPage<TrackSummary> scrollSummaries(@RequestParam(required = false) String title,
+                                                    @RequestParam(required = false) MusicCategory category,
+                                                    @RequestParam(defaultValue = "id") TrackSort sort,
+                                                    @RequestParam(name = "cursor") String cursor,
+                                                    @RequestParam(defaultValue = "8") int size,
+                                                    WebRequest request) {
+        CursorPage<TrackSummary> result = trackService.scrollSummaries(title, category, sort, cursor, bounded(size));
+        if (request.checkNotModified(listingEtag(result.getContent(), TrackSummary::getId, TrackSummary::getVersion,
+                SUMMARY_ETAG_SEED + (result.isHasNext() ? 1 : 0)))) {
+            return null;
+        }
+        return result;
+    }
+
+    @Operation(summary = "Most played tracks, optionally within a category")
+    @GetMapping("/most-played")
+    public List<TrackDto> mostPlayed(@RequestParam(required = false) MusicCategory category,
+                                     @RequestParam(defaultValue = "20") int limit) {
+        return playCountService.mostPlayed(category, bounded(limit));
+    }
+
+    @Operation(summary = "Trending tracks by recent, time-decayed plays, optionally within a category")
+    @GetMapping("/trending")
+    public List<TrackDto> trending(@RequestParam(required = false) MusicCategory category,
+                                   @RequestParam(defaultValue = "20") int limit) {
+        return trendingService.trending(category, bounded(limit));
     }
 
     @Operation(summary = "Get track by ID")
     @GetMapping("/{id}")
-    public TrackDto show(@PathVariable long id) {
-        return trackService.show(id);
+    public TrackDto show(@PathVariable long id, WebRequest request) {
+        // A revalidation only needs the version column, not the entity
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(trackEtag(id, trackService.getVersion(id)))) {
+            return null;
+        }
+        TrackDto track = trackService.show(id);
+        long lastModified = track.getUpdatedAt() == null ? -1 : track.getUpdatedAt().toEpochMilli();
+        if (request.checkNotModified(trackEtag(id, track.getVersion()), lastModified)) {
+            return null;
+        }
+        return track;
+    }
+
+    @Operation(summary = "Stream track audio with HTTP range support")
+    @GetMapping("/{id}/stream")
+    public void stream(@PathVariable long id,
+                       HttpServletRequest request,
+                       HttpServletResponse response) throws IOException {
+        // Resolved from the cached track, so a stream request costs no query
+        TrackDto track = trackService.show(id);
+        if (track.getFileUrl() == null) {
+            throw new RuntimeException("No audio file for track with id: " + id);
+        }
+        audioStreamer.stream(track.getFileUrl().substring(track.getFileUrl().lastIndexOf('/') + 1), request, response);
+    }
+
+    @Operation(summary = "Record a play; counts are aggregated in memory and written in batches")
+    @PostMapping("/{id}/plays")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void recordPlay(@PathVariable long id) {
+        playCountService.recordPlay(id);
+    }
+
+    @Operation(summary = "Get waveform peaks: one unsigned byte per equal slice of the track")
+    @GetMapping("/{id}/waveform")
+    public void waveform(@PathVariable long id,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        audioStreamer.stream(trackService.getWaveformKey(id), request, response);
     }
 
     @Operation(summary = "Update track")
@@ -70,6 +227,7 @@ public class TrackController {
             @PathVariable long id,
             @RequestPart("title") String title,
             @RequestPart("artist") String artist,
+            @RequestPart(value = "album", required = false) String album,
             @RequestPart("category") String category,
             @RequestPart(value = "description", required = false) String description,
             @RequestPart(value = "duration", required = false) String duration,
@@ -82,6 +240,7 @@ public class TrackController {
         TrackDto dto = new TrackDto();
         dto.setTitle(title);
         dto.setArtist(artist);
+        dto.setAlbum(album);
         dto.setCategory(MusicCategory.valueOf(category));
         dto.setDescription(description);
         dto.setDuration(Long.parseLong(duration));
@@ -90,9 +249,55 @@ public class TrackController {
         return trackService.updateWithFile(id, dto, file);
     }
 
+    @Operation(summary = "Replace track audio by streaming the raw request body")
+    @PutMapping(value = "/{id}/file", consumes = {"audio/*", "application/octet-stream"})
+    public TrackDto uploadFile(@PathVariable long id,
+                               @RequestParam("filename") String filename,
+                               InputStream content) {
+        return trackService.uploadFile(id, content, filename);
+    }
+
+    @Operation(summary = "Upload a cover image, stored resized under its content hash")
+    @PutMapping(value = "/{id}/cover", consumes = "multipart/form-data")
+    public TrackDto uploadCover(@PathVariable long id, @RequestPart("file") MultipartFile file) {
+        return coverService.uploadCover(id, file);
+    }
+
     @Operation(summary = "Delete track by ID")
     @DeleteMapping("/{id}")
     public void delete(@PathVariable long id) {
         trackService.delete(id);
     }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(jsonMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Every listing is capped, and offset pages are cached under their size
+    private static int bounded(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private static String trackEtag(long id, Long version) {
+        return "\"" + id + "." + (version == null ? 0 : version) + "\"";
+    }
+
+    private static String listingEtag(List<TrackDto> tracks, long extra) {
+        return listingEtag(tracks, TrackDto::getId, TrackDto::getVersion, extra);
+    }
+
+    // Weak: a page is only semantically equivalent, its JSON may differ in field order
+    private static <T> String listingEtag(List<T> tracks, Function<T, Long> id, Function<T, Long> version, long extra) {
+        long hash = extra;
+        for (T track : tracks) {
+            hash = 31 * hash + (id.apply(track) == null ? 0 : id.apply(track));
+            hash = 31 * hash + (version.apply(track) == null ? 0 : version.apply(track));
+        }
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
 }
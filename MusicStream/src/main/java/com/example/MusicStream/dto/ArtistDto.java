@@ -0,0 +1,14 @@
+package com.example.MusicStream.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArtistDto {
+
+    private Long id;
+    private String name;
+}
@@ -0,0 +1,16 @@
+package com.example.MusicStream.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AudioMetadata {
+
+    private Long duration;
+    private Integer bitrate;
+    private Integer sampleRate;
+    private String codec;
+}
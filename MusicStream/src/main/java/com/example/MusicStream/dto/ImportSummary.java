@@ -0,0 +1,15 @@
+package com.example.MusicStream.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportSummary {
+
+    private long total;
+    private long imported;
+    private long failed;
+}
@@ -0,0 +1,19 @@
+package com.example.MusicStream.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaylistDto {
+
+    private Long id;
+    private String name;
+    private String description;
+    private Long version;
+    private Instant updatedAt;
+}
@@ -0,0 +1,15 @@
+package com.example.MusicStream.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaylistEntryDto {
+
+    private Long entryId;
+    private Long position;
+    private TrackDto track;
+}
@@ -0,0 +1,22 @@
+package com.example.MusicStream.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Tracks to add, or entries to move, in the given order. They land after {@code afterEntryId},
+ * at the start when {@code atStart} is set, and at the end otherwise.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaylistTracksRequest {
+
+    private List<Long> trackIds;
+    private List<Long> entryIds;
+    private Long afterEntryId;
+    private Boolean atStart;
+}
@@ -1,10 +1,14 @@
 package com.example.MusicStream.dto;
 
 import com.example.MusicStream.entity.MusicCategory;
+import com.example.MusicStream.entity.ProcessingStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -13,10 +17,24 @@ public class TrackDto {
     private Long id;
     private String title;
     private String artist;
+    private Long artistId;
+    private String album;
+    private Long albumId;
     private String description;
     private Long duration;
     private MusicCategory category;
     private Long fileSize;
     private String fileUrl;
     private String coverImage;
+    private Long version;
+    private Instant updatedAt;
+    private ProcessingStatus hlsStatus;
+    private String hlsPlaylistUrl;
+    private ProcessingStatus metadataStatus;
+    private Integer bitrate;
+    private Integer sampleRate;
+    private String codec;
+    // Only filled in by the most-played listing
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long playCount;
 }
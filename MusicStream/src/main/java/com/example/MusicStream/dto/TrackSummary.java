@@ -0,0 +1,24 @@
+package com.example.MusicStream.dto;
+
+import com.example.MusicStream.entity.MusicCategory;
+
+/**
+ * Listing row with only what a card grid shows. Read as a projection straight from the
+ * query, so no entity is hydrated and the description is never fetched.
+ */
+public interface TrackSummary {
+
+    Long getId();
+
+    String getTitle();
+
+    String getArtist();
+
+    MusicCategory getCategory();
+
+    Long getDuration();
+
+    String getCoverImage();
+
+    Long getVersion();
+}
@@ -0,0 +1,36 @@
+package com.example.MusicStream.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * An album of one artist, identified by the artist and {@code titleKey}, normalised the same
+ * way as {@link Artist#key(String)}.
+ */
+@Entity
+@Table(name = "album", uniqueConstraints = @UniqueConstraint(name = "uk_album_artist_title_key",
+        columnNames = {"artist_id", "title_key"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class Album {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "album_seq")
+    @SequenceGenerator(name = "album_seq", sequenceName = "album_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "artist_id", nullable = false)
+    private Artist artist;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(name = "title_key", nullable = false)
+    private String titleKey;
+}
@@ -0,0 +1,42 @@
+package com.example.MusicStream.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Locale;
+
+/**
+ * An artist, identified by {@code nameKey}: the name trimmed, with runs of whitespace
+ * collapsed and lower-cased, so "Daft Punk" and " daft  punk" are one artist. Tracks keep
+ * a copy of {@link #name} for listings.
+ */
+@Entity
+@Table(name = "artist", uniqueConstraints = @UniqueConstraint(name = "uk_artist_name_key", columnNames = "name_key"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class Artist {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "artist_seq")
+    @SequenceGenerator(name = "artist_seq", sequenceName = "artist_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(name = "name_key", nullable = false)
+    private String nameKey;
+
+    public static String normalize(String name) {
+        return name == null ? null : name.trim().replaceAll("\\s+", " ");
+    }
+
+    public static String key(String name) {
+        return name == null ? null : normalize(name).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.MusicStream.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "audio_blob")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AudioBlob {
+
+    @Id
+    @Column(length = 80)
+    private String name;
+
+    @Column(nullable = false, length = 64)
+    private String checksum;
+
+    @Column(nullable = false)
+    private Long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private Long refCount;
+
+    @Column(name = "released_at")
+    private Instant releasedAt;
+}
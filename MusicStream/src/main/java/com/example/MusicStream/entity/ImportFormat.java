@@ -0,0 +1,5 @@
+package com.example.MusicStream.entity;
+
+public enum ImportFormat {
+    ndjson, csv
+}
@@ -0,0 +1,44 @@
+package com.example.MusicStream.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * One slot in a playlist. Slots are ordered by a sparse {@code position}: appends take the
+ * next multiple of the gap and a move takes the midpoint between its new neighbours, so
+ * neither rewrites other rows. A track may appear more than once.
+ */
+@Entity
+@Table(name = "playlist_entry", indexes = {
+        @Index(name = "idx_playlist_entry_playlist_position", columnList = "playlist_id, position, id"),
+        @Index(name = "idx_playlist_entry_track", columnList = "track_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaylistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "playlist_entry_seq")
+    @SequenceGenerator(name = "playlist_entry_seq", sequenceName = "playlist_entry_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "playlist_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Playlist playlist;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "track_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Track track;
+
+    @Column(nullable = false)
+    private Long position;
+}
@@ -0,0 +1,5 @@
+package com.example.MusicStream.entity;
+
+public enum ProcessingStatus {
+    pending, processing, ready, failed
+}
@@ -5,6 +5,10 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Entity
 @Table(name = "track")
@@ -15,14 +19,27 @@ import lombok.AllArgsConstructor;
 public class Track {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "track_seq")
+    @SequenceGenerator(name = "track_seq", sequenceName = "track_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
     private String title;
     
+    // Denormalised from artistRef so listings and search never join
     @Column(nullable = false)
     private String artist;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "artist_id")
+    private Artist artistRef;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "album_id")
+    private Album albumRef;
+
+    @Column(name = "album_title")
+    private String albumTitle;
     
     @Column(length = 500)
     private String description;
@@ -40,4 +57,41 @@ public class Track {
     
     @Column(name = "cover_image")
     private String coverImage;
+
+    @Column(name = "file_checksum", length = 64)
+    private String fileChecksum;
+
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "hls_status")
+    private ProcessingStatus hlsStatus;
+
+    @Column(name = "hls_playlist_url")
+    private String hlsPlaylistUrl;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "metadata_status")
+    private ProcessingStatus metadataStatus;
+
+    private Integer bitrate;
+
+    @Column(name = "sample_rate")
+    private Integer sampleRate;
+
+    @Column(length = 50)
+    private String codec;
+
+    @Column(name = "cover_checksum", length = 64)
+    private String coverChecksum;
+
+    // Incremented in place by batched play-count flushes, never written through the entity
+    @ColumnDefault("0")
+    @Column(name = "play_count", nullable = false, insertable = false, updatable = false)
+    private Long playCount;
 }
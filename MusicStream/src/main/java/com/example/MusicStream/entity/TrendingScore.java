@@ -0,0 +1,49 @@
+package com.example.MusicStream.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Snapshot of one trending counter, so a restart does not start from an empty list.
+ * {@code scope} is a category name, or {@link #ALL} for the catalogue-wide list.
+ */
+@Entity
+@Table(name = "trending_score")
+@IdClass(TrendingScore.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingScore {
+
+    public static final String ALL = "all";
+
+    @Id
+    @Column(length = 20)
+    private String scope;
+
+    @Id
+    @Column(name = "track_id")
+    private Long trackId;
+
+    @Column(nullable = false)
+    private Double score;
+
+    @Column(name = "taken_at", nullable = false)
+    private Instant takenAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String scope;
+        private Long trackId;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.MusicStream.mapper;
+
+import com.example.MusicStream.dto.AlbumDto;
+import com.example.MusicStream.dto.ArtistDto;
+import com.example.MusicStream.entity.Album;
+import com.example.MusicStream.entity.Artist;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface ArtistMapper {
+
+    ArtistDto toDto(Artist artist);
+
+    @Mapping(target = "artistId", source = "artist.id")
+    AlbumDto toDto(Album album);
+}
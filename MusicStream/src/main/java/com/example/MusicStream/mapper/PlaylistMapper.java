@@ -0,0 +1,19 @@
+package com.example.MusicStream.mapper;
+
+import com.example.MusicStream.dto.PlaylistDto;
+import com.example.MusicStream.dto.PlaylistEntryDto;
+import com.example.MusicStream.entity.Playlist;
+import com.example.MusicStream.entity.PlaylistEntry;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring", uses = TrackMapper.class)
+public interface PlaylistMapper {
+
+    PlaylistDto toDto(Playlist playlist);
+
+    Playlist toEntity(PlaylistDto dto);
+
+    @Mapping(target = "entryId", source = "id")
+    PlaylistEntryDto toDto(PlaylistEntry entry);
+}
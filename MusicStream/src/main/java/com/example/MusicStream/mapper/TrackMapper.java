@@ -3,11 +3,38 @@ package com.example.MusicStream.mapper;
 import com.example.MusicStream.dto.TrackDto;
 import com.example.MusicStream.entity.Track;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 @Mapper(componentModel = "spring")
 public interface TrackMapper {
 
+    // Ids of the lazy references come from their foreign keys, so neither is loaded
+    @Mapping(target = "artistId", source = "artistRef.id")
+    @Mapping(target = "albumId", source = "albumRef.id")
+    @Mapping(target = "album", source = "albumTitle")
+    @Mapping(target = "playCount", ignore = true)
     TrackDto toDto(Track track);
 
+    // Play counts move on every flush without a version bump, so only listings that are neither
+    // cached nor ETagged carry them
+    @Named("withPlayCount")
+    @Mapping(target = "artistId", source = "artistRef.id")
+    @Mapping(target = "albumId", source = "albumRef.id")
+    @Mapping(target = "album", source = "albumTitle")
+    TrackDto toDtoWithPlayCount(Track track);
+
+    // Processing results, cover and play count are written by the server, never taken from a client
+    @Mapping(target = "artistRef", ignore = true)
+    @Mapping(target = "albumRef", ignore = true)
+    @Mapping(target = "albumTitle", source = "album")
+    @Mapping(target = "hlsStatus", ignore = true)
+    @Mapping(target = "hlsPlaylistUrl", ignore = true)
+    @Mapping(target = "metadataStatus", ignore = true)
+    @Mapping(target = "bitrate", ignore = true)
+    @Mapping(target = "sampleRate", ignore = true)
+    @Mapping(target = "codec", ignore = true)
+    @Mapping(target = "coverChecksum", ignore = true)
+    @Mapping(target = "playCount", ignore = true)
     Track toEntity(TrackDto dto);
 }
@@ -0,0 +1,29 @@
+package com.example.MusicStream.media;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Encodings cover sizes are stored in, most compact first. JPEG is always written; the
+ * others only when an ImageIO plugin can encode them.
+ */
+public enum CoverFormat {
+    avif("avif", "image/avif"),
+    webp("webp", "image/webp"),
+    jpg("jpeg", "image/jpeg");
+
+    private final String imageIoName;
+    private final MediaType mediaType;
+
+    CoverFormat(String imageIoName, String mediaType) {
+        this.imageIoName = imageIoName;
+        this.mediaType = MediaType.parseMediaType(mediaType);
+    }
+
+    public String imageIoName() {
+        return imageIoName;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.MusicStream.media;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the local ffmpeg binary. Output goes to a log file in the work directory so a
+ * chatty process can never block on a full pipe.
+ */
+@Component
+public class Ffmpeg {
+
+    private static final int LOG_TAIL = 2048;
+
+    private final String binary;
+    private final Duration timeout;
+
+    public Ffmpeg(@Value("${media.ffmpeg.path:ffmpeg}") String binary,
+                  @Value("${media.ffmpeg.timeout:PT10M}") Duration timeout) {
+        this.binary = binary;
+        this.timeout = timeout;
+    }
+
+    public void run(Path workDir, List<String> args) throws IOException {
+        List<String> command = new ArrayList<>(List.of(binary, "-nostdin", "-hide_banner", "-loglevel", "error", "-y"));
+        command.addAll(args);
+        Path log = workDir.resolve("ffmpeg.log");
+        Process process = new ProcessBuilder(command)
+                .directory(workDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            if (!process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly();
+                throw new IOException("ffmpeg timed out after " + timeout);
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for ffmpeg");
+        }
+        if (process.exitValue() != 0) {
+            throw new IOException("ffmpeg exited with " + process.exitValue() + ": " + tail(log));
+        }
+    }
+
+    private static String tail(Path log) throws IOException {
+        byte[] bytes = Files.readAllBytes(log);
+        int from = Math.max(0, bytes.length - LOG_TAIL);
+        return new String(bytes, from, bytes.length - from, StandardCharsets.UTF_8).trim();
+    }
+}
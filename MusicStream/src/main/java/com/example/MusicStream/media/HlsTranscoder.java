@@ -0,0 +1,136 @@
+package com.example.MusicStream.media;
+
+import com.example.MusicStream.entity.ProcessingStatus;
+import com.example.MusicStream.service.TrackAudioChangedEvent;
+import com.example.MusicStream.service.TrackService;
+import com.example.MusicStream.storage.DerivedKeys;
+import com.example.MusicStream.storage.TrackStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Packages uploaded audio as HLS: one AAC rendition per configured bitrate, segmented,
+ * with a master playlist on top. Renditions are keyed by the audio checksum, so identical
+ * uploads are packaged once. Each object is published before the master playlist, whose
+ * presence therefore means the whole set is complete.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "media.hls.enabled", havingValue = "true")
+public class HlsTranscoder {
+
+    private final TrackService trackService;
+    private final TrackStorage trackStorage;
+    private final MediaWorkspace workspace;
+    private final Ffmpeg ffmpeg;
+    private final TaskExecutor executor;
+    private final List<String> bitrates;
+    private final int segmentSeconds;
+
+    public HlsTranscoder(TrackService trackService,
+                         TrackStorage trackStorage,
+                         MediaWorkspace workspace,
+                         Ffmpeg ffmpeg,
+                         @Qualifier("mediaExecutor") TaskExecutor executor,
+                         @Value("${media.hls.bitrates:64k,128k,192k}") List<String> bitrates,
+                         @Value("${media.hls.segment-seconds:6}") int segmentSeconds) {
+        this.trackService = trackService;
+        this.trackStorage = trackStorage;
+        this.workspace = workspace;
+        this.ffmpeg = ffmpeg;
+        this.executor = executor;
+        this.bitrates = bitrates;
+        this.segmentSeconds = segmentSeconds;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAudioChanged(TrackAudioChangedEvent event) {
+        trackService.recordHls(event.trackId(), event.audioKey(), ProcessingStatus.pending, null);
+        try {
+            executor.execute(() -> process(event));
+        } catch (TaskRejectedException e) {
+            log.warn("HLS queue full, skipping track {}", event.trackId());
+            trackService.recordHls(event.trackId(), event.audioKey(), ProcessingStatus.failed, null);
+        }
+    }
+
+    void process(TrackAudioChangedEvent event) {
+        trackService.recordHls(event.trackId(), event.audioKey(), ProcessingStatus.processing, null);
+        try {
+            String master = transcode(event.audioKey(), event.checksum());
+            trackService.recordHls(event.trackId(), event.audioKey(), ProcessingStatus.ready, master);
+        } catch (IOException | RuntimeException e) {
+            log.warn("HLS packaging failed for track {}", event.trackId(), e);
+            trackService.recordHls(event.trackId(), event.audioKey(), ProcessingStatus.failed, null);
+        }
+    }
+
+    String transcode(String audioKey, String checksum) throws IOException {
+        String master = DerivedKeys.key(checksum, "hls.m3u8");
+        if (trackStorage.stat(master).isPresent()) {
+            return master;
+        }
+        Path dir = workspace.create();
+        try {
+            Path input = workspace.fetch(audioKey, dir);
+            Path out = Files.createDirectory(dir.resolve("out"));
+            String variant = DerivedKeys.key(checksum, "hls-%v");
+            ffmpeg.run(dir, arguments(input, out, variant, master));
+
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(out)) {
+                files = listing.filter(Files::isRegularFile).toList();
+            }
+            Path masterFile = out.resolve(master);
+            if (!files.contains(masterFile)) {
+                throw new IOException("ffmpeg produced no master playlist");
+            }
+            for (Path file : files) {
+                if (!file.equals(masterFile)) {
+                    trackStorage.put(file.getFileName().toString(), file);
+                }
+            }
+            trackStorage.put(master, masterFile);
+            return master;
+        } finally {
+            workspace.delete(dir);
+        }
+    }
+
+    private List<String> arguments(Path input, Path out, String variant, String master) {
+        List<String> args = new ArrayList<>(List.of("-i", input.toString(), "-vn"));
+        for (int i = 0; i < bitrates.size(); i++) {
+            args.addAll(List.of("-map", "0:a:0"));
+        }
+        args.addAll(List.of("-c:a", "aac"));
+        for (int i = 0; i < bitrates.size(); i++) {
+            args.addAll(List.of("-b:a:" + i, bitrates.get(i)));
+        }
+        args.addAll(List.of(
+                "-f", "hls",
+                "-hls_time", String.valueOf(segmentSeconds),
+                "-hls_playlist_type", "vod",
+                "-hls_segment_filename", out.resolve(variant + "-%05d.ts").toString(),
+                "-master_pl_name", master,
+                "-var_stream_map", IntStream.range(0, bitrates.size())
+                        .mapToObj(i -> "a:" + i + ",name:" + bitrates.get(i))
+                        .collect(Collectors.joining(" ")),
+                out.resolve(variant + ".m3u8").toString()));
+        return args;
+    }
+}
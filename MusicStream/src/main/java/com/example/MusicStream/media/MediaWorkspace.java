@@ -0,0 +1,62 @@
+package com.example.MusicStream.media;
+
+import com.example.MusicStream.storage.TrackStorage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+/**
+ * Scratch directories for media jobs. Stored audio is read in place when the backend keeps
+ * it on local disk and downloaded into the job directory otherwise.
+ */
+@Component
+public class MediaWorkspace {
+
+    private final TrackStorage trackStorage;
+    private final Path root;
+
+    public MediaWorkspace(TrackStorage trackStorage,
+                          @Value("${media.work-dir:${java.io.tmpdir}/musicstream-media}") String root) {
+        this.trackStorage = trackStorage;
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+    }
+
+    public Path create() throws IOException {
+        Files.createDirectories(root);
+        return Files.createTempDirectory(root, "job-");
+    }
+
+    public Path fetch(String key, Path dir) throws IOException {
+        Optional<Path> local = trackStorage.localPath(key);
+        if (local.isPresent()) {
+            return local.get();
+        }
+        long size = trackStorage.stat(key).orElseThrow(() -> new NoSuchFileException(key)).size();
+        Path copy = dir.resolve("input" + extension(key));
+        try (InputStream in = trackStorage.getRange(key, 0, size)) {
+            Files.copy(in, copy);
+        }
+        return copy;
+    }
+
+    public void delete(Path dir) {
+        try {
+            FileSystemUtils.deleteRecursively(dir);
+        } catch (IOException ignored) {
+            // Left for the OS temp cleanup
+        }
+    }
+
+    private static String extension(String key) {
+        int dot = key.lastIndexOf('.');
+        return dot < 0 ? "" : key.substring(dot);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.MusicStream.media;
+
+import com.example.MusicStream.dto.AudioMetadata;
+import com.example.MusicStream.entity.ProcessingStatus;
+import com.example.MusicStream.service.TrackAudioChangedEvent;
+import com.example.MusicStream.service.TrackService;
+import lombok.extern.slf4j.Slf4j;
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.audio.AudioHeader;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reads duration and stream parameters from the headers of uploaded audio (MPEG/ID3,
+ * Ogg Vorbis, FLAC, MP4, WAV) on the media executor, so uploads return while the track is
+ * still {@link ProcessingStatus#pending}.
+ */
+@Slf4j
+@Component
+public class MetadataExtractor {
+
+    static {
+        // jaudiotagger reports every tag oddity through java.util.logging
+        Logger.getLogger("org.jaudiotagger").setLevel(Level.SEVERE);
+    }
+
+    private static final int CODEC_LENGTH = 50;
+
+    private final TrackService trackService;
+    private final MediaWorkspace workspace;
+    private final TaskExecutor executor;
+
+    public MetadataExtractor(TrackService trackService,
+                             MediaWorkspace workspace,
+                             @Qualifier("mediaExecutor") TaskExecutor executor) {
+        this.trackService = trackService;
+        this.workspace = workspace;
+        this.executor = executor;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAudioChanged(TrackAudioChangedEvent event) {
+        try {
+            executor.execute(() -> process(event));
+        } catch (TaskRejectedException e) {
+            log.warn("Metadata queue full, skipping track {}", event.trackId());
+            trackService.recordMetadata(event.trackId(), event.audioKey(), ProcessingStatus.failed, null);
+        }
+    }
+
+    void process(TrackAudioChangedEvent event) {
+        trackService.recordMetadata(event.trackId(), event.audioKey(), ProcessingStatus.processing, null);
+        try {
+            AudioMetadata metadata = extract(event.audioKey());
+            trackService.recordMetadata(event.trackId(), event.audioKey(), ProcessingStatus.ready, metadata);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Metadata extraction failed for track {}", event.trackId(), e);
+            trackService.recordMetadata(event.trackId(), event.audioKey(), ProcessingStatus.failed, null);
+        }
+    }
+
+    AudioMetadata extract(String audioKey) throws IOException {
+        Path dir = workspace.create();
+        try {
+            Path file = workspace.fetch(audioKey, dir);
+            AudioFile audio;
+            try {
+                audio = AudioFileIO.read(file.toFile());
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException("Unreadable audio " + audioKey + ": " + e.getMessage(), e);
+            }
+            AudioHeader header = audio.getAudioHeader();
+            return new AudioMetadata(
+                    Math.round(header.getPreciseTrackLength()),
+                    (int) header.getBitRateAsNumber(),
+                    header.getSampleRateAsNumber(),
+                    codec(header.getEncodingType()));
+        } finally {
+            workspace.delete(dir);
+        }
+    }
+
+    private static String codec(String encodingType) {
+        if (encodingType == null || encodingType.isBlank()) return null;
+        return encodingType.length() > CODEC_LENGTH ? encodingType.substring(0, CODEC_LENGTH) : encodingType;
+    }
+}
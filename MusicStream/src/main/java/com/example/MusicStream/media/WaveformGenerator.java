@@ -0,0 +1,123 @@
+package com.example.MusicStream.media;
+
+import com.example.MusicStream.service.TrackAudioChangedEvent;
+import com.example.MusicStream.storage.DerivedKeys;
+import com.example.MusicStream.storage.TrackStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Decodes uploaded audio once with ffmpeg and stores a peak array for scrubber previews:
+ * one unsigned byte per equal slice of the track, the loudest sample of the slice scaled
+ * to 0-255. The array is keyed by the audio checksum, like the HLS renditions.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "media.waveform.enabled", havingValue = "true")
+public class WaveformGenerator {
+
+    private static final int DECODE_RATE = 8000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TrackStorage trackStorage;
+    private final MediaWorkspace workspace;
+    private final Ffmpeg ffmpeg;
+    private final TaskExecutor executor;
+    private final int points;
+
+    public WaveformGenerator(TrackStorage trackStorage,
+                             MediaWorkspace workspace,
+                             Ffmpeg ffmpeg,
+                             @Qualifier("mediaExecutor") TaskExecutor executor,
+                             @Value("${media.waveform.points:2000}") int points) {
+        this.trackStorage = trackStorage;
+        this.workspace = workspace;
+        this.ffmpeg = ffmpeg;
+        this.executor = executor;
+        this.points = points;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAudioChanged(TrackAudioChangedEvent event) {
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(event.audioKey(), event.checksum());
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Waveform generation failed for track {}", event.trackId(), e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            log.warn("Waveform queue full, skipping track {}", event.trackId());
+        }
+    }
+
+    String generate(String audioKey, String checksum) throws IOException {
+        String key = DerivedKeys.key(checksum, DerivedKeys.WAVEFORM);
+        if (trackStorage.stat(key).isPresent()) {
+            return key;
+        }
+        Path dir = workspace.create();
+        try {
+            Path input = workspace.fetch(audioKey, dir);
+            Path pcm = dir.resolve("audio.pcm");
+            ffmpeg.run(dir, List.of("-i", input.toString(), "-vn", "-ac", "1", "-ar", String.valueOf(DECODE_RATE),
+                    "-f", "s16le", "-acodec", "pcm_s16le", pcm.toString()));
+            Path waveform = Files.write(dir.resolve(DerivedKeys.WAVEFORM), peaks(pcm, points));
+            trackStorage.put(key, waveform);
+            return key;
+        } finally {
+            workspace.delete(dir);
+        }
+    }
+
+    static byte[] peaks(Path pcm, int points) throws IOException {
+        long samples = Files.size(pcm) / 2;
+        int count = (int) Math.min(points, samples);
+        byte[] peaks = new byte[count];
+        if (count == 0) {
+            return peaks;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        long sample = 0;
+        int bucket = 0;
+        int peak = 0;
+        try (FileChannel channel = FileChannel.open(pcm, StandardOpenOption.READ)) {
+            while (sample < samples && channel.read(buffer) != -1) {
+                buffer.flip();
+                while (buffer.remaining() >= 2 && sample < samples) {
+                    int current = (int) (sample * count / samples);
+                    if (current != bucket) {
+                        peaks[bucket] = scale(peak);
+                        bucket = current;
+                        peak = 0;
+                    }
+                    peak = Math.max(peak, Math.abs(buffer.getShort()));
+                    sample++;
+                }
+                buffer.compact();
+            }
+        }
+        peaks[bucket] = scale(peak);
+        return peaks;
+    }
+
+    private static byte scale(int peak) {
+        return (byte) Math.min(255, (peak * 255 + 16384) / 32768);
+    }
+}
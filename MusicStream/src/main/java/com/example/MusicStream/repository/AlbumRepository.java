@@ -0,0 +1,20 @@
+package com.example.MusicStream.repository;
+
+import com.example.MusicStream.entity.Album;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface AlbumRepository extends JpaRepository<Album, Long> {
+
+    @IndexedBy("uk_album_artist_title_key")
+    @Query("select a from Album a where a.artist.id in :artistIds and a.titleKey in :titleKeys")
+    List<Album> findByArtistsAndTitleKeys(@Param("artistIds") Collection<Long> artistIds,
+                                          @Param("titleKeys") Collection<String> titleKeys);
+
+    @IndexedBy("uk_album_artist_title_key")
+    List<Album> findByArtistIdOrderByTitleKey(long artistId);
+}
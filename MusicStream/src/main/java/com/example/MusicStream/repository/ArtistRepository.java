@@ -0,0 +1,25 @@
+package com.example.MusicStream.repository;
+
+import com.example.MusicStream.entity.Artist;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ArtistRepository extends JpaRepository<Artist, Long> {
+
+    @IndexedBy("uk_artist_name_key")
+    Optional<Artist> findByNameKey(String nameKey);
+
+    @IndexedBy("uk_artist_name_key")
+    List<Artist> findByNameKeyIn(Collection<String> nameKeys);
+
+    @IndexedBy("idx_artist_name_key_prefix")
+    Page<Artist> findByNameKeyStartingWithOrderByNameKey(String prefix, Pageable pageable);
+
+    @IndexedBy("uk_artist_name_key")
+    Page<Artist> findAllByOrderByNameKey(Pageable pageable);
+}
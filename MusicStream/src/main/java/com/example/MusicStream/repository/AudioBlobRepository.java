@@ -0,0 +1,42 @@
+package com.example.MusicStream.repository;
+
+import com.example.MusicStream.entity.AudioBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface AudioBlobRepository extends JpaRepository<AudioBlob, String> {
+
+    @IndexedBy("audio_blob_pkey")
+    @Modifying
+    @Query(value = "INSERT INTO audio_blob (name, checksum, size, ref_count, released_at) " +
+            "VALUES (:name, :checksum, :size, 1, NULL) " +
+            "ON CONFLICT (name) DO UPDATE SET ref_count = audio_blob.ref_count + 1, released_at = NULL",
+            nativeQuery = true)
+    void acquire(@Param("name") String name, @Param("checksum") String checksum, @Param("size") long size);
+
+    @IndexedBy("audio_blob_pkey")
+    @Modifying
+    @Query("update AudioBlob b set b.refCount = b.refCount - 1, b.releasedAt = :now " +
+            "where b.name = :name and b.refCount > 0")
+    int release(@Param("name") String name, @Param("now") Instant now);
+
+    @IndexedBy("idx_audio_blob_released_at")
+    @Query("select b.name from AudioBlob b where b.refCount <= 0 and b.releasedAt < :cutoff")
+    List<String> findReleasedBefore(@Param("cutoff") Instant cutoff);
+
+    @IndexedBy("audio_blob_pkey")
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from AudioBlob b where b.name = :name")
+    Optional<AudioBlob> findForUpdate(@Param("name") String name);
+
+    @IndexedBy("idx_audio_blob_checksum")
+    boolean existsByChecksum(String checksum);
+}
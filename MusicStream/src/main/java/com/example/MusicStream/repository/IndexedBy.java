@@ -0,0 +1,21 @@
+package com.example.MusicStream.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Names the indexes a repository query is served by. Every query method must carry one;
+ * an empty list records that the query deliberately reads without an index.
+ *
+ * @see com.example.MusicStream.config.DeclaredIndexVerifier
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface IndexedBy {
+
+    String[] value();
+}
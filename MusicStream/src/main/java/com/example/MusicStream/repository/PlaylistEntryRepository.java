@@ -0,0 +1,56 @@
+package com.example.MusicStream.repository;
+
+import com.example.MusicStream.entity.PlaylistEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PlaylistEntryRepository extends JpaRepository<PlaylistEntry, Long> {
+
+    @IndexedBy("idx_playlist_entry_playlist_position")
+    @Query("select e from PlaylistEntry e join fetch e.track where e.playlist.id = :playlistId " +
+            "and (e.position, e.id) > (:afterPosition, :afterId) " +
+            "order by e.position, e.id")
+    List<PlaylistEntry> scroll(@Param("playlistId") long playlistId, @Param("afterPosition") long afterPosition,
+                               @Param("afterId") long afterId, Limit limit);
+
+    @IndexedBy("idx_playlist_entry_playlist_position")
+    @Query("select max(e.position) from PlaylistEntry e where e.playlist.id = :playlistId")
+    Optional<Long> findLastPosition(@Param("playlistId") long playlistId);
+
+    @IndexedBy("idx_playlist_entry_playlist_position")
+    @Query("select min(e.position) from PlaylistEntry e where e.playlist.id = :playlistId")
+    Optional<Long> findFirstPosition(@Param("playlistId") long playlistId);
+
+    @IndexedBy("idx_playlist_entry_playlist_position")
+    @Query("select min(e.position) from PlaylistEntry e where e.playlist.id = :playlistId and e.position > :position")
+    Optional<Long> findPositionAfter(@Param("playlistId") long playlistId, @Param("position") long position);
+
+    @IndexedBy("playlist_entry_pkey")
+    @Query("select e.position from PlaylistEntry e where e.playlist.id = :playlistId and e.id = :id")
+    Optional<Long> findPosition(@Param("playlistId") long playlistId, @Param("id") long id);
+
+    @IndexedBy("playlist_entry_pkey")
+    @Query("select e from PlaylistEntry e join fetch e.track where e.playlist.id = :playlistId and e.id in :ids")
+    List<PlaylistEntry> findInPlaylist(@Param("playlistId") long playlistId, @Param("ids") Collection<Long> ids);
+
+    @IndexedBy("playlist_entry_pkey")
+    @Modifying
+    @Query("delete from PlaylistEntry e where e.playlist.id = :playlistId and e.id in :ids")
+    int deleteEntries(@Param("playlistId") long playlistId, @Param("ids") Collection<Long> ids);
+
+    // Spreads positions back out to multiples of the gap, keeping the current order
+    @IndexedBy("idx_playlist_entry_playlist_position")
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE playlist_entry SET position = ranked.rn * :gap FROM " +
+            "(SELECT id, row_number() OVER (ORDER BY position, id) AS rn FROM playlist_entry " +
+            "WHERE playlist_id = :playlistId) ranked WHERE playlist_entry.id = ranked.id",
+            nativeQuery = true)
+    int respace(@Param("playlistId") long playlistId, @Param("gap") long gap);
+}
@@ -0,0 +1,19 @@
+package com.example.MusicStream.repository;
+
+import com.example.MusicStream.entity.Playlist;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface PlaylistRepository extends JpaRepository<Playlist, Long> {
+
+    // Membership changes lock the playlist row so concurrent appends cannot pick the same position
+    @IndexedBy("playlist_pkey")
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Playlist p where p.id = :id")
+    Optional<Playlist> findForUpdate(@Param("id") long id);
+}
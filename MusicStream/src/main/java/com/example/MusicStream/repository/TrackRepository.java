@@ -1,14 +1,192 @@
 package com.example.MusicStream.repository;
 
+import com.example.MusicStream.dto.TrackSummary;
 import com.example.MusicStream.entity.MusicCategory;
 import com.example.MusicStream.entity.Track;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 
 public interface TrackRepository extends JpaRepository<Track, Long> {
 
-    Page<Track> findByTitleContainingIgnoreCaseAndCategory(String title, MusicCategory musicCategory, Pageable pageable);
-    Page<Track> findByTitleContainingIgnoreCase(String title, Pageable pageable);
+    String SEARCH_MATCH = "(t.search_vector @@ to_tsquery('simple', :prefixQuery) " +
+            "OR lower(:term) <% lower(t.title) OR lower(:term) <% lower(t.artist))";
+
+    String SEARCH_RANK = "ts_rank(t.search_vector, to_tsquery('simple', :prefixQuery)) " +
+            "+ greatest(word_similarity(lower(:term), lower(t.title)), word_similarity(lower(:term), lower(t.artist)))";
+
+    String CATEGORY_FILTER = "(CAST(:category AS varchar) IS NULL OR t.category = CAST(:category AS varchar))";
+
+    // Listing projections: only the TrackSummary columns, aliased to its property names
+    String SUMMARY_COLUMNS = "t.id AS id, t.title AS title, t.artist AS artist, t.category AS category, " +
+            "t.duration AS duration, t.cover_image AS \"coverImage\", t.version AS version";
+
+    String SUMMARY_SELECT = "select t.id as id, t.title as title, t.artist as artist, t.category as category, " +
+            "t.duration as duration, t.coverImage as coverImage, t.version as version from Track t ";
+
+    @IndexedBy({"idx_track_search_vector", "idx_track_title_trgm", "idx_track_artist_trgm"})
+    @Query(value = "SELECT t.* FROM track t WHERE " + SEARCH_MATCH +
+            " ORDER BY " + SEARCH_RANK + " DESC, t.id",
+            countQuery = "SELECT count(*) FROM track t WHERE " + SEARCH_MATCH,
+            nativeQuery = true)
+    Page<Track> search(@Param("term") String term, @Param("prefixQuery") String prefixQuery, Pageable pageable);
+
+    @IndexedBy({"idx_track_search_vector", "idx_track_title_trgm", "idx_track_artist_trgm"})
+    @Query(value = "SELECT t.* FROM track t WHERE t.category = :category AND " + SEARCH_MATCH +
+            " ORDER BY " + SEARCH_RANK + " DESC, t.id",
+            countQuery = "SELECT count(*) FROM track t WHERE t.category = :category AND " + SEARCH_MATCH,
+            nativeQuery = true)
+    Page<Track> searchInCategory(@Param("term") String term, @Param("prefixQuery") String prefixQuery,
+                                 @Param("category") String category, Pageable pageable);
+
+    // Keyset scrolls come in pairs with and without a category, so each one seeks a single index range
+    @IndexedBy("track_pkey")
+    @Query("select t from Track t where t.id > :afterId order by t.id")
+    List<Track> scrollById(@Param("afterId") long afterId, Limit limit);
+
+    @IndexedBy("idx_track_category_id")
+    @Query("select t from Track t where t.category = :category and t.id > :afterId order by t.id")
+    List<Track> scrollInCategoryById(@Param("category") MusicCategory category, @Param("afterId") long afterId,
+                                     Limit limit);
+
+    @IndexedBy("idx_track_title_id")
+    @Query("select t from Track t where (t.title, t.id) > (:afterTitle, :afterId) order by t.title, t.id")
+    List<Track> scrollByTitle(@Param("afterTitle") String afterTitle, @Param("afterId") long afterId, Limit limit);
+
+    @IndexedBy("idx_track_category_title_id")
+    @Query("select t from Track t where t.category = :category and (t.title, t.id) > (:afterTitle, :afterId) " +
+            "order by t.title, t.id")
+    List<Track> scrollInCategoryByTitle(@Param("category") MusicCategory category,
+                                        @Param("afterTitle") String afterTitle, @Param("afterId") long afterId,
+                                        Limit limit);
+
+    @IndexedBy({"idx_track_search_vector", "idx_track_title_trgm", "idx_track_artist_trgm"})
+    @Query(value = "SELECT t.* FROM track t WHERE " + SEARCH_MATCH + " AND " + CATEGORY_FILTER +
+            " AND t.id > :afterId ORDER BY t.id LIMIT :limit",
+            nativeQuery = true)
+    List<Track> scrollSearchById(@Param("term") String term, @Param("prefixQuery") String prefixQuery,
+                                 @Param("category") String category, @Param("afterId") long afterId,
+                                 @Param("limit") int limit);
+
+    @IndexedBy({"idx_track_search_vector", "idx_track_title_trgm", "idx_track_artist_trgm"})
+    @Query(value = "SELECT t.* FROM track t WHERE " + SEARCH_MATCH + " AND " + CATEGORY_FILTER +
+            " AND (t.title, t.id) > (:afterTitle, :afterId) ORDER BY t.title, t.id LIMIT :limit",
+            nativeQuery = true)
+    List<Track> scrollSearchByTitle(@Param("term") String term, @Param("prefixQuery") String prefixQuery,
+                                    @Param("category") String category, @Param("afterTitle") String afterTitle,
+                                    @Param("afterId") long afterId, @Param("limit") int limit);
+
+    @IndexedBy("idx_track_category_id")
     Page<Track> findByCategory(MusicCategory category, Pageable pageable);
+
+    @IndexedBy({"idx_track_search_vector", "idx_track_title_trgm", "idx_track_artist_trgm"})
+    @Query(value = "SELECT " + SUMMARY_COLUMNS + " FROM track t WHERE " + SEARCH_MATCH +
+            " ORDER BY " + SEARCH_RANK + " DESC, t.id",
+            countQuery = "SELECT count(*) FROM track t WHERE " + SEARCH_MATCH,
+            nativeQuery = true)
+    Page<TrackSummary> searchSummaries(@Param("term") String term, @Param("prefixQuery") String prefixQuery,
+                                       Pageable pageable);
+
+    @IndexedBy({"idx_track_search_vector", "idx_track_title_trgm", "idx_track_artist_trgm"})
+    @Query(value = "SELECT " + SUMMARY_COLUMNS + " FROM track t WHERE t.category = :category AND " + SEARCH_MATCH +
+            " ORDER BY " + SEARCH_RANK + " DESC, t.id",
+            countQuery = "SELECT count(*) FROM track t WHERE t.category = :category AND " + SEARCH_MATCH,
+            nativeQuery = true)
+    Page<TrackSummary> searchSummariesInCategory(@Param("term") String term, @Param("prefixQuery") String prefixQuery,
+                                                 @Param("category") String category, Pageable pageable);
+
+    @IndexedBy("idx_track_category_id")
+    @Query(value = SUMMARY_SELECT + "where t.category = :category",
+            countQuery = "select count(t) from Track t where t.category = :category")
+    Page<TrackSummary> findSummariesByCategory(@Param("category") MusicCategory category, Pageable pageable);
+
+    // Unfiltered page in storage order, nothing to index
+    @IndexedBy({})
+    @Query(value = SUMMARY_SELECT, countQuery = "select count(t) from Track t")
+    Page<TrackSummary> findAllSummaries(Pageable pageable);
+
+    @IndexedBy("track_pkey")
+    @Query(SUMMARY_SELECT + "where t.id > :afterId order by t.id")
+    List<TrackSummary> scrollSummariesById(@Param("afterId") long afterId, Limit limit);
+
+    @IndexedBy("idx_track_category_id")
+    @Query(SUMMARY_SELECT + "where t.category = :category and t.id > :afterId order by t.id")
+    List<TrackSummary> scrollSummariesInCategoryById(@Param("category") MusicCategory category,
+                                                     @Param("afterId") long afterId, Limit limit);
+
+    @IndexedBy("idx_track_title_id")
+    @Query(SUMMARY_SELECT + "where (t.title, t.id) > (:afterTitle, :afterId) order by t.title, t.id")
+    List<TrackSummary> scrollSummariesByTitle(@Param("afterTitle") String afterTitle, @Param("afterId") long afterId,
+                                              Limit limit);
+
+    @IndexedBy("idx_track_category_title_id")
+    @Query(SUMMARY_SELECT + "where t.category = :category and (t.title, t.id) > (:afterTitle, :afterId) " +
+            "order by t.title, t.id")
+    List<TrackSummary> scrollSummariesInCategoryByTitle(@Param("category") MusicCategory category,
+                                                        @Param("afterTitle") String afterTitle,
+                                                        @Param("afterId") long afterId, Limit limit);
+
+    @IndexedBy({"idx_track_search_vector", "idx_track_title_trgm", "idx_track_artist_trgm"})
+    @Query(value = "SELECT " + SUMMARY_COLUMNS + " FROM track t WHERE " + SEARCH_MATCH + " AND " + CATEGORY_FILTER +
+            " AND t.id > :afterId ORDER BY t.id LIMIT :limit",
+            nativeQuery = true)
+    List<TrackSummary> scrollSearchSummariesById(@Param("term") String term, @Param("prefixQuery") String prefixQuery,
+                                                 @Param("category") String category, @Param("afterId") long afterId,
+                                                 @Param("limit") int limit);
+
+    @IndexedBy({"idx_track_search_vector", "idx_track_title_trgm", "idx_track_artist_trgm"})
+    @Query(value = "SELECT " + SUMMARY_COLUMNS + " FROM track t WHERE " + SEARCH_MATCH + " AND " + CATEGORY_FILTER +
+            " AND (t.title, t.id) > (:afterTitle, :afterId) ORDER BY t.title, t.id LIMIT :limit",
+            nativeQuery = true)
+    List<TrackSummary> scrollSearchSummariesByTitle(@Param("term") String term,
+                                                    @Param("prefixQuery") String prefixQuery,
+                                                    @Param("category") String category,
+                                                    @Param("afterTitle") String afterTitle,
+                                                    @Param("afterId") long afterId, @Param("limit") int limit);
+
+    @IndexedBy("idx_track_play_count_id")
+    @Query("select t from Track t order by t.playCount desc, t.id")
+    List<Track> findMostPlayed(Limit limit);
+
+    @IndexedBy("idx_track_category_play_count_id")
+    @Query("select t from Track t where t.category = :category order by t.playCount desc, t.id")
+    List<Track> findMostPlayedInCategory(@Param("category") MusicCategory category, Limit limit);
+
+    @IndexedBy("idx_track_artist_id")
+    @Query("select t from Track t where t.artistRef.id = :artistId and t.id > :afterId order by t.id")
+    List<Track> scrollByArtist(@Param("artistId") long artistId, @Param("afterId") long afterId, Limit limit);
+
+    @IndexedBy("idx_track_album_id")
+    @Query("select t from Track t where t.artistRef.id = :artistId and t.albumRef.id = :albumId " +
+            "and t.id > :afterId order by t.id")
+    List<Track> scrollByAlbum(@Param("artistId") long artistId, @Param("albumId") long albumId,
+                              @Param("afterId") long afterId, Limit limit);
+
+    // Keeps the denormalised name in step; bumps the version so cached ETags no longer match
+    @IndexedBy("idx_track_artist_id")
+    @Modifying
+    @Query("update Track t set t.artist = :name, t.version = t.version + 1, t.updatedAt = :now " +
+            "where t.artistRef.id = :artistId")
+    int renameArtist(@Param("artistId") long artistId, @Param("name") String name, @Param("now") Instant now);
+
+    @IndexedBy("track_pkey")
+    @Query("select t.version from Track t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") long id);
+
+    @IndexedBy("idx_track_file_url_trgm")
+    boolean existsByFileUrlEndingWith(String suffix);
+
+    @IndexedBy("idx_track_file_checksum")
+    boolean existsByFileChecksum(String checksum);
+
+    @IndexedBy("idx_track_cover_checksum")
+    boolean existsByCoverChecksum(String checksum);
 }
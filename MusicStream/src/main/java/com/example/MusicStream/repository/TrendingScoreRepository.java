@@ -0,0 +1,7 @@
+package com.example.MusicStream.repository;
+
+import com.example.MusicStream.entity.TrendingScore;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TrendingScoreRepository extends JpaRepository<TrendingScore, TrendingScore.Key> {
+}
@@ -0,0 +1,124 @@
+package com.example.MusicStream.service;
+
+import com.example.MusicStream.entity.Album;
+import com.example.MusicStream.entity.Artist;
+import com.example.MusicStream.entity.Track;
+import com.example.MusicStream.repository.AlbumRepository;
+import com.example.MusicStream.repository.ArtistRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Points tracks at the artist and album named by their {@code artist} and {@code albumTitle},
+ * creating those that do not exist yet, and rewrites both names to the stored spelling. Missing
+ * rows are inserted with {@code ON CONFLICT DO NOTHING} and read back, so concurrent requests
+ * naming the same new artist share one row instead of failing on the unique key. A whole batch
+ * costs one lookup, and for new names one insert batch and one re-read, per entity type. Must
+ * run inside the transaction that saves the tracks.
+ */
+@Component
+@RequiredArgsConstructor
+public class ArtistResolver {
+
+    // Each nextval reserves a block of the pooled sequence, so these ids never collide with Hibernate's
+    private static final String INSERT_ARTIST = "INSERT INTO artist (id, name, name_key) " +
+            "VALUES (nextval('artist_seq'), ?, ?) ON CONFLICT (name_key) DO NOTHING";
+    private static final String INSERT_ALBUM = "INSERT INTO album (id, artist_id, title, title_key) " +
+            "VALUES (nextval('album_seq'), ?, ?, ?) ON CONFLICT (artist_id, title_key) DO NOTHING";
+
+    private final ArtistRepository artistRepository;
+    private final AlbumRepository albumRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public void link(Collection<Track> tracks) {
+        Map<String, String> names = new LinkedHashMap<>();
+        for (Track track : tracks) {
+            if (track.getArtist() != null && !track.getArtist().isBlank()) {
+                names.putIfAbsent(Artist.key(track.getArtist()), Artist.normalize(track.getArtist()));
+            }
+        }
+        if (names.isEmpty()) {
+            return;
+        }
+        Map<String, Artist> artists = findArtists(names.keySet());
+        // Sorted so concurrent batches take the unique-key locks in the same order
+        List<String> missing = names.keySet().stream().filter(key -> !artists.containsKey(key)).sorted().toList();
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ARTIST, missing.stream()
+                    .map(key -> new Object[]{names.get(key), key})
+                    .toList());
+            artists.putAll(findArtists(missing));
+        }
+
+        for (Track track : tracks) {
+            Artist artist = track.getArtist() == null ? null : artists.get(Artist.key(track.getArtist()));
+            track.setArtistRef(artist);
+            if (artist != null) {
+                track.setArtist(artist.getName());
+            }
+            if (artist == null || track.getAlbumTitle() == null || track.getAlbumTitle().isBlank()) {
+                track.setAlbumRef(null);
+                track.setAlbumTitle(null);
+            }
+        }
+        linkAlbums(tracks);
+    }
+
+    private void linkAlbums(Collection<Track> tracks) {
+        List<Track> withAlbum = tracks.stream().filter(track -> track.getAlbumTitle() != null).toList();
+        if (withAlbum.isEmpty()) {
+            return;
+        }
+        List<Long> artistIds = withAlbum.stream().map(track -> track.getArtistRef().getId()).distinct().toList();
+        List<String> titleKeys = withAlbum.stream().map(track -> Artist.key(track.getAlbumTitle())).distinct().toList();
+        Map<AlbumKey, Album> albums = findAlbums(artistIds, titleKeys);
+        Map<AlbumKey, String> missing = new TreeMap<>(Comparator.comparingLong(AlbumKey::artistId)
+                .thenComparing(AlbumKey::titleKey));
+        for (Track track : withAlbum) {
+            AlbumKey key = new AlbumKey(track.getArtistRef().getId(), Artist.key(track.getAlbumTitle()));
+            if (!albums.containsKey(key)) {
+                missing.putIfAbsent(key, Artist.normalize(track.getAlbumTitle()));
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ALBUM, missing.entrySet().stream()
+                    .map(entry -> new Object[]{entry.getKey().artistId(), entry.getValue(), entry.getKey().titleKey()})
+                    .toList());
+            albums.putAll(findAlbums(missing.keySet().stream().map(AlbumKey::artistId).distinct().toList(),
+                    missing.keySet().stream().map(AlbumKey::titleKey).distinct().toList()));
+        }
+        for (Track track : withAlbum) {
+            Album album = albums.get(new AlbumKey(track.getArtistRef().getId(), Artist.key(track.getAlbumTitle())));
+            track.setAlbumRef(album);
+            track.setAlbumTitle(album.getTitle());
+        }
+    }
+
+    private Map<String, Artist> findArtists(Collection<String> nameKeys) {
+        return artistRepository.findByNameKeyIn(nameKeys).stream()
+                .collect(Collectors.toMap(Artist::getNameKey, Function.identity()));
+    }
+
+    // The query matches the cross product of both lists; only exact pairs are looked up afterwards
+    private Map<AlbumKey, Album> findAlbums(Collection<Long> artistIds, Collection<String> titleKeys) {
+        Map<AlbumKey, Album> albums = new HashMap<>();
+        for (Album album : albumRepository.findByArtistsAndTitleKeys(artistIds, titleKeys)) {
+            albums.put(new AlbumKey(album.getArtist().getId(), album.getTitleKey()), album);
+        }
+        return albums;
+    }
+
+    private record AlbumKey(long artistId, String titleKey) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.MusicStream.service;
+
+import com.example.MusicStream.dto.AlbumDto;
+import com.example.MusicStream.dto.ArtistDto;
+import com.example.MusicStream.dto.CursorPage;
+import com.example.MusicStream.dto.TrackDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface ArtistService {
+
+    Page<ArtistDto> search(String name, Pageable pageable);
+
+    ArtistDto show(long id);
+
+    ArtistDto rename(long id, ArtistDto dto);
+
+    List<AlbumDto> albums(long id);
+
+    CursorPage<TrackDto> tracks(long id, Long albumId, String after, int size);
+}
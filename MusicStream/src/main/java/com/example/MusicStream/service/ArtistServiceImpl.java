@@ -0,0 +1,112 @@
+package com.example.MusicStream.service;
+
+import com.example.MusicStream.config.CacheConfig;
+import com.example.MusicStream.dto.AlbumDto;
+import com.example.MusicStream.dto.ArtistDto;
+import com.example.MusicStream.dto.CursorPage;
+import com.example.MusicStream.dto.TrackDto;
+import com.example.MusicStream.entity.Artist;
+import com.example.MusicStream.entity.Track;
+import com.example.MusicStream.entity.TrackSort;
+import com.example.MusicStream.mapper.ArtistMapper;
+import com.example.MusicStream.mapper.TrackMapper;
+import com.example.MusicStream.repository.AlbumRepository;
+import com.example.MusicStream.repository.ArtistRepository;
+import com.example.MusicStream.repository.TrackRepository;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Browsing by artist. Track listings filter on the {@code artist_id} foreign key and read the
+ * denormalised names from the track rows, so they never join; renaming an artist rewrites
+ * those copies in one statement.
+ */
+@Service
+@Observed(name = "track.artist")
+@RequiredArgsConstructor
+public class ArtistServiceImpl implements ArtistService {
+
+    private final ArtistRepository artistRepository;
+    private final AlbumRepository albumRepository;
+    private final TrackRepository trackRepository;
+    private final ArtistMapper artistMapper;
+    private final TrackMapper trackMapper;
+
+    @Override
+    public Page<ArtistDto> search(String name, Pageable pageable) {
+        String prefix = Artist.key(name);
+        Page<Artist> artists = prefix == null || prefix.isEmpty()
+                ? artistRepository.findAllByOrderByNameKey(pageable)
+                : artistRepository.findByNameKeyStartingWithOrderByNameKey(prefix, pageable);
+        return artists.map(artistMapper::toDto);
+    }
+
+    @Override
+    public ArtistDto show(long id) {
+        return artistMapper.toDto(find(id));
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TRACKS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.TRACK_SEARCH, allEntries = true)
+    })
+    @Transactional
+    public ArtistDto rename(long id, ArtistDto dto) {
+        if (dto.getName() == null || dto.getName().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Artist name must not be blank");
+        }
+        Artist artist = find(id);
+        String key = Artist.key(dto.getName());
+        artistRepository.findByNameKey(key)
+                .filter(other -> !other.getId().equals(id))
+                .ifPresent(other -> {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT,
+                            "Artist name already used by artist with id: " + other.getId());
+                });
+        artist.setName(Artist.normalize(dto.getName()));
+        artist.setNameKey(key);
+        artistRepository.saveAndFlush(artist);
+        trackRepository.renameArtist(id, artist.getName(), Instant.now());
+        return artistMapper.toDto(artist);
+    }
+
+    @Override
+    public List<AlbumDto> albums(long id) {
+        find(id);
+        return albumRepository.findByArtistIdOrderByTitleKey(id).stream().map(artistMapper::toDto).toList();
+    }
+
+    @Override
+    public CursorPage<TrackDto> tracks(long id, Long albumId, String after, int size) {
+        TrackCursor cursor = TrackCursor.decode(after, TrackSort.id);
+        // One extra row tells whether another page exists without counting
+        List<Track> rows = albumId == null
+                ? trackRepository.scrollByArtist(id, cursor.id(), Limit.of(size + 1))
+                : trackRepository.scrollByAlbum(id, albumId, cursor.id(), Limit.of(size + 1));
+        if (rows.isEmpty() && cursor.id() == 0 && !artistRepository.existsById(id)) {
+            throw new RuntimeException("Artist not found with id: " + id);
+        }
+        boolean hasNext = rows.size() > size;
+        List<Track> page = hasNext ? rows.subList(0, size) : rows;
+        String next = hasNext ? TrackCursor.after(TrackSort.id, page.get(page.size() - 1)).encode() : null;
+        return new CursorPage<>(page.stream().map(trackMapper::toDto).toList(), page.size(), hasNext, next);
+    }
+
+    private Artist find(long id) {
+        return artistRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Artist not found with id: " + id));
+    }
+}
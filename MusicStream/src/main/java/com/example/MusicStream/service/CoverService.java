@@ -0,0 +1,17 @@
+package com.example.MusicStream.service;
+
+import com.example.MusicStream.dto.TrackDto;
+import com.example.MusicStream.media.CoverFormat;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface CoverService {
+
+    TrackDto uploadCover(long id, MultipartFile file);
+
+    Optional<byte[]> read(String checksum, int size, CoverFormat format);
+
+    List<CoverFormat> formats();
+}
@@ -0,0 +1,140 @@
+package com.example.MusicStream.service;
+
+import com.example.MusicStream.config.CacheConfig;
+import com.example.MusicStream.dto.TrackDto;
+import com.example.MusicStream.media.CoverFormat;
+import com.example.MusicStream.media.ImageResizer;
+import com.example.MusicStream.media.MediaWorkspace;
+import com.example.MusicStream.storage.DerivedKeys;
+import com.example.MusicStream.storage.StoredObject;
+import com.example.MusicStream.storage.TrackStorage;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Turns an uploaded cover into fixed square-bounded sizes, stored once per distinct image
+ * under the SHA-256 of the original. Variant bytes never change for a key, so they can be
+ * cached in memory and by clients indefinitely.
+ */
+@Service
+@Observed(name = "track.cover")
+public class CoverServiceImpl implements CoverService {
+
+    private static final Pattern CHECKSUM = Pattern.compile("[0-9a-f]{64}");
+
+    private final TrackService trackService;
+    private final TrackStorage trackStorage;
+    private final MediaWorkspace workspace;
+    private final List<Integer> sizes;
+    private final long maxPixels;
+    private final List<CoverFormat> formats;
+
+    public CoverServiceImpl(TrackService trackService,
+                            TrackStorage trackStorage,
+                            MediaWorkspace workspace,
+                            @Value("${cover.sizes:64,256,640}") List<Integer> sizes,
+                            @Value("${cover.max-pixels:40000000}") long maxPixels) {
+        this.trackService = trackService;
+        this.trackStorage = trackStorage;
+        this.workspace = workspace;
+        this.sizes = sizes;
+        this.maxPixels = maxPixels;
+        this.formats = Arrays.stream(CoverFormat.values())
+                .filter(format -> ImageResizer.canWrite(format.imageIoName()))
+                .toList();
+    }
+
+    @Override
+    public TrackDto uploadCover(long id, MultipartFile file) {
+        byte[] original;
+        try {
+            original = file.getBytes();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        String checksum = sha256(original);
+        try {
+            if (!stored(checksum)) {
+                store(checksum, ImageResizer.decode(original, maxPixels));
+            }
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unreadable cover image", e);
+        }
+        return trackService.attachCover(id, checksum, sizes.get(sizes.size() / 2));
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.COVERS, key = "#checksum + '/' + #size + '.' + #format", unless = "#result == null")
+    public Optional<byte[]> read(String checksum, int size, CoverFormat format) {
+        if (!CHECKSUM.matcher(checksum).matches() || !sizes.contains(size)) {
+            return Optional.empty();
+        }
+        String key = key(checksum, size, format);
+        try {
+            Optional<StoredObject> object = trackStorage.stat(key);
+            if (object.isEmpty()) {
+                return Optional.empty();
+            }
+            try (InputStream in = trackStorage.getRange(key, 0, object.get().size())) {
+                return Optional.of(in.readAllBytes());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public List<CoverFormat> formats() {
+        return formats;
+    }
+
+    // JPEG of the largest size goes last, so its presence means the whole set was written
+    private boolean stored(String checksum) throws IOException {
+        return trackStorage.stat(key(checksum, sizes.get(sizes.size() - 1), CoverFormat.jpg)).isPresent();
+    }
+
+    private void store(String checksum, BufferedImage image) throws IOException {
+        Path dir = workspace.create();
+        try {
+            for (int size : sizes) {
+                BufferedImage resized = ImageResizer.fit(image, size);
+                for (CoverFormat format : formats) {
+                    String key = key(checksum, size, format);
+                    trackStorage.put(key, Files.write(dir.resolve(key), ImageResizer.encode(resized, format.imageIoName())));
+                }
+            }
+        } finally {
+            workspace.delete(dir);
+        }
+    }
+
+    static String key(String checksum, int size, CoverFormat format) {
+        return DerivedKeys.key(checksum, DerivedKeys.COVER + size + "." + format.name());
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
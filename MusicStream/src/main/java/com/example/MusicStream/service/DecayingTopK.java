@@ -0,0 +1,111 @@
+package com.example.MusicStream.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving heavy-hitters summary with exponential time decay. At most {@code capacity}
+ * tracks are counted: a new track takes over the lowest counter and inherits its score, so
+ * memory stays bounded while every track with a large enough decayed share is kept.
+ * <p>
+ * Decay is applied forward: a play at time {@code t} adds {@code e^(λ(t - landmark))}, so
+ * existing scores never need touching. Scores are rescaled to a new landmark before the
+ * weights could overflow.
+ */
+public class DecayingTopK {
+
+    private static final double MAX_EXPONENT = 600;
+
+    private final int capacity;
+    private final double lambda;
+    private final Map<Long, Counter> counters = new HashMap<>();
+    private final TreeSet<Counter> byScore = new TreeSet<>(
+            Comparator.comparingDouble(Counter::score).thenComparingLong(Counter::trackId));
+    private long landmark;
+
+    public DecayingTopK(int capacity, Duration halfLife, long now) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be positive");
+        this.capacity = capacity;
+        this.lambda = Math.log(2) / halfLife.toMillis();
+        this.landmark = now;
+    }
+
+    public record Entry(long trackId, double score) {
+    }
+
+    private record Counter(long trackId, double score) {
+    }
+
+    /**
+     * Adds {@code weight} plays, as seen at {@code now}, to the track's score.
+     */
+    public synchronized void add(long trackId, double weight, long now) {
+        double scaled = weight * growth(now);
+        Counter counter = counters.get(trackId);
+        if (counter != null) {
+            byScore.remove(counter);
+            put(new Counter(trackId, counter.score() + scaled));
+        } else if (counters.size() < capacity) {
+            put(new Counter(trackId, scaled));
+        } else {
+            Counter evicted = byScore.pollFirst();
+            counters.remove(evicted.trackId());
+            put(new Counter(trackId, evicted.score() + scaled));
+        }
+    }
+
+    public synchronized void remove(long trackId) {
+        Counter counter = counters.remove(trackId);
+        if (counter != null) byScore.remove(counter);
+    }
+
+    /**
+     * Highest decayed scores as of {@code now}, best first.
+     */
+    public synchronized List<Entry> top(int limit, long now) {
+        double decay = Math.exp(-lambda * (now - landmark));
+        List<Entry> top = new ArrayList<>(Math.min(limit, counters.size()));
+        Iterator<Counter> it = byScore.descendingIterator();
+        while (it.hasNext() && top.size() < limit) {
+            Counter counter = it.next();
+            top.add(new Entry(counter.trackId(), counter.score() * decay));
+        }
+        return top;
+    }
+
+    public synchronized int size() {
+        return counters.size();
+    }
+
+    private void put(Counter counter) {
+        counters.put(counter.trackId(), counter);
+        byScore.add(counter);
+    }
+
+    private double growth(long now) {
+        double exponent = lambda * (now - landmark);
+        if (exponent > MAX_EXPONENT) {
+            rescale(now);
+            exponent = 0;
+        }
+        return Math.exp(exponent);
+    }
+
+    private void rescale(long now) {
+        double decay = Math.exp(-lambda * (now - landmark));
+        List<Counter> rescaled = new ArrayList<>(byScore.size());
+        for (Counter counter : byScore) {
+            rescaled.add(new Counter(counter.trackId(), counter.score() * decay));
+        }
+        counters.clear();
+        byScore.clear();
+        rescaled.forEach(this::put);
+        landmark = now;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.MusicStream.service;
+
+import com.example.MusicStream.dto.TrackDto;
+import com.example.MusicStream.entity.MusicCategory;
+
+import java.util.List;
+
+public interface PlayCountService {
+
+    void recordPlay(long trackId);
+
+    int flush();
+
+    List<TrackDto> mostPlayed(MusicCategory category, int limit);
+}
@@ -0,0 +1,141 @@
+package com.example.MusicStream.service;
+
+import com.example.MusicStream.dto.TrackDto;
+import com.example.MusicStream.entity.MusicCategory;
+import com.example.MusicStream.entity.Track;
+import com.example.MusicStream.mapper.TrackMapper;
+import com.example.MusicStream.repository.TrackRepository;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind play counter. Plays land in a striped {@link LongAdder} per track, so a hot
+ * track costs no database write per stream; a scheduled flush applies the accumulated deltas
+ * as one batched {@code play_count = play_count + ?} update, in id order so concurrent
+ * flushes from several nodes lock rows in the same order. Each play also feeds
+ * {@link TrendingService}. Counts reach clients only through the most-played listing; the
+ * cached, versioned track body leaves them out, since a flush does not bump the version.
+ */
+@Slf4j
+@Service
+@Observed(name = "track.plays")
+@RequiredArgsConstructor
+public class PlayCountServiceImpl implements PlayCountService {
+
+    private static final String INCREMENT = "UPDATE track SET play_count = play_count + ? WHERE id = ?";
+
+    private final TrackService trackService;
+    private final TrendingService trendingService;
+    private final TrackRepository trackRepository;
+    private final TrackMapper trackMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordPlay(long trackId) {
+        // Served from the track cache; also rejects unknown ids before they take a counter
+        TrackDto track = trackService.show(trackId);
+        LongAdder plays = pending.computeIfAbsent(trackId, id -> new LongAdder());
+        plays.increment();
+        if (pending.get(trackId) != plays) {
+            // A flush dropped the counter as drained while this play was landing on it
+            moveToCurrent(trackId, plays);
+        }
+        trendingService.recordPlay(trackId, track.getCategory());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${plays.flush-interval:PT10S}", initialDelayString = "${plays.flush-interval:PT10S}")
+    public int flush() {
+        List<Map.Entry<Long, Long>> deltas = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            // Subtract what was read rather than reset, so plays recorded meanwhile are kept
+            long plays = entry.getValue().sum();
+            if (plays > 0) {
+                entry.getValue().add(-plays);
+                deltas.add(Map.entry(entry.getKey(), plays));
+            } else if (pending.remove(entry.getKey(), entry.getValue())) {
+                // Drained since the last flush; plays that raced the removal are carried over
+                moveToCurrent(entry.getKey(), entry.getValue());
+            }
+        }
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        deltas.sort(Map.Entry.comparingByKey());
+        try {
+            int[][] updated = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(INCREMENT, deltas,
+                    deltas.size(), (ps, delta) -> {
+                        ps.setLong(1, delta.getValue());
+                        ps.setLong(2, delta.getKey());
+                    }));
+            forgetDeleted(deltas, updated);
+        } catch (RuntimeException e) {
+            // Put the deltas back; the next flush retries them
+            deltas.forEach(delta -> pending.computeIfAbsent(delta.getKey(), id -> new LongAdder()).add(delta.getValue()));
+            log.warn("Play count flush failed for {} tracks, will retry", deltas.size(), e);
+            return 0;
+        }
+        return deltas.size();
+    }
+
+    // sumThenReset hands each play to exactly one of the threads that noticed the removal
+    private void moveToCurrent(long trackId, LongAdder retired) {
+        long stray = retired.sumThenReset();
+        while (stray != 0) {
+            LongAdder current = pending.computeIfAbsent(trackId, id -> new LongAdder());
+            current.add(stray);
+            if (pending.get(trackId) == current) {
+                return;
+            }
+            stray = current.sumThenReset();
+        }
+    }
+
+    int pendingTracks() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    @Override
+    public List<TrackDto> mostPlayed(MusicCategory category, int limit) {
+        List<Track> tracks = category == null
+                ? trackRepository.findMostPlayed(Limit.of(limit))
+                : trackRepository.findMostPlayedInCategory(category, Limit.of(limit));
+        return tracks.stream()
+                .map(trackMapper::toDtoWithPlayCount)
+                .toList();
+    }
+
+    private void forgetDeleted(List<Map.Entry<Long, Long>> deltas, int[][] updated) {
+        if (updated == null || updated.length == 0) {
+            return;
+        }
+        int[] counts = updated[0];
+        for (int i = 0; i < counts.length && i < deltas.size(); i++) {
+            if (counts[i] == 0) {
+                pending.remove(deltas.get(i).getKey());
+            }
+        }
+    }
+}
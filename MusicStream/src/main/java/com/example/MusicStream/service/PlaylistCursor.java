@@ -0,0 +1,44 @@
+package com.example.MusicStream.service;
+
+import com.example.MusicStream.entity.PlaylistEntry;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last entry of a page, over (position, id), as an opaque token.
+ */
+record PlaylistCursor(long position, long id) {
+
+    static PlaylistCursor first() {
+        return new PlaylistCursor(Long.MIN_VALUE, Long.MIN_VALUE);
+    }
+
+    static PlaylistCursor after(PlaylistEntry entry) {
+        return new PlaylistCursor(entry.getPosition(), entry.getId());
+    }
+
+    boolean isFirst() {
+        return position == Long.MIN_VALUE && id == Long.MIN_VALUE;
+    }
+
+    static PlaylistCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return first();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 2);
+            return new PlaylistCursor(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + token, e);
+        }
+    }
+
+    String encode() {
+        String raw = position + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
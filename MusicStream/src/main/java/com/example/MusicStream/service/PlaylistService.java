@@ -0,0 +1,31 @@
+package com.example.MusicStream.service;
+
+import com.example.MusicStream.dto.CursorPage;
+import com.example.MusicStream.dto.PlaylistDto;
+import com.example.MusicStream.dto.PlaylistEntryDto;
+import com.example.MusicStream.dto.PlaylistTracksRequest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface PlaylistService {
+
+    PlaylistDto create(PlaylistDto dto);
+
+    PlaylistDto show(long id);
+
+    Page<PlaylistDto> list(Pageable pageable);
+
+    PlaylistDto update(long id, PlaylistDto dto);
+
+    void delete(long id);
+
+    CursorPage<PlaylistEntryDto> tracks(long id, String after, int size);
+
+    List<PlaylistEntryDto> addTracks(long id, PlaylistTracksRequest request);
+
+    List<PlaylistEntryDto> moveEntries(long id, PlaylistTracksRequest request);
+
+    int removeEntries(long id, List<Long> entryIds);
+}
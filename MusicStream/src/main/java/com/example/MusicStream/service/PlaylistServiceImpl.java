@@ -0,0 +1,212 @@
+package com.example.MusicStream.service;
+
+import com.example.MusicStream.dto.CursorPage;
+import com.example.MusicStream.dto.PlaylistDto;
+import com.example.MusicStream.dto.PlaylistEntryDto;
+import com.example.MusicStream.dto.PlaylistTracksRequest;
+import com.example.MusicStream.entity.Playlist;
+import com.example.MusicStream.entity.PlaylistEntry;
+import com.example.MusicStream.entity.Track;
+import com.example.MusicStream.mapper.PlaylistMapper;
+import com.example.MusicStream.repository.PlaylistEntryRepository;
+import com.example.MusicStream.repository.PlaylistRepository;
+import com.example.MusicStream.repository.TrackRepository;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Playlists with sparse ordering. New entries are placed between their neighbours'
+ * positions, so adding or moving entries only writes those entries; the playlist is
+ * re-spaced in one statement only when a gap has been split down to nothing.
+ */
+@Service
+@Observed(name = "track.playlist")
+@RequiredArgsConstructor
+public class PlaylistServiceImpl implements PlaylistService {
+
+    static final long GAP = 1L << 20;
+    static final int MAX_BATCH = 10_000;
+
+    private final PlaylistRepository playlistRepository;
+    private final PlaylistEntryRepository playlistEntryRepository;
+    private final TrackRepository trackRepository;
+    private final PlaylistMapper playlistMapper;
+
+    @Override
+    public PlaylistDto create(PlaylistDto dto) {
+        Playlist playlist = playlistMapper.toEntity(dto);
+        playlist.setId(null);
+        playlist.setVersion(null);
+        return playlistMapper.toDto(playlistRepository.save(playlist));
+    }
+
+    @Override
+    public PlaylistDto show(long id) {
+        return playlistMapper.toDto(playlistRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Playlist not found with id: " + id)));
+    }
+
+    @Override
+    public Page<PlaylistDto> list(Pageable pageable) {
+        return playlistRepository.findAll(pageable).map(playlistMapper::toDto);
+    }
+
+    @Override
+    public PlaylistDto update(long id, PlaylistDto dto) {
+        Playlist playlist = playlistRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Playlist not found with id: " + id));
+        playlist.setName(dto.getName());
+        playlist.setDescription(dto.getDescription());
+        return playlistMapper.toDto(playlistRepository.save(playlist));
+    }
+
+    @Override
+    public void delete(long id) {
+        // Entries go with it through ON DELETE CASCADE
+        playlistRepository.deleteById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PlaylistEntryDto> tracks(long id, String after, int size) {
+        PlaylistCursor cursor = PlaylistCursor.decode(after);
+        // Tracks are fetched in the same query; one extra row tells whether another page exists
+        List<PlaylistEntry> rows = playlistEntryRepository.scroll(id, cursor.position(), cursor.id(), Limit.of(size + 1));
+        if (rows.isEmpty() && cursor.isFirst() && !playlistRepository.existsById(id)) {
+            throw new RuntimeException("Playlist not found with id: " + id);
+        }
+        boolean hasNext = rows.size() > size;
+        List<PlaylistEntry> page = hasNext ? rows.subList(0, size) : rows;
+        String next = hasNext ? PlaylistCursor.after(page.get(page.size() - 1)).encode() : null;
+        return new CursorPage<>(page.stream().map(playlistMapper::toDto).toList(), page.size(), hasNext, next);
+    }
+
+    @Override
+    @Transactional
+    public List<PlaylistEntryDto> addTracks(long id, PlaylistTracksRequest request) {
+        List<Long> trackIds = batch(request.getTrackIds(), "trackIds");
+        lock(id);
+        long[] positions = positions(id, request, trackIds.size());
+
+        Map<Long, Track> tracks = trackRepository.findAllById(new HashSet<>(trackIds)).stream()
+                .collect(Collectors.toMap(Track::getId, Function.identity()));
+        Set<Long> unknown = new LinkedHashSet<>(trackIds);
+        unknown.removeAll(tracks.keySet());
+        if (!unknown.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown track ids: " + unknown);
+        }
+
+        Playlist playlist = playlistRepository.getReferenceById(id);
+        List<PlaylistEntry> entries = new ArrayList<>(trackIds.size());
+        for (int i = 0; i < trackIds.size(); i++) {
+            entries.add(new PlaylistEntry(null, playlist, tracks.get(trackIds.get(i)), positions[i]));
+        }
+        return playlistEntryRepository.saveAll(entries).stream().map(playlistMapper::toDto).toList();
+    }
+
+    @Override
+    @Transactional
+    public List<PlaylistEntryDto> moveEntries(long id, PlaylistTracksRequest request) {
+        List<Long> entryIds = batch(request.getEntryIds(), "entryIds");
+        if (new HashSet<>(entryIds).size() != entryIds.size()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "entryIds must not repeat");
+        }
+        if (request.getAfterEntryId() != null && entryIds.contains(request.getAfterEntryId())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot move an entry after itself");
+        }
+        lock(id);
+        // Positions first: re-spacing clears the persistence context
+        long[] positions = positions(id, request, entryIds.size());
+
+        Map<Long, PlaylistEntry> entries = playlistEntryRepository.findInPlaylist(id, entryIds).stream()
+                .collect(Collectors.toMap(PlaylistEntry::getId, Function.identity()));
+        if (entries.size() != entryIds.size()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown entry ids for playlist " + id);
+        }
+        List<PlaylistEntryDto> moved = new ArrayList<>(entryIds.size());
+        for (int i = 0; i < entryIds.size(); i++) {
+            PlaylistEntry entry = entries.get(entryIds.get(i));
+            entry.setPosition(positions[i]);
+            moved.add(playlistMapper.toDto(entry));
+        }
+        return moved;
+    }
+
+    @Override
+    @Transactional
+    public int removeEntries(long id, List<Long> entryIds) {
+        List<Long> ids = batch(entryIds, "entryIds");
+        lock(id);
+        return playlistEntryRepository.deleteEntries(id, ids);
+    }
+
+    private void lock(long id) {
+        playlistRepository.findForUpdate(id)
+                .orElseThrow(() -> new RuntimeException("Playlist not found with id: " + id));
+    }
+
+    private static List<Long> batch(List<Long> ids, String field) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_BATCH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    field + " must hold between 1 and " + MAX_BATCH + " ids");
+        }
+        return ids;
+    }
+
+    /**
+     * Positions for {@code count} consecutive entries at the requested place, strictly
+     * between the neighbouring entries' positions.
+     */
+    long[] positions(long playlistId, PlaylistTracksRequest request, int count) {
+        for (boolean respaced = false; ; respaced = true) {
+            Long previous;
+            Optional<Long> next;
+            if (request.getAfterEntryId() != null) {
+                previous = playlistEntryRepository.findPosition(playlistId, request.getAfterEntryId())
+                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                "Unknown entry id for playlist " + playlistId + ": " + request.getAfterEntryId()));
+                next = playlistEntryRepository.findPositionAfter(playlistId, previous);
+            } else if (Boolean.TRUE.equals(request.getAtStart())) {
+                previous = null;
+                next = playlistEntryRepository.findFirstPosition(playlistId);
+            } else {
+                previous = playlistEntryRepository.findLastPosition(playlistId).orElse(0L);
+                next = Optional.empty();
+            }
+
+            long[] positions = new long[count];
+            if (next.isEmpty()) {
+                long base = previous == null ? 0 : previous;
+                for (int i = 0; i < count; i++) positions[i] = base + GAP * (i + 1);
+                return positions;
+            }
+            long lower = previous != null ? previous : next.get() - GAP * (count + 1);
+            long step = (next.get() - lower) / (count + 1);
+            if (step > 0) {
+                for (int i = 0; i < count; i++) positions[i] = lower + step * (i + 1);
+                return positions;
+            }
+            if (respaced) {
+                throw new IllegalStateException("No room for " + count + " entries after re-spacing playlist " + playlistId);
+            }
+            playlistEntryRepository.respace(playlistId, GAP);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.MusicStream.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Tracks written on this instance within the read-your-writes window. Reads of those tracks go
+ * to the primary, since a replica may not have replayed the write yet. Cached listings can hold
+ * any track, so they go to the primary while any write is inside the window.
+ */
+@Component
+public class RecentWrites {
+
+    private final Cache<Long, Boolean> trackIds;
+    private final long windowNanos;
+    private volatile long lastWrite;
+
+    public RecentWrites(@Value("${datasource.replicas.read-your-writes:PT5S}") Duration window) {
+        this.windowNanos = window.toNanos();
+        this.lastWrite = System.nanoTime() - windowNanos;
+        this.trackIds = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public void record(long trackId) {
+        trackIds.put(trackId, Boolean.TRUE);
+        lastWrite = System.nanoTime();
+    }
+
+    public boolean contains(long trackId) {
+        return trackIds.getIfPresent(trackId) != null;
+    }
+
+    public boolean any() {
+        return System.nanoTime() - lastWrite < windowNanos;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.MusicStream.service;
+
+/**
+ * Published when a track gets new audio. Listeners run after the transaction commits.
+ */
+public record TrackAudioChangedEvent(long trackId, String audioKey, String checksum) {
+}
@@ -0,0 +1,50 @@
+package com.example.MusicStream.service;
+
+import com.example.MusicStream.entity.Track;
+import com.example.MusicStream.entity.TrackSort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a page, over (sort key, id). Encoded as an opaque
+ * URL-safe token so clients cannot depend on its layout.
+ */
+record TrackCursor(TrackSort sort, String title, long id) {
+
+    static TrackCursor first(TrackSort sort) {
+        return new TrackCursor(sort, "", 0L);
+    }
+
+    static TrackCursor after(TrackSort sort, Track track) {
+        return after(sort, track.getTitle(), track.getId());
+    }
+
+    static TrackCursor after(TrackSort sort, String title, long id) {
+        return new TrackCursor(sort, sort == TrackSort.title ? title : "", id);
+    }
+
+    static TrackCursor decode(String token, TrackSort sort) {
+        if (token == null || token.isBlank()) {
+            return first(sort);
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            TrackCursor cursor = new TrackCursor(TrackSort.valueOf(parts[0]), parts[2], Long.parseLong(parts[1]));
+            if (cursor.sort() != sort) {
+                throw new IllegalArgumentException("Cursor was issued for sort " + cursor.sort());
+            }
+            return cursor;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + token, e);
+        }
+    }
+
+    String encode() {
+        String raw = sort.name() + ":" + id + ":" + title;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.MusicStream.service;
+
+import com.example.MusicStream.dto.ImportResult;
+import com.example.MusicStream.dto.ImportSummary;
+import com.example.MusicStream.entity.ImportFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+public interface TrackImportService {
+
+    ImportSummary importTracks(InputStream content, ImportFormat format, Consumer<ImportResult> results) throws IOException;
+}
@@ -0,0 +1,254 @@
+package com.example.MusicStream.service;
+
+import com.example.MusicStream.config.CacheConfig;
+import com.example.MusicStream.dto.ImportResult;
+import com.example.MusicStream.dto.ImportSummary;
+import com.example.MusicStream.dto.TrackDto;
+import com.example.MusicStream.entity.ImportFormat;
+import com.example.MusicStream.entity.MusicCategory;
+import com.example.MusicStream.entity.Track;
+import com.example.MusicStream.mapper.TrackMapper;
+import com.example.MusicStream.repository.TrackRepository;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Streams NDJSON or CSV track metadata into the catalogue. Rows are parsed one line at a time
+ * and saved in batches, each batch in its own transaction so JDBC batching applies and the
+ * persistence context never grows beyond one batch. A batch that fails is retried row by row
+ * so a single bad record only fails itself.
+ */
+@Service
+@Observed(name = "track.import")
+public class TrackImportServiceImpl implements TrackImportService {
+
+    private static final List<String> CSV_COLUMNS =
+            List.of("title", "artist", "album", "category", "description", "duration", "coverImage");
+
+    private final TrackRepository trackRepository;
+    private final TrackMapper trackMapper;
+    private final ArtistResolver artistResolver;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+    private final int batchSize;
+
+    public TrackImportServiceImpl(TrackRepository trackRepository,
+                                  TrackMapper trackMapper,
+                                  ArtistResolver artistResolver,
+                                  EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager,
+                                  JsonMapper jsonMapper,
+                                  @Value("${track.import.batch-size:500}") int batchSize) {
+        this.trackRepository = trackRepository;
+        this.trackMapper = trackMapper;
+        this.artistResolver = artistResolver;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jsonMapper = jsonMapper;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.TRACK_SEARCH, allEntries = true)
+    public ImportSummary importTracks(InputStream content, ImportFormat format,
+                                      Consumer<ImportResult> results) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(content, StandardCharsets.UTF_8));
+        long line = 0;
+        Function<String, TrackDto> parser;
+        if (format == ImportFormat.csv) {
+            String header = reader.readLine();
+            if (header == null) {
+                return new ImportSummary(0, 0, 0);
+            }
+            line++;
+            parser = csvParser(parseCsvLine(header));
+        } else {
+            parser = raw -> jsonMapper.readValue(raw, TrackDto.class);
+        }
+
+        ImportSummary summary = new ImportSummary(0, 0, 0);
+        List<Row> batch = new ArrayList<>(batchSize);
+        String raw;
+        while ((raw = reader.readLine()) != null) {
+            line++;
+            if (raw.isBlank()) {
+                continue;
+            }
+            summary.setTotal(summary.getTotal() + 1);
+            try {
+                batch.add(new Row(line, toTrack(parser.apply(raw))));
+            } catch (RuntimeException e) {
+                summary.setFailed(summary.getFailed() + 1);
+                results.accept(new ImportResult(line, null, e.getMessage()));
+                continue;
+            }
+            if (batch.size() >= batchSize) {
+                flush(batch, summary, results);
+            }
+        }
+        flush(batch, summary, results);
+        return summary;
+    }
+
+    private void flush(List<Row> batch, ImportSummary summary, Consumer<ImportResult> results) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> saveBatch(batch));
+            batch.forEach(row -> imported(row, summary, results));
+        } catch (DataAccessException e) {
+            for (Row row : batch) {
+                // Ids drawn for the rolled-back batch are discarded so the row is persisted as new
+                row.track().setId(null);
+                row.track().setVersion(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> saveBatch(List.of(row)));
+                    imported(row, summary, results);
+                } catch (DataAccessException rowError) {
+                    summary.setFailed(summary.getFailed() + 1);
+                    results.accept(new ImportResult(row.line(), null, rowError.getMostSpecificCause().getMessage()));
+                }
+            }
+        }
+        batch.clear();
+    }
+
+    private void saveBatch(List<Row> rows) {
+        List<Track> tracks = rows.stream().map(Row::track).toList();
+        artistResolver.link(tracks);
+        // Flushed through the repository so constraint failures arrive translated to DataAccessException
+        trackRepository.saveAllAndFlush(tracks);
+        entityManager.clear();
+    }
+
+    private void imported(Row row, ImportSummary summary, Consumer<ImportResult> results) {
+        summary.setImported(summary.getImported() + 1);
+        results.accept(new ImportResult(row.line(), row.track().getId(), null));
+    }
+
+    private Track toTrack(TrackDto dto) {
+        if (dto == null) {
+            throw new IllegalArgumentException("Empty record");
+        }
+        require(dto.getTitle(), "title");
+        require(dto.getArtist(), "artist");
+        if (dto.getCategory() == null) {
+            throw new IllegalArgumentException("Missing required field: category");
+        }
+        Track track = trackMapper.toEntity(dto);
+        // Audio is attached afterwards through PUT /api/tracks/{id}/file
+        track.setId(null);
+        track.setVersion(null);
+        track.setUpdatedAt(null);
+        track.setFileUrl(null);
+        track.setFileSize(null);
+        track.setFileChecksum(null);
+        if (track.getDescription() == null) track.setDescription("");
+        if (track.getDuration() == null) track.setDuration(0L);
+        return track;
+    }
+
+    private static void require(String value, String field) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing required field: " + field);
+        }
+    }
+
+    private static Function<String, TrackDto> csvParser(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim();
+            if (CSV_COLUMNS.contains(name)) {
+                columns.put(name, i);
+            }
+        }
+        return raw -> {
+            List<String> fields = parseCsvLine(raw);
+            TrackDto dto = new TrackDto();
+            dto.setTitle(column(fields, columns, "title"));
+            dto.setArtist(column(fields, columns, "artist"));
+            dto.setAlbum(column(fields, columns, "album"));
+            dto.setDescription(column(fields, columns, "description"));
+            dto.setCoverImage(column(fields, columns, "coverImage"));
+            String category = column(fields, columns, "category");
+            if (category != null && !category.isBlank()) {
+                try {
+                    dto.setCategory(MusicCategory.valueOf(category.trim().toLowerCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown category: " + category);
+                }
+            }
+            String duration = column(fields, columns, "duration");
+            if (duration != null && !duration.isBlank()) {
+                try {
+                    dto.setDuration(Long.parseLong(duration.trim()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid duration: " + duration);
+                }
+            }
+            return dto;
+        };
+    }
+
+    private static String column(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index == null || index >= fields.size() ? null : fields.get(index);
+    }
+
+    // RFC 4180 fields on a single line: quoted fields may contain commas and doubled quotes
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private record Row(long line, Track track) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.MusicStream.service;
+
+/**
+ * Thrown when a track id does not exist, so callers can tell a deleted track from other failures.
+ */
+public class TrackNotFoundException extends RuntimeException {
+
+    public TrackNotFoundException(long id) {
+        super("Track not found with id: " + id);
+    }
+}
@@ -1,11 +1,18 @@
 package com.example.MusicStream.service;
 
+import com.example.MusicStream.dto.AudioMetadata;
+import com.example.MusicStream.dto.CursorPage;
 import com.example.MusicStream.dto.TrackDto;
+import com.example.MusicStream.dto.TrackSummary;
 import com.example.MusicStream.entity.MusicCategory;
+import com.example.MusicStream.entity.ProcessingStatus;
+import com.example.MusicStream.entity.TrackSort;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+
 public interface TrackService {
 
     TrackDto create(TrackDto dto);
@@ -14,11 +21,29 @@ public interface TrackService {
 
     TrackDto show(long id);
 
+    long getVersion(long id);
+
+    String getWaveformKey(long id);
+
     TrackDto updateWithFile(long id, TrackDto dto, MultipartFile file);
 
+    TrackDto uploadFile(long id, InputStream content, String filename);
+
     Page<TrackDto> search(String title, MusicCategory category, Pageable pageable);
 
+    CursorPage<TrackDto> scroll(String title, MusicCategory category, TrackSort sort, String after, int size);
+
+    Page<TrackSummary> searchSummaries(String title, MusicCategory category, Pageable pageable);
+
+    CursorPage<TrackSummary> scrollSummaries(String title, MusicCategory category, TrackSort sort, String after, int size);
+
     TrackDto update(long id, TrackDto dto);
 
     void delete(long id);
+
+    TrackDto attachCover(long id, String coverChecksum, int size);
+
+    void recordHls(long id, String audioKey, ProcessingStatus status, String playlistKey);
+
+    void recordMetadata(long id, String audioKey, ProcessingStatus status, AudioMetadata metadata);
 }
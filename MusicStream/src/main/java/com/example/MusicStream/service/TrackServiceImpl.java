@@ -1,119 +1,290 @@
 package com.example.MusicStream.service;
 
+import com.example.MusicStream.config.CacheConfig;
+import com.example.MusicStream.config.ReplicaRoutingDataSource;
+import com.example.MusicStream.dto.AudioMetadata;
+import com.example.MusicStream.dto.CursorPage;
 import com.example.MusicStream.dto.TrackDto;
+import com.example.MusicStream.dto.TrackSummary;
 import com.example.MusicStream.entity.MusicCategory;
+import com.example.MusicStream.entity.ProcessingStatus;
 import com.example.MusicStream.entity.Track;
+import com.example.MusicStream.entity.TrackSort;
 import com.example.MusicStream.mapper.TrackMapper;
 import com.example.MusicStream.repository.TrackRepository;
+import com.example.MusicStream.storage.AudioBlobStore;
+import com.example.MusicStream.storage.DerivedKeys;
+import com.example.MusicStream.storage.StagedAudio;
+import com.example.MusicStream.storage.StoredAudio;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.UUID;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "track.service")
 @RequiredArgsConstructor
 public class TrackServiceImpl implements TrackService {
 
     private final TrackRepository trackRepository;
     private final TrackMapper trackMapper;
+    private final ArtistResolver artistResolver;
+    private final RecentWrites recentWrites;
 
-    private final String UPLOAD_DIR = "uploads/music";
+    private final AudioBlobStore audioBlobStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
-    private String saveFile(MultipartFile file) throws IOException {
-        Path dir = Paths.get(UPLOAD_DIR);
-        if (!Files.exists(dir)) Files.createDirectories(dir);
+    private static final Pattern SEARCH_TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern SAFE_EXTENSION = Pattern.compile("\\.[a-z0-9]{1,8}");
 
-        String ext = file.getOriginalFilename()
-                .substring(file.getOriginalFilename().lastIndexOf("."));
+    // Uploads are received before any transaction starts, so a slow client never holds a connection
+    private StagedAudio stage(MultipartFile file) {
+        String ext = extension(file.getOriginalFilename());
+        try (InputStream content = file.getInputStream()) {
+            return audioBlobStore.stage(content, ext);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
 
-        String name = UUID.randomUUID() + ext;
+    private StoredAudio store(StagedAudio staged) {
+        try {
+            return audioBlobStore.store(staged);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
 
-        Path path = dir.resolve(name);
-        Files.copy(file.getInputStream(), path);
+    private void replaceFile(Track track, StoredAudio stored) {
+        String previous = fileName(track);
+        attachFile(track, stored);
+        if (previous != null) {
+            audioBlobStore.release(previous);
+        }
+    }
 
-        return ServletUriComponentsBuilder
+    private void attachFile(Track track, StoredAudio stored) {
+        track.setFileUrl(ServletUriComponentsBuilder
                 .fromCurrentContextPath()
                 .path("/uploads/music/")
-                .path(name)
-                .toUriString();
+                .path(stored.name())
+                .toUriString());
+        track.setFileSize(stored.size());
+        track.setFileChecksum(stored.checksum());
+        // Derived media belongs to the previous audio; listeners rebuild it
+        track.setHlsStatus(null);
+        track.setHlsPlaylistUrl(null);
+        track.setMetadataStatus(ProcessingStatus.pending);
+        track.setBitrate(null);
+        track.setSampleRate(null);
+        track.setCodec(null);
+    }
+
+    private static void setCoverImage(Track track, String coverImage) {
+        if (!Objects.equals(coverImage, track.getCoverImage())) {
+            track.setCoverChecksum(null);
+        }
+        track.setCoverImage(coverImage);
+    }
+
+    private Track audioChanged(Track saved) {
+        eventPublisher.publishEvent(new TrackAudioChangedEvent(saved.getId(), fileName(saved), saved.getFileChecksum()));
+        return saved;
+    }
+
+    private static String fileName(Track track) {
+        if (track.getFileUrl() == null) return null;
+        return track.getFileUrl().substring(track.getFileUrl().lastIndexOf('/') + 1);
+    }
+
+    // The client's filename ends up in the storage key, so only a short alphanumeric extension survives
+    static String extension(String filename) {
+        if (filename == null || filename.lastIndexOf(".") < 0) return "";
+        String ext = filename.substring(filename.lastIndexOf(".")).toLowerCase(Locale.ROOT);
+        return SAFE_EXTENSION.matcher(ext).matches() ? ext : "";
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.TRACK_SEARCH, allEntries = true)
+    @Transactional
     public TrackDto create(TrackDto dto) {
-        return trackMapper.toDto(trackRepository.save(trackMapper.toEntity(dto)));
+        Track track = trackMapper.toEntity(dto);
+        artistResolver.link(List.of(track));
+        return trackMapper.toDto(written(trackRepository.save(track)));
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.TRACK_SEARCH, allEntries = true)
     public TrackDto createWithFile(TrackDto dto, MultipartFile file) {
+        StagedAudio staged = stage(file);
         try {
-            dto.setFileUrl(saveFile(file));
-            dto.setFileSize(file.getSize());
-            return trackMapper.toDto(trackRepository.save(trackMapper.toEntity(dto)));
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+            return transactionTemplate.execute(status -> {
+                Track track = trackMapper.toEntity(dto);
+                artistResolver.link(List.of(track));
+                attachFile(track, store(staged));
+                return trackMapper.toDto(audioChanged(written(trackRepository.save(track))));
+            });
+        } finally {
+            audioBlobStore.discard(staged);
         }
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.TRACKS, key = "#id")
+    @Transactional(readOnly = true)
     public TrackDto show(long id) {
+        if (recentWrites.contains(id)) {
+            return ReplicaRoutingDataSource.usePrimary(() -> load(id));
+        }
+        return load(id);
+    }
+
+    private TrackDto load(long id) {
         return trackMapper.toDto(trackRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Track not found with id: " + id)));
+                .orElseThrow(() -> new TrackNotFoundException(id)));
+    }
+
+    private Track written(Track track) {
+        recentWrites.record(track.getId());
+        return track;
+    }
+
+    @Override
+    public long getVersion(long id) {
+        return trackRepository.findVersionById(id)
+                .orElseThrow(() -> new TrackNotFoundException(id));
     }
 
     @Override
+    public String getWaveformKey(long id) {
+        Track track = trackRepository.findById(id)
+                .orElseThrow(() -> new TrackNotFoundException(id));
+        if (track.getFileChecksum() == null) {
+            throw new RuntimeException("No audio file for track with id: " + id);
+        }
+        return DerivedKeys.key(track.getFileChecksum(), DerivedKeys.WAVEFORM);
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TRACKS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.TRACK_SEARCH, allEntries = true)
+    })
+    @Transactional
     public TrackDto update(long id, TrackDto dto) {
         Track track = trackRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Track not found with id: " + id));
+                .orElseThrow(() -> new TrackNotFoundException(id));
         
         track.setTitle(dto.getTitle());
         track.setArtist(dto.getArtist());
+        track.setAlbumTitle(dto.getAlbum());
         track.setDescription(dto.getDescription());
         track.setCategory(dto.getCategory());
         track.setDuration(dto.getDuration());
-        track.setCoverImage(dto.getCoverImage());
+        setCoverImage(track, dto.getCoverImage());
+        artistResolver.link(List.of(track));
         
-        return trackMapper.toDto(trackRepository.save(track));
+        return trackMapper.toDto(written(trackRepository.save(track)));
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TRACKS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.TRACK_SEARCH, allEntries = true)
+    })
     public TrackDto updateWithFile(long id, TrackDto dto, MultipartFile file) {
-        Track track = trackRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Track not found with id: " + id));
+        StagedAudio staged = file != null && !file.isEmpty() ? stage(file) : null;
+        try {
+            return transactionTemplate.execute(status -> {
+                Track track = trackRepository.findById(id)
+                        .orElseThrow(() -> new TrackNotFoundException(id));
 
-        track.setTitle(dto.getTitle());
-        track.setArtist(dto.getArtist());
-        track.setCategory(dto.getCategory());
-        track.setDescription(dto.getDescription());
-        track.setDuration(dto.getDuration());
-        track.setCoverImage(dto.getCoverImage());
+                track.setTitle(dto.getTitle());
+                track.setArtist(dto.getArtist());
+                track.setAlbumTitle(dto.getAlbum());
+                track.setCategory(dto.getCategory());
+                track.setDescription(dto.getDescription());
+                track.setDuration(dto.getDuration());
+                setCoverImage(track, dto.getCoverImage());
+                artistResolver.link(List.of(track));
 
-        try {
-            if (file != null && !file.isEmpty()) {
-                track.setFileUrl(saveFile(file));
-                track.setFileSize(file.getSize());
+                if (staged != null) {
+                    replaceFile(track, store(staged));
+                }
+
+                Track saved = written(trackRepository.save(track));
+                return trackMapper.toDto(staged != null ? audioChanged(saved) : saved);
+            });
+        } finally {
+            if (staged != null) {
+                audioBlobStore.discard(staged);
             }
+        }
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TRACKS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.TRACK_SEARCH, allEntries = true)
+    })
+    public TrackDto uploadFile(long id, InputStream content, String filename) {
+        StagedAudio staged;
+        try {
+            staged = audioBlobStore.stage(content, extension(filename));
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
-
-        return trackMapper.toDto(trackRepository.save(track));
+        try {
+            return transactionTemplate.execute(status -> {
+                Track track = trackRepository.findById(id)
+                        .orElseThrow(() -> new TrackNotFoundException(id));
+                replaceFile(track, store(staged));
+                return trackMapper.toDto(audioChanged(written(trackRepository.save(track))));
+            });
+        } finally {
+            audioBlobStore.discard(staged);
+        }
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.TRACK_SEARCH,
+            key = "{#title, #category, #pageable.pageNumber, #pageable.pageSize}")
+    @Transactional(readOnly = true)
     public Page<TrackDto> search(String title, MusicCategory category, Pageable pageable) {
-        if (title != null && category != null) {
-            return trackRepository.findByTitleContainingIgnoreCaseAndCategory(title, category, pageable)
+        // Cached for minutes, so never filled from a replica that may still lack a local write
+        if (recentWrites.any()) {
+            return ReplicaRoutingDataSource.usePrimary(() -> find(title, category, pageable));
+        }
+        return find(title, category, pageable);
+    }
+
+    private Page<TrackDto> find(String title, MusicCategory category, Pageable pageable) {
+        String prefixQuery = prefixQuery(title);
+        if (prefixQuery != null && category != null) {
+            return trackRepository.searchInCategory(title.trim(), prefixQuery, category.name(), pageable)
                     .map(trackMapper::toDto);
-        } else if (title != null) {
-            return trackRepository.findByTitleContainingIgnoreCase(title, pageable)
+        } else if (prefixQuery != null) {
+            return trackRepository.search(title.trim(), prefixQuery, pageable)
                     .map(trackMapper::toDto);
         } else if (category != null) {
             return trackRepository.findByCategory(category, pageable)
@@ -125,10 +296,174 @@ public class TrackServiceImpl implements TrackService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TrackDto> scroll(String title, MusicCategory category, TrackSort sort, String after, int size) {
+        TrackCursor cursor = TrackCursor.decode(after, sort);
+        String prefixQuery = prefixQuery(title);
+        String categoryName = category == null ? null : category.name();
+
+        // One extra row tells whether another page exists without counting
+        List<Track> rows;
+        if (prefixQuery != null && sort == TrackSort.title) {
+            rows = trackRepository.scrollSearchByTitle(title.trim(), prefixQuery, categoryName,
+                    cursor.title(), cursor.id(), size + 1);
+        } else if (prefixQuery != null) {
+            rows = trackRepository.scrollSearchById(title.trim(), prefixQuery, categoryName, cursor.id(), size + 1);
+        } else if (sort == TrackSort.title && category != null) {
+            rows = trackRepository.scrollInCategoryByTitle(category, cursor.title(), cursor.id(), Limit.of(size + 1));
+        } else if (sort == TrackSort.title) {
+            rows = trackRepository.scrollByTitle(cursor.title(), cursor.id(), Limit.of(size + 1));
+        } else if (category != null) {
+            rows = trackRepository.scrollInCategoryById(category, cursor.id(), Limit.of(size + 1));
+        } else {
+            rows = trackRepository.scrollById(cursor.id(), Limit.of(size + 1));
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<Track> page = hasNext ? rows.subList(0, size) : rows;
+        String next = hasNext ? TrackCursor.after(sort, page.get(page.size() - 1)).encode() : null;
+        return new CursorPage<>(page.stream().map(trackMapper::toDto).toList(), page.size(), hasNext, next);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.TRACK_SEARCH,
+            key = "{'summary', #title, #category, #pageable.pageNumber, #pageable.pageSize}")
+    @Transactional(readOnly = true)
+    public Page<TrackSummary> searchSummaries(String title, MusicCategory category, Pageable pageable) {
+        if (recentWrites.any()) {
+            return ReplicaRoutingDataSource.usePrimary(() -> findSummaries(title, category, pageable));
+        }
+        return findSummaries(title, category, pageable);
+    }
+
+    private Page<TrackSummary> findSummaries(String title, MusicCategory category, Pageable pageable) {
+        String prefixQuery = prefixQuery(title);
+        if (prefixQuery != null && category != null) {
+            return trackRepository.searchSummariesInCategory(title.trim(), prefixQuery, category.name(), pageable);
+        } else if (prefixQuery != null) {
+            return trackRepository.searchSummaries(title.trim(), prefixQuery, pageable);
+        } else if (category != null) {
+            return trackRepository.findSummariesByCategory(category, pageable);
+        } else {
+            return trackRepository.findAllSummaries(pageable);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TrackSummary> scrollSummaries(String title, MusicCategory category, TrackSort sort,
+                                                    String after, int size) {
+        TrackCursor cursor = TrackCursor.decode(after, sort);
+        String prefixQuery = prefixQuery(title);
+        String categoryName = category == null ? null : category.name();
+
+        List<TrackSummary> rows;
+        if (prefixQuery != null && sort == TrackSort.title) {
+            rows = trackRepository.scrollSearchSummariesByTitle(title.trim(), prefixQuery, categoryName,
+                    cursor.title(), cursor.id(), size + 1);
+        } else if (prefixQuery != null) {
+            rows = trackRepository.scrollSearchSummariesById(title.trim(), prefixQuery, categoryName, cursor.id(), size + 1);
+        } else if (sort == TrackSort.title && category != null) {
+            rows = trackRepository.scrollSummariesInCategoryByTitle(category, cursor.title(), cursor.id(),
+                    Limit.of(size + 1));
+        } else if (sort == TrackSort.title) {
+            rows = trackRepository.scrollSummariesByTitle(cursor.title(), cursor.id(), Limit.of(size + 1));
+        } else if (category != null) {
+            rows = trackRepository.scrollSummariesInCategoryById(category, cursor.id(), Limit.of(size + 1));
+        } else {
+            rows = trackRepository.scrollSummariesById(cursor.id(), Limit.of(size + 1));
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<TrackSummary> page = hasNext ? rows.subList(0, size) : rows;
+        TrackSummary last = hasNext ? page.get(page.size() - 1) : null;
+        String next = hasNext ? TrackCursor.after(sort, last.getTitle(), last.getId()).encode() : null;
+        return new CursorPage<>(List.copyOf(page), page.size(), hasNext, next);
+    }
+
+    // Turns free text into a tsquery where every word is matched as a prefix: "love so" -> "love:* & so:*"
+    static String prefixQuery(String text) {
+        if (text == null) return null;
+        String query = SEARCH_TOKEN_SEPARATOR.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(token -> !token.isEmpty())
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+        return query.isEmpty() ? null : query;
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TRACKS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.TRACK_SEARCH, allEntries = true)
+    })
+    @Transactional
     public void delete(long id) {
-        if (!trackRepository.existsById(id)) {
-            throw new RuntimeException("Track not found with id: " + id);
+        Track track = trackRepository.findById(id)
+                .orElseThrow(() -> new TrackNotFoundException(id));
+        String file = fileName(track);
+        trackRepository.delete(written(track));
+        if (file != null) {
+            audioBlobStore.release(file);
         }
-        trackRepository.deleteById(id);
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TRACKS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.TRACK_SEARCH, allEntries = true)
+    })
+    @Transactional
+    public TrackDto attachCover(long id, String coverChecksum, int size) {
+        Track track = trackRepository.findById(id)
+                .orElseThrow(() -> new TrackNotFoundException(id));
+        track.setCoverChecksum(coverChecksum);
+        track.setCoverImage(ServletUriComponentsBuilder
+                .fromCurrentContextPath()
+                .path("/api/covers/{checksum}/{size}")
+                .buildAndExpand(coverChecksum, size)
+                .toUriString());
+        return trackMapper.toDto(written(trackRepository.save(track)));
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TRACKS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.TRACK_SEARCH, allEntries = true)
+    })
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordHls(long id, String audioKey, ProcessingStatus status, String playlistKey) {
+        // Ignored when the audio was replaced or removed since the job started
+        trackRepository.findById(id)
+                .filter(track -> audioKey.equals(fileName(track)))
+                .ifPresent(track -> {
+                    track.setHlsStatus(status);
+                    track.setHlsPlaylistUrl(playlistKey == null ? null : siblingUrl(track, playlistKey));
+                });
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TRACKS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.TRACK_SEARCH, allEntries = true)
+    })
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordMetadata(long id, String audioKey, ProcessingStatus status, AudioMetadata metadata) {
+        trackRepository.findById(id)
+                .filter(track -> audioKey.equals(fileName(track)))
+                .ifPresent(track -> {
+                    track.setMetadataStatus(status);
+                    if (metadata == null) return;
+                    // Measured duration replaces the client-supplied one
+                    if (metadata.getDuration() != null && metadata.getDuration() > 0) {
+                        track.setDuration(metadata.getDuration());
+                    }
+                    track.setBitrate(metadata.getBitrate());
+                    track.setSampleRate(metadata.getSampleRate());
+                    track.setCodec(metadata.getCodec());
+                });
+    }
+
+    private static String siblingUrl(Track track, String key) {
+        return track.getFileUrl().substring(0, track.getFileUrl().lastIndexOf('/') + 1) + key;
     }
 }
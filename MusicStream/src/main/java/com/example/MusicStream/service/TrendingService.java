@@ -0,0 +1,17 @@
+package com.example.MusicStream.service;
+
+import com.example.MusicStream.dto.TrackDto;
+import com.example.MusicStream.entity.MusicCategory;
+
+import java.util.List;
+
+public interface TrendingService {
+
+    void recordPlay(long trackId, MusicCategory category);
+
+    List<TrackDto> trending(MusicCategory category, int limit);
+
+    void snapshot();
+
+    void restore();
+}
@@ -0,0 +1,160 @@
+package com.example.MusicStream.service;
+
+import com.example.MusicStream.dto.TrackDto;
+import com.example.MusicStream.entity.MusicCategory;
+import com.example.MusicStream.entity.TrendingScore;
+import com.example.MusicStream.repository.TrendingScoreRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trending tracks, catalogue-wide and per category, kept in {@link DecayingTopK} summaries
+ * fed by play events so the list is answered from memory. Track details come from the track
+ * cache. The summaries are written to {@code trending_score} periodically and reloaded on
+ * startup, decayed by the time that has passed since.
+ *
+ * <p>Each node only counts the plays it serves, and a snapshot replaces the whole table. With
+ * several nodes, snapshots are serialised by a table lock and the table holds whichever node
+ * wrote last, which is also what a restarting node restores. Counts are not merged across nodes.
+ */
+@Slf4j
+@Service
+public class TrendingServiceImpl implements TrendingService {
+
+    private static final String INSERT = "INSERT INTO trending_score (scope, track_id, score, taken_at) VALUES (?, ?, ?, ?)";
+
+    private final TrackService trackService;
+    private final TrendingScoreRepository trendingScoreRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final DecayingTopK all;
+    private final Map<MusicCategory, DecayingTopK> byCategory = new EnumMap<>(MusicCategory.class);
+
+    public TrendingServiceImpl(TrackService trackService,
+                               TrendingScoreRepository trendingScoreRepository,
+                               JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${trending.capacity:200}") int capacity,
+                               @Value("${trending.half-life:PT6H}") Duration halfLife) {
+        this.trackService = trackService;
+        this.trendingScoreRepository = trendingScoreRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        long now = System.currentTimeMillis();
+        this.all = new DecayingTopK(capacity, halfLife, now);
+        for (MusicCategory category : MusicCategory.values()) {
+            byCategory.put(category, new DecayingTopK(capacity, halfLife, now));
+        }
+    }
+
+    @Override
+    public void recordPlay(long trackId, MusicCategory category) {
+        long now = System.currentTimeMillis();
+        all.add(trackId, 1, now);
+        if (category != null) {
+            byCategory.get(category).add(trackId, 1, now);
+        }
+    }
+
+    @Override
+    public List<TrackDto> trending(MusicCategory category, int limit) {
+        DecayingTopK sketch = sketch(category);
+        List<TrackDto> tracks = new ArrayList<>(limit);
+        // Over-fetch a little: deleted or re-categorised tracks are skipped below, other failures propagate
+        for (DecayingTopK.Entry entry : sketch.top(limit * 2, System.currentTimeMillis())) {
+            TrackDto track;
+            try {
+                track = trackService.show(entry.trackId());
+            } catch (TrackNotFoundException e) {
+                sketch.remove(entry.trackId());
+                continue;
+            }
+            if (category != null && track.getCategory() != category) {
+                sketch.remove(entry.trackId());
+                continue;
+            }
+            tracks.add(track);
+            if (tracks.size() == limit) break;
+        }
+        return tracks;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${trending.snapshot-interval:PT1M}", initialDelayString = "${trending.snapshot-interval:PT1M}")
+    public void snapshot() {
+        long now = System.currentTimeMillis();
+        Instant takenAt = Instant.ofEpochMilli(now);
+        List<TrendingScore> scores = new ArrayList<>();
+        collect(TrendingScore.ALL, all, now, takenAt, scores);
+        byCategory.forEach((category, sketch) -> collect(category.name(), sketch, now, takenAt, scores));
+        // Plain JDBC: the composite-key entity is not Persistable, so saveAll would merge with a SELECT per row
+        transactionTemplate.executeWithoutResult(status -> {
+            // Blocks other nodes' snapshots until this one commits, so their delete sees these rows
+            jdbcTemplate.execute("LOCK TABLE trending_score IN EXCLUSIVE MODE");
+            jdbcTemplate.update("DELETE FROM trending_score");
+            jdbcTemplate.batchUpdate(INSERT, scores, scores.size(), (ps, score) -> {
+                ps.setString(1, score.getScope());
+                ps.setLong(2, score.getTrackId());
+                ps.setDouble(3, score.getScore());
+                ps.setTimestamp(4, Timestamp.from(score.getTakenAt()));
+            });
+        });
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        int restored = 0;
+        for (TrendingScore score : trendingScoreRepository.findAll()) {
+            DecayingTopK sketch = TrendingScore.ALL.equals(score.getScope()) ? all : category(score.getScope());
+            if (sketch == null) continue;
+            // Scores were decayed as of takenAt; the sketch decays them further from there
+            sketch.add(score.getTrackId(), score.getScore(), score.getTakenAt().toEpochMilli());
+            restored++;
+        }
+        log.info("Restored {} trending scores", restored);
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            log.warn("Trending snapshot on shutdown failed", e);
+        }
+    }
+
+    private DecayingTopK sketch(MusicCategory category) {
+        return category == null ? all : byCategory.get(category);
+    }
+
+    private DecayingTopK category(String scope) {
+        try {
+            return byCategory.get(MusicCategory.valueOf(scope));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void collect(String scope, DecayingTopK sketch, long now, Instant takenAt, List<TrendingScore> scores) {
+        for (DecayingTopK.Entry entry : sketch.top(sketch.size(), now)) {
+            scores.add(new TrendingScore(scope, entry.trackId(), entry.score(), takenAt));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.MusicStream.storage;
+
+import com.example.MusicStream.entity.AudioBlob;
+import com.example.MusicStream.repository.AudioBlobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Content-addressed, reference-counted store for track audio. A blob row is pinned
+ * before its file is published and locked before its file is removed, so an upload
+ * racing with the sweeper can never end up pointing at a deleted file.
+ * <p>
+ * Uploads are staged first, outside any transaction, since receiving the body takes as long
+ * as the client does. {@link #store} then runs in the caller's short transaction, and the
+ * caller discards the staged file once that transaction has finished either way.
+ */
+@Component
+@RequiredArgsConstructor
+public class AudioBlobStore {
+
+    private final AudioStager audioStager;
+    private final TrackStorage trackStorage;
+    private final AudioBlobRepository audioBlobRepository;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+
+    @Transactional
+    public StoredAudio store(StagedAudio staged) throws IOException {
+        audioBlobRepository.acquire(staged.name(), staged.checksum(), staged.size());
+        trackStorage.put(staged.name(), staged.temp());
+        Counter.builder("track.upload.bytes")
+                .description("Audio bytes received and stored")
+                .baseUnit("bytes")
+                .register(meterRegistry)
+                .increment(staged.size());
+        return new StoredAudio(staged.name(), staged.size(), staged.checksum());
+    }
+
+    public StagedAudio stage(InputStream content, String extension) throws IOException {
+        Observation observation = Observation.createNotStarted("track.storage", observationRegistry)
+                .contextualName("storage stage")
+                .lowCardinalityKeyValue("operation", "stage")
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            StagedAudio staged = audioStager.stage(content, extension);
+            observation.highCardinalityKeyValue("bytes", Long.toString(staged.size()));
+            return staged;
+        } catch (IOException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    public void discard(StagedAudio staged) {
+        try {
+            audioStager.discard(staged);
+        } catch (IOException ignored) {
+            // Left for the stager's stale temp purge
+        }
+    }
+
+    @Transactional
+    public void release(String name) {
+        audioBlobRepository.release(name, Instant.now());
+    }
+
+    @Transactional
+    public boolean reclaim(String name) throws IOException {
+        Optional<AudioBlob> blob = audioBlobRepository.findForUpdate(name);
+        if (blob.isEmpty() || blob.get().getRefCount() > 0) {
+            return false;
+        }
+        trackStorage.delete(name);
+        audioBlobRepository.delete(blob.get());
+        return true;
+    }
+}
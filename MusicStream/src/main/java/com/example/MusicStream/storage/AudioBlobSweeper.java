@@ -0,0 +1,80 @@
+package com.example.MusicStream.storage;
+
+import com.example.MusicStream.repository.AudioBlobRepository;
+import com.example.MusicStream.repository.TrackRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Reclaims released blobs, abandoned staging files and stored objects that nothing
+ * refers to (files replaced before blobs were tracked, media derived from audio that is
+ * gone). Everything gets
+ * a grace period so in-flight uploads are never touched.
+ */
+@Slf4j
+@Component
+public class AudioBlobSweeper {
+
+    private final AudioBlobStore audioBlobStore;
+    private final AudioStager audioStager;
+    private final TrackStorage trackStorage;
+    private final AudioBlobRepository audioBlobRepository;
+    private final TrackRepository trackRepository;
+    private final Duration gracePeriod;
+
+    public AudioBlobSweeper(AudioBlobStore audioBlobStore,
+                            AudioStager audioStager,
+                            TrackStorage trackStorage,
+                            AudioBlobRepository audioBlobRepository,
+                            TrackRepository trackRepository,
+                            @Value("${file.sweeper.grace-period:PT1H}") Duration gracePeriod) {
+        this.audioBlobStore = audioBlobStore;
+        this.audioStager = audioStager;
+        this.trackStorage = trackStorage;
+        this.audioBlobRepository = audioBlobRepository;
+        this.trackRepository = trackRepository;
+        this.gracePeriod = gracePeriod;
+    }
+
+    @Scheduled(fixedDelayString = "${file.sweeper.interval:PT1H}", initialDelayString = "${file.sweeper.initial-delay:PT5M}")
+    public void sweep() {
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        int reclaimed = 0;
+        int orphans = 0;
+        try {
+            for (String name : audioBlobRepository.findReleasedBefore(cutoff)) {
+                if (audioBlobStore.reclaim(name)) reclaimed++;
+            }
+            orphans += audioStager.purgeStale(cutoff);
+            for (StoredObject object : trackStorage.list()) {
+                if (object.lastModified().isAfter(cutoff)) continue;
+                if (isOrphan(object.key())) {
+                    trackStorage.delete(object.key());
+                    orphans++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Audio blob sweep failed", e);
+        }
+        if (reclaimed > 0 || orphans > 0) {
+            log.info("Audio blob sweep reclaimed {} blobs and {} orphaned files", reclaimed, orphans);
+        }
+    }
+
+    private boolean isOrphan(String name) {
+        Optional<String> owner = DerivedKeys.owner(name);
+        if (owner.isPresent()) {
+            return !audioBlobRepository.existsByChecksum(owner.get())
+                    && !trackRepository.existsByFileChecksum(owner.get())
+                    && !trackRepository.existsByCoverChecksum(owner.get());
+        }
+        return !audioBlobRepository.existsById(name) && !trackRepository.existsByFileUrlEndingWith("/" + name);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.MusicStream.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.stream.Stream;
+
+/**
+ * Spools uploaded audio to a local temp file before it is handed to {@link TrackStorage}.
+ * Content is read into pooled fixed-size arrays and hashed and counted on the way, so the
+ * blob key is known without a second pass. The stream fills the array directly and the digest
+ * reads it in place; the only other copy is the JDK's into its native buffer on each write.
+ * With the local backend the staging directory defaults to the upload directory, which lets
+ * publishing be an atomic rename.
+ */
+@Component
+public class AudioStager {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int POOLED_BUFFERS = 32;
+    private static final String TEMP_PREFIX = ".upload-";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path stagingDir;
+    private final long maxFileSize;
+    private final BlockingQueue<byte[]> buffers = new ArrayBlockingQueue<>(POOLED_BUFFERS);
+
+    public AudioStager(@Value("${file.staging-dir:${file.upload-dir:uploads/music}}") String stagingDir,
+                       @Value("${spring.servlet.multipart.max-file-size:50MB}") DataSize maxFileSize) {
+        this.stagingDir = Paths.get(stagingDir).toAbsolutePath().normalize();
+        this.maxFileSize = maxFileSize.toBytes();
+    }
+
+    public StagedAudio stage(InputStream content, String extension) throws IOException {
+        if (!Files.exists(stagingDir)) Files.createDirectories(stagingDir);
+
+        Path temp = stagingDir.resolve(TEMP_PREFIX + UUID.randomUUID() + TEMP_SUFFIX);
+        MessageDigest digest = sha256();
+        byte[] buffer = acquireBuffer();
+        long size = 0;
+        boolean staged = false;
+        try (FileChannel target = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                size += read;
+                if (size > maxFileSize) {
+                    throw new MaxUploadSizeExceededException(maxFileSize);
+                }
+                digest.update(buffer, 0, read);
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining()) {
+                    target.write(chunk);
+                }
+            }
+            target.force(true);
+            staged = true;
+        } finally {
+            releaseBuffer(buffer);
+            if (!staged) Files.deleteIfExists(temp);
+        }
+
+        String checksum = HexFormat.of().formatHex(digest.digest());
+        return new StagedAudio(temp, checksum + extension.toLowerCase(Locale.ROOT), size, checksum);
+    }
+
+    public void discard(StagedAudio staged) throws IOException {
+        Files.deleteIfExists(staged.temp());
+    }
+
+    public int purgeStale(Instant cutoff) throws IOException {
+        if (!Files.exists(stagingDir)) return 0;
+        List<Path> stale;
+        try (Stream<Path> files = Files.list(stagingDir)) {
+            stale = files.filter(path -> isTemp(path) && lastModified(path).isBefore(cutoff)).toList();
+        }
+        for (Path path : stale) {
+            Files.deleteIfExists(path);
+        }
+        return stale.size();
+    }
+
+    private static boolean isTemp(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(TEMP_PREFIX) && name.endsWith(TEMP_SUFFIX) && Files.isRegularFile(path);
+    }
+
+    private static Instant lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant();
+        } catch (IOException e) {
+            return Instant.MAX;
+        }
+    }
+
+    private byte[] acquireBuffer() {
+        byte[] buffer = buffers.poll();
+        return buffer != null ? buffer : new byte[BUFFER_SIZE];
+    }
+
+    private void releaseBuffer(byte[] buffer) {
+        buffers.offer(buffer);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.MusicStream.storage;
+
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Naming for objects derived from uploaded content (audio renditions, waveforms, cover
+ * sizes). They live next to the audio under {@code <sha256>~<suffix>}, so they are shared by
+ * every upload with the same content and become orphans once no blob or track refers to that
+ * checksum.
+ */
+public final class DerivedKeys {
+
+    public static final String WAVEFORM = "waveform.bin";
+    public static final String COVER = "cover-";
+
+    private static final Pattern DERIVED = Pattern.compile("^[0-9a-f]{64}~.+");
+
+    private DerivedKeys() {
+    }
+
+    public static String key(String checksum, String suffix) {
+        return checksum + "~" + suffix;
+    }
+
+    public static Optional<String> owner(String key) {
+        return DERIVED.matcher(key).matches() ? Optional.of(key.substring(0, 64)) : Optional.empty();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.MusicStream.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Stores blobs as plain files in one directory. Files are published with an atomic
+ * rename and exposed through {@link #localPath} so they can be streamed with sendfile
+ * or {@link FileChannel#transferTo}.
+ */
+public class LocalTrackStorage implements TrackStorage {
+
+    private final Path root;
+
+    public LocalTrackStorage(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void put(String key, Path source) throws IOException {
+        Path target = resolve(key).orElseThrow(() -> new IllegalArgumentException("Invalid storage key: " + key));
+        Files.createDirectories(root);
+        if (Files.exists(target)) {
+            // Same content is already stored under this key
+            Files.deleteIfExists(source);
+            return;
+        }
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Staged on another file system: copy next to the target first, then rename
+            Path temp = root.resolve("." + UUID.randomUUID() + ".tmp");
+            try {
+                Files.copy(source, temp);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                Files.deleteIfExists(source);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String key) throws IOException {
+        Optional<Path> path = localPath(key);
+        if (path.isEmpty()) return Optional.empty();
+        try {
+            return Optional.of(describe(key, Files.readAttributes(path.get(), BasicFileAttributes.class)));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public InputStream getRange(String key, long start, long length) throws IOException {
+        Path path = localPath(key).orElseThrow(() -> new NoSuchFileException(key));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        channel.position(start);
+        return new BoundedInputStream(Channels.newInputStream(channel), length);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Optional<Path> path = resolve(key);
+        if (path.isPresent()) Files.deleteIfExists(path.get());
+    }
+
+    @Override
+    public List<StoredObject> list() throws IOException {
+        if (!Files.exists(root)) return List.of();
+        List<StoredObject> objects = new ArrayList<>();
+        try (Stream<Path> files = Files.list(root)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                String key = path.getFileName().toString();
+                if (key.startsWith(".")) continue;
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                if (attributes.isRegularFile()) objects.add(describe(key, attributes));
+            }
+        }
+        return objects;
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        return resolve(key).filter(Files::isRegularFile);
+    }
+
+    private Optional<Path> resolve(String key) {
+        if (key == null || key.isEmpty() || key.startsWith(".")) return Optional.empty();
+        Path path = root.resolve(key).normalize();
+        if (!path.getParent().equals(root)) return Optional.empty();
+        return Optional.of(path);
+    }
+
+    private static StoredObject describe(String key, BasicFileAttributes attributes) {
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String etag = "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(size) + "\"";
+        return new StoredObject(key, size, attributes.lastModifiedTime().toInstant(), etag);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.MusicStream.storage;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Wraps a backend so each storage call shows up as a {@code track.storage} observation,
+ * tagged with the operation and carrying the key and byte count. A ranged read stays open
+ * until the caller closes the stream, so its span covers the actual transfer.
+ */
+public class ObservedTrackStorage implements TrackStorage {
+
+    static final String NAME = "track.storage";
+
+    private final TrackStorage delegate;
+    private final ObservationRegistry observationRegistry;
+
+    public ObservedTrackStorage(TrackStorage delegate, ObservationRegistry observationRegistry) {
+        this.delegate = delegate;
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public void put(String key, Path source) throws IOException {
+        long bytes = Files.size(source);
+        observation("put", key)
+                .highCardinalityKeyValue("bytes", Long.toString(bytes))
+                .observeChecked(() -> delegate.put(key, source));
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String key) throws IOException {
+        return observation("stat", key).observeChecked(() -> delegate.stat(key));
+    }
+
+    @Override
+    public InputStream getRange(String key, long start, long length) throws IOException {
+        Observation observation = observation("get", key).start();
+        try {
+            return new ObservedInputStream(delegate.getRange(key, start, length), observation);
+        } catch (IOException | RuntimeException e) {
+            observation.error(e);
+            observation.stop();
+            throw e;
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        observation("delete", key).observeChecked(() -> delegate.delete(key));
+    }
+
+    @Override
+    public List<StoredObject> list() throws IOException {
+        return Observation.createNotStarted(NAME, observationRegistry)
+                .contextualName("storage list")
+                .lowCardinalityKeyValue("operation", "list")
+                .observeChecked(() -> delegate.list());
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        return delegate.localPath(key);
+    }
+
+    @Override
+    public Optional<URI> presignedUrl(String key) {
+        return delegate.presignedUrl(key);
+    }
+
+    private Observation observation(String operation, String key) {
+        return Observation.createNotStarted(NAME, observationRegistry)
+                .contextualName("storage " + operation)
+                .lowCardinalityKeyValue("operation", operation)
+                .highCardinalityKeyValue("key", key);
+    }
+
+    private static final class ObservedInputStream extends FilterInputStream {
+
+        private final Observation observation;
+        private long bytes;
+        private boolean closed;
+
+        ObservedInputStream(InputStream in, Observation observation) {
+            super(in);
+            this.observation = observation;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) bytes++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) bytes += n;
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) return;
+            closed = true;
+            try {
+                super.close();
+            } finally {
+                observation.highCardinalityKeyValue("bytes", Long.toString(bytes));
+                observation.stop();
+            }
+        }
+    }
+}
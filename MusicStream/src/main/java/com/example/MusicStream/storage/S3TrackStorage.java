@@ -0,0 +1,203 @@
+package com.example.MusicStream.storage;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Stores blobs in an S3-compatible bucket (AWS S3, MinIO, ...). Large files are sent as
+ * multipart uploads with parts read straight from the staged file in parallel, and reads
+ * are offloaded to the bucket through pre-signed URLs so the API nodes share no filesystem
+ * and serve no audio bytes themselves.
+ */
+public class S3TrackStorage implements TrackStorage {
+
+    private final S3Client s3Client;
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final String prefix;
+    private final long partSize;
+    private final Duration presignTtl;
+    private final ExecutorService uploadExecutor;
+
+    public S3TrackStorage(S3Client s3Client, S3Presigner presigner, String bucket, String prefix,
+                          long partSize, Duration presignTtl, ExecutorService uploadExecutor) {
+        this.s3Client = s3Client;
+        this.presigner = presigner;
+        this.bucket = bucket;
+        this.prefix = prefix == null ? "" : prefix;
+        this.partSize = partSize;
+        this.presignTtl = presignTtl;
+        this.uploadExecutor = uploadExecutor;
+    }
+
+    @Override
+    public void put(String key, Path source) throws IOException {
+        try {
+            if (stat(key).isPresent()) {
+                // Same content is already stored under this key
+                return;
+            }
+            long size = Files.size(source);
+            if (size <= partSize) {
+                s3Client.putObject(PutObjectRequest.builder().bucket(bucket).key(objectKey(key)).build(),
+                        RequestBody.fromFile(source));
+            } else {
+                putMultipart(objectKey(key), source, size);
+            }
+        } catch (S3Exception e) {
+            throw new IOException("Could not store " + key + " in bucket " + bucket, e);
+        } finally {
+            Files.deleteIfExists(source);
+        }
+    }
+
+    private void putMultipart(String objectKey, Path source, long size) throws IOException {
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucket).key(objectKey).build()).uploadId();
+        try {
+            List<CompletableFuture<CompletedPart>> parts = new ArrayList<>();
+            int partNumber = 1;
+            for (long offset = 0; offset < size; offset += partSize, partNumber++) {
+                int number = partNumber;
+                long position = offset;
+                long length = Math.min(partSize, size - offset);
+                parts.add(CompletableFuture.supplyAsync(
+                        () -> uploadPart(objectKey, uploadId, number, source, position, length), uploadExecutor));
+            }
+            List<CompletedPart> completed = parts.stream().map(CompletableFuture::join).toList();
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket).key(objectKey).uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completed).build())
+                    .build());
+        } catch (CompletionException | S3Exception e) {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucket).key(objectKey).uploadId(uploadId).build());
+            Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+            throw new IOException("Multipart upload of " + objectKey + " failed", cause);
+        }
+    }
+
+    private CompletedPart uploadPart(String objectKey, String uploadId, int partNumber,
+                                     Path source, long position, long length) {
+        RequestBody body = RequestBody.fromContentProvider(() -> openRegion(source, position, length),
+                length, "application/octet-stream");
+        String etag = s3Client.uploadPart(UploadPartRequest.builder()
+                .bucket(bucket).key(objectKey).uploadId(uploadId)
+                .partNumber(partNumber).contentLength(length)
+                .build(), body).eTag();
+        return CompletedPart.builder().partNumber(partNumber).eTag(etag).build();
+    }
+
+    private static InputStream openRegion(Path source, long position, long length) {
+        try {
+            FileChannel channel = FileChannel.open(source, StandardOpenOption.READ);
+            channel.position(position);
+            return new BoundedInputStream(Channels.newInputStream(channel), length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String key) throws IOException {
+        try {
+            HeadObjectResponse head = s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(bucket).key(objectKey(key)).build());
+            return Optional.of(new StoredObject(key, head.contentLength(), head.lastModified(), head.eTag()));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) return Optional.empty();
+            throw new IOException("Could not stat " + key + " in bucket " + bucket, e);
+        }
+    }
+
+    @Override
+    public InputStream getRange(String key, long start, long length) throws IOException {
+        try {
+            return s3Client.getObject(GetObjectRequest.builder()
+                    .bucket(bucket).key(objectKey(key))
+                    .range("bytes=" + start + "-" + (start + length - 1))
+                    .build());
+        } catch (S3Exception e) {
+            throw new IOException("Could not read " + key + " from bucket " + bucket, e);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        try {
+            s3Client.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(objectKey(key)).build());
+        } catch (S3Exception e) {
+            throw new IOException("Could not delete " + key + " from bucket " + bucket, e);
+        }
+    }
+
+    @Override
+    public List<StoredObject> list() throws IOException {
+        try {
+            List<StoredObject> objects = new ArrayList<>();
+            for (S3Object object : s3Client.listObjectsV2Paginator(ListObjectsV2Request.builder()
+                    .bucket(bucket).prefix(prefix).build()).contents()) {
+                objects.add(new StoredObject(object.key().substring(prefix.length()),
+                        object.size(), object.lastModified(), object.eTag()));
+            }
+            return objects;
+        } catch (S3Exception e) {
+            throw new IOException("Could not list bucket " + bucket, e);
+        }
+    }
+
+    @Override
+    public Optional<URI> presignedUrl(String key) {
+        if (presignTtl == null || presignTtl.isZero()) return Optional.empty();
+        GetObjectPresignRequest request = GetObjectPresignRequest.builder()
+                .signatureDuration(presignTtl)
+                .getObjectRequest(GetObjectRequest.builder().bucket(bucket).key(objectKey(key)).build())
+                .build();
+        try {
+            return Optional.of(presigner.presignGetObject(request).url().toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String objectKey(String key) {
+        return prefix + key;
+    }
+}
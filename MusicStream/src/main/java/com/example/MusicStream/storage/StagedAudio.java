@@ -0,0 +1,6 @@
+package com.example.MusicStream.storage;
+
+import java.nio.file.Path;
+
+public record StagedAudio(Path temp, String name, long size, String checksum) {
+}
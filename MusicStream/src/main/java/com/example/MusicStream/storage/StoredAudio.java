@@ -0,0 +1,4 @@
+package com.example.MusicStream.storage;
+
+public record StoredAudio(String name, long size, String checksum) {
+}
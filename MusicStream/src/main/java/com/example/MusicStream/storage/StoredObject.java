@@ -0,0 +1,6 @@
+package com.example.MusicStream.storage;
+
+import java.time.Instant;
+
+public record StoredObject(String key, long size, Instant lastModified, String etag) {
+}
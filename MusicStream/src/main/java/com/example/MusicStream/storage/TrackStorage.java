@@ -0,0 +1,44 @@
+package com.example.MusicStream.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Backend holding track audio, addressed by blob key. Implementations only deal with
+ * immutable objects: a key is written once by {@link #put} and never rewritten.
+ */
+public interface TrackStorage {
+
+    /**
+     * Stores the file under the given key. The source is consumed: implementations
+     * may move it into place instead of copying it.
+     */
+    void put(String key, Path source) throws IOException;
+
+    Optional<StoredObject> stat(String key) throws IOException;
+
+    InputStream getRange(String key, long start, long length) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    List<StoredObject> list() throws IOException;
+
+    /**
+     * Local file backing the key, for backends that can serve it with zero-copy transfer.
+     */
+    default Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+
+    /**
+     * Time-limited URL clients can read the object from directly, honouring their own
+     * {@code Range} headers, for backends that offload byte serving.
+     */
+    default Optional<URI> presignedUrl(String key) {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,266 @@
+package com.example.MusicStream.streaming;
+
+import com.example.MusicStream.storage.StoredObject;
+import com.example.MusicStream.storage.TrackStorage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Serves stored audio with HTTP range support (RFC 9110). Backends that offload byte
+ * serving get a redirect to a pre-signed URL. Local files are handed to the container's
+ * sendfile support when available, so the kernel copies them to the socket. Otherwise
+ * {@link FileChannel#transferTo} writes them to a channel wrapping the servlet output stream,
+ * which copies each chunk through a small heap buffer; only that chunk is held in memory.
+ */
+@Component
+public class AudioStreamer {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String CACHE_CONTROL = "public, max-age=86400";
+
+    private final TrackStorage trackStorage;
+    private final ObservationRegistry observationRegistry;
+    private final Counter sendfileBytes;
+    private final Counter channelBytes;
+    private final Counter storageBytes;
+    private final Counter redirects;
+
+    public AudioStreamer(TrackStorage trackStorage, MeterRegistry meterRegistry,
+                         ObservationRegistry observationRegistry) {
+        this.trackStorage = trackStorage;
+        this.observationRegistry = observationRegistry;
+        this.sendfileBytes = bytesServed(meterRegistry, "sendfile");
+        this.channelBytes = bytesServed(meterRegistry, "channel");
+        this.storageBytes = bytesServed(meterRegistry, "storage");
+        this.redirects = Counter.builder("track.stream.redirects")
+                .description("Requests sent to a pre-signed storage URL instead of being served")
+                .register(meterRegistry);
+    }
+
+    private static Counter bytesServed(MeterRegistry meterRegistry, String delivery) {
+        return Counter.builder("track.stream.bytes")
+                .description("Stored file bytes written to clients")
+                .baseUnit("bytes")
+                .tag("delivery", delivery)
+                .register(meterRegistry);
+    }
+
+    public void stream(String key, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // Playlists are served here so their relative segment URIs resolve back to this endpoint
+        Optional<URI> presigned = key.endsWith(".m3u8") ? Optional.empty() : trackStorage.presignedUrl(key);
+        if (presigned.isPresent()) {
+            response.setStatus(HttpServletResponse.SC_TEMPORARY_REDIRECT);
+            response.setHeader(HttpHeaders.LOCATION, presigned.get().toString());
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+            redirects.increment();
+            return;
+        }
+
+        StoredObject object = trackStorage.stat(key)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found: " + key));
+        long length = object.size();
+        long lastModified = object.lastModified().toEpochMilli();
+        String etag = object.etag();
+
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        Optional<Path> file = trackStorage.localPath(key);
+        MediaType contentType = MediaTypeFactory.getMediaType(key)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+
+        List<HttpRange> ranges;
+        try {
+            ranges = rangesToServe(request, etag, lastModified);
+        } catch (IllegalArgumentException e) {
+            rejectRange(response, length);
+            return;
+        }
+
+        if (ranges.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(contentType.toString());
+            response.setContentLengthLong(length);
+            if (!isHead(request)) {
+                send(key, file, 0, length, request, response);
+            }
+            return;
+        }
+
+        long[][] regions = new long[ranges.size()][];
+        for (int i = 0; i < ranges.size(); i++) {
+            HttpRange range = ranges.get(i);
+            long start;
+            long end;
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                rejectRange(response, length);
+                return;
+            }
+            if (start >= length) {
+                rejectRange(response, length);
+                return;
+            }
+            regions[i] = new long[]{start, end};
+        }
+        // Overlapping ranges could otherwise ask for many times the file (RFC 9110, section 14.2)
+        if (regions.length > 1 && Arrays.stream(regions).mapToLong(region -> region[1] - region[0] + 1).sum() > length) {
+            rejectRange(response, length);
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        if (regions.length == 1) {
+            long start = regions[0][0];
+            long count = regions[0][1] - start + 1;
+            response.setContentType(contentType.toString());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, contentRange(start, regions[0][1], length));
+            response.setContentLengthLong(count);
+            if (!isHead(request)) {
+                send(key, file, start, count, request, response);
+            }
+            return;
+        }
+
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        if (isHead(request)) {
+            return;
+        }
+        OutputStream out = response.getOutputStream();
+        WritableByteChannel target = Channels.newChannel(out);
+        try (FileChannel channel = file.isPresent() ? FileChannel.open(file.get(), StandardOpenOption.READ) : null) {
+            for (long[] region : regions) {
+                String partHeader = "\r\n--" + boundary + "\r\n"
+                        + HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+                        + HttpHeaders.CONTENT_RANGE + ": " + contentRange(region[0], region[1], length) + "\r\n\r\n";
+                out.write(partHeader.getBytes(StandardCharsets.US_ASCII));
+                long count = region[1] - region[0] + 1;
+                if (channel != null) {
+                    transfer(channel, region[0], count, target);
+                    channelBytes.increment(count);
+                } else {
+                    try (InputStream in = trackStorage.getRange(key, region[0], count)) {
+                        storageBytes.increment(in.transferTo(out));
+                    }
+                }
+            }
+        }
+        out.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    private List<HttpRange> rangesToServe(HttpServletRequest request, String etag, long lastModified) {
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range == null || !ifRangeMatches(request, etag, lastModified)) {
+            return List.of();
+        }
+        return HttpRange.parseRanges(range);
+    }
+
+    private boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // If-Range requires a strong comparison, so weak validators never match
+            return ifRange.equals(etag);
+        }
+        try {
+            long since = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return since >= 0 && lastModified / 1000 <= since / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private void send(String key, Optional<Path> file, long start, long count, HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        if (file.isEmpty()) {
+            try (InputStream in = trackStorage.getRange(key, start, count)) {
+                storageBytes.increment(in.transferTo(response.getOutputStream()));
+            }
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.get().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            sendfileBytes.increment(count);
+            return;
+        }
+        Observation.createNotStarted("track.storage", observationRegistry)
+                .contextualName("storage transfer")
+                .lowCardinalityKeyValue("operation", "transfer")
+                .highCardinalityKeyValue("key", key)
+                .highCardinalityKeyValue("bytes", Long.toString(count))
+                .observeChecked(() -> {
+                    try (FileChannel channel = FileChannel.open(file.get(), StandardOpenOption.READ)) {
+                        transfer(channel, start, count, Channels.newChannel(response.getOutputStream()));
+                    }
+                });
+        channelBytes.increment(count);
+    }
+
+    private void transfer(FileChannel channel, long position, long count, WritableByteChannel target) throws IOException {
+        while (count > 0) {
+            long written = channel.transferTo(position, count, target);
+            if (written <= 0) {
+                break;
+            }
+            position += written;
+            count -= written;
+        }
+    }
+
+    private void rejectRange(HttpServletResponse response, long length) {
+        response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+        response.setContentLengthLong(0);
+    }
+
+    private static String contentRange(long start, long end, long length) {
+        return "bytes " + start + "-" + end + "/" + length;
+    }
+
+    private static boolean isHead(HttpServletRequest request) {
+        return "HEAD".equals(request.getMethod());
+    }
+}
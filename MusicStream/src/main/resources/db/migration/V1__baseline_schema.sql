@@ -0,0 +1,117 @@
+-- Tables and sequences as the JPA mappings define them. Databases that were managed by
+-- ddl-auto=update before migrations existed are baselined at version 0 and run this too, so
+-- every statement is idempotent: the original schema only has the track table, with an
+-- identity id and none of the later columns.
+
+CREATE SEQUENCE IF NOT EXISTS track_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS artist_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS album_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS playlist_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS playlist_entry_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS artist (
+    id       bigint       NOT NULL,
+    name     varchar(255) NOT NULL,
+    name_key varchar(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_artist_name_key UNIQUE (name_key)
+);
+
+CREATE TABLE IF NOT EXISTS album (
+    id        bigint       NOT NULL,
+    artist_id bigint       NOT NULL,
+    title     varchar(255) NOT NULL,
+    title_key varchar(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_album_artist_title_key UNIQUE (artist_id, title_key),
+    CONSTRAINT fk_album_artist FOREIGN KEY (artist_id) REFERENCES artist
+);
+
+CREATE TABLE IF NOT EXISTS track (
+    id               bigint       NOT NULL,
+    title            varchar(255) NOT NULL,
+    artist           varchar(255) NOT NULL,
+    artist_id        bigint,
+    album_id         bigint,
+    album_title      varchar(255),
+    description      varchar(500),
+    category         varchar(255) NOT NULL
+        CHECK (category IN ('pop', 'rock', 'rap', 'jazz', 'classical', 'electronic', 'reggae', 'other')),
+    duration         bigint,
+    file_size        bigint,
+    file_url         varchar(255),
+    cover_image      varchar(255),
+    file_checksum    varchar(64),
+    version          bigint,
+    updated_at       timestamp(6) with time zone,
+    hls_status       varchar(255) CHECK (hls_status IN ('pending', 'processing', 'ready', 'failed')),
+    hls_playlist_url varchar(255),
+    metadata_status  varchar(255) CHECK (metadata_status IN ('pending', 'processing', 'ready', 'failed')),
+    bitrate          integer,
+    sample_rate      integer,
+    codec            varchar(50),
+    cover_checksum   varchar(64),
+    play_count       bigint DEFAULT 0 NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Ids now come from track_seq; V3 moves it past the ids the identity column handed out
+ALTER TABLE track ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE track
+    ADD COLUMN IF NOT EXISTS artist_id        bigint,
+    ADD COLUMN IF NOT EXISTS album_id         bigint,
+    ADD COLUMN IF NOT EXISTS album_title      varchar(255),
+    ADD COLUMN IF NOT EXISTS file_checksum    varchar(64),
+    ADD COLUMN IF NOT EXISTS version          bigint,
+    ADD COLUMN IF NOT EXISTS updated_at       timestamp(6) with time zone,
+    ADD COLUMN IF NOT EXISTS hls_status       varchar(255)
+        CHECK (hls_status IN ('pending', 'processing', 'ready', 'failed')),
+    ADD COLUMN IF NOT EXISTS hls_playlist_url varchar(255),
+    ADD COLUMN IF NOT EXISTS metadata_status  varchar(255)
+        CHECK (metadata_status IN ('pending', 'processing', 'ready', 'failed')),
+    ADD COLUMN IF NOT EXISTS bitrate          integer,
+    ADD COLUMN IF NOT EXISTS sample_rate      integer,
+    ADD COLUMN IF NOT EXISTS codec            varchar(50),
+    ADD COLUMN IF NOT EXISTS cover_checksum   varchar(64),
+    ADD COLUMN IF NOT EXISTS play_count       bigint DEFAULT 0 NOT NULL;
+ALTER TABLE track
+    DROP CONSTRAINT IF EXISTS fk_track_artist,
+    ADD CONSTRAINT fk_track_artist FOREIGN KEY (artist_id) REFERENCES artist,
+    DROP CONSTRAINT IF EXISTS fk_track_album,
+    ADD CONSTRAINT fk_track_album FOREIGN KEY (album_id) REFERENCES album;
+
+CREATE TABLE IF NOT EXISTS audio_blob (
+    name        varchar(80) NOT NULL,
+    checksum    varchar(64) NOT NULL,
+    size        bigint      NOT NULL,
+    ref_count   bigint      NOT NULL,
+    released_at timestamp(6) with time zone,
+    PRIMARY KEY (name)
+);
+
+CREATE TABLE IF NOT EXISTS trending_score (
+    scope    varchar(20)                 NOT NULL,
+    track_id bigint                      NOT NULL,
+    score    float(53)                   NOT NULL,
+    taken_at timestamp(6) with time zone NOT NULL,
+    PRIMARY KEY (track_id, scope)
+);
+
+CREATE TABLE IF NOT EXISTS playlist (
+    id          bigint       NOT NULL,
+    name        varchar(255) NOT NULL,
+    description varchar(500),
+    version     bigint,
+    updated_at  timestamp(6) with time zone,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS playlist_entry (
+    id          bigint NOT NULL,
+    playlist_id bigint NOT NULL,
+    track_id    bigint NOT NULL,
+    position    bigint NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_playlist_entry_playlist FOREIGN KEY (playlist_id) REFERENCES playlist ON DELETE CASCADE,
+    CONSTRAINT fk_playlist_entry_track FOREIGN KEY (track_id) REFERENCES track ON DELETE CASCADE
+);
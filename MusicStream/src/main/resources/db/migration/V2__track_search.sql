@@ -0,0 +1,13 @@
+-- Full-text and fuzzy search over tracks
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE track ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(artist, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_track_search_vector ON track USING gin (search_vector);
+CREATE INDEX IF NOT EXISTS idx_track_title_trgm ON track USING gin (lower(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_track_artist_trgm ON track USING gin (lower(artist) gin_trgm_ops);
@@ -0,0 +1,26 @@
+-- Brings rows written under ddl-auto=update in line with the mappings. A no-op on databases
+-- created by V1.
+
+-- Optimistic-lock version and modification time; rows created before these columns existed
+-- start at version 0 so they are not mistaken for new entities on save
+UPDATE track SET version = 0 WHERE version IS NULL;
+UPDATE track SET updated_at = now() WHERE updated_at IS NULL;
+ALTER TABLE track ALTER COLUMN version SET DEFAULT 0;
+
+UPDATE track SET play_count = 0 WHERE play_count IS NULL;
+ALTER TABLE track ALTER COLUMN play_count SET DEFAULT 0;
+
+-- Link tracks saved before artist_id existed to an artist of the same normalised name
+-- (trimmed, whitespace collapsed, lower-cased, as Artist.key does)
+INSERT INTO artist (id, name, name_key)
+SELECT nextval('artist_seq'), min(regexp_replace(trim(artist), '\s+', ' ', 'g')),
+       lower(regexp_replace(trim(artist), '\s+', ' ', 'g'))
+FROM track WHERE artist_id IS NULL AND trim(artist) <> ''
+GROUP BY lower(regexp_replace(trim(artist), '\s+', ' ', 'g'))
+ON CONFLICT (name_key) DO NOTHING;
+UPDATE track t SET artist_id = a.id, artist = a.name FROM artist a
+WHERE t.artist_id IS NULL AND a.name_key = lower(regexp_replace(trim(t.artist), '\s+', ' ', 'g'));
+
+-- Track ids come from a pooled sequence (allocationSize 50) so inserts can be JDBC-batched.
+-- Move it past ids handed out by the former identity column; it never moves backwards.
+SELECT setval('track_seq', GREATEST((SELECT last_value FROM track_seq), (SELECT coalesce(max(id), 0) + 50 FROM track)));
@@ -0,0 +1,89 @@
+package com.example.MusicStream.config;
+
+import com.example.MusicStream.repository.AlbumRepository;
+import com.example.MusicStream.repository.ArtistRepository;
+import com.example.MusicStream.repository.AudioBlobRepository;
+import com.example.MusicStream.repository.IndexedBy;
+import com.example.MusicStream.repository.PlaylistEntryRepository;
+import com.example.MusicStream.repository.PlaylistRepository;
+import com.example.MusicStream.repository.TrackRepository;
+import com.example.MusicStream.repository.TrendingScoreRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeclaredIndexVerifierTest {
+
+    private static final Pattern INDEX = Pattern.compile("(?:INDEX IF NOT EXISTS|CONSTRAINT) (\\w+)");
+    private static final Pattern TABLE = Pattern.compile("CREATE TABLE (?:IF NOT EXISTS )?(\\w+)");
+
+    interface SampleRepository {
+
+        @IndexedBy("idx_sample_name")
+        Object findByName(String name);
+
+        @IndexedBy({"idx_sample_name", "idx_sample_missing"})
+        Object findByNameAndAge(String name, int age);
+
+        @IndexedBy({})
+        Object findAllUnordered();
+
+        Object findByAge(int age);
+    }
+
+    @Test
+    void check_ShouldReportUnannotatedMethodsAndMissingIndexes() {
+        Map<String, List<Method>> queryMethods = Map.of("SampleRepository",
+                Arrays.asList(SampleRepository.class.getDeclaredMethods()));
+
+        List<String> problems = DeclaredIndexVerifier.check(queryMethods, Set.of("idx_sample_name"));
+
+        assertEquals(List.of(
+                "SampleRepository.findByAge has no @IndexedBy",
+                "SampleRepository.findByNameAndAge needs missing index idx_sample_missing"), problems);
+    }
+
+    @Test
+    void repositories_ShouldOnlyNameIndexesCreatedByMigrations() throws IOException {
+        Map<String, List<Method>> queryMethods = new TreeMap<>();
+        for (Class<?> repository : List.of(AlbumRepository.class, ArtistRepository.class, AudioBlobRepository.class,
+                PlaylistEntryRepository.class, PlaylistRepository.class, TrackRepository.class,
+                TrendingScoreRepository.class)) {
+            queryMethods.put(repository.getSimpleName(), Arrays.stream(repository.getDeclaredMethods())
+                    .filter(method -> !method.isDefault() && !method.isSynthetic())
+                    .toList());
+        }
+
+        assertEquals(List.of(), DeclaredIndexVerifier.check(queryMethods, migratedIndexes()));
+    }
+
+    private static Set<String> migratedIndexes() throws IOException {
+        Set<String> indexes = new HashSet<>();
+        for (Resource script : new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/*.sql")) {
+            String sql = script.getContentAsString(StandardCharsets.UTF_8);
+            Matcher index = INDEX.matcher(sql);
+            while (index.find()) {
+                indexes.add(index.group(1));
+            }
+            Matcher table = TABLE.matcher(sql);
+            while (table.find()) {
+                indexes.add(table.group(1) + "_pkey");
+            }
+        }
+        return indexes;
+    }
+}
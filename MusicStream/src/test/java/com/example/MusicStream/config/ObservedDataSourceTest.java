@@ -0,0 +1,94 @@
+package com.example.MusicStream.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ObservedDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private final List<Observation.Context> stopped = new CopyOnWriteArrayList<>();
+    private ObservedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onStop(Observation.Context context) {
+                stopped.add(context);
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+        dataSource = new ObservedDataSource(target, registry);
+    }
+
+    @Test
+    void executeUpdate_ShouldRecordStatementWithSql() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("update track set title = ?")).thenReturn(statement);
+        when(statement.executeUpdate()).thenReturn(3);
+
+        Connection observed = dataSource.getConnection();
+        int updated = observed.prepareStatement("update track set title = ?").executeUpdate();
+
+        assertEquals(3, updated);
+        assertEquals(2, stopped.size());
+        assertEquals(ObservedDataSource.CONNECTION, stopped.get(0).getName());
+        Observation.Context query = stopped.get(1);
+        assertEquals(ObservedDataSource.QUERY, query.getName());
+        assertEquals("executeUpdate", query.getLowCardinalityKeyValue("operation").getValue());
+        assertEquals("update track set title = ?", query.getHighCardinalityKeyValue("db.statement").getValue());
+    }
+
+    @Test
+    void execute_ShouldRecordError_WhenStatementFails() throws SQLException {
+        SQLException failure = new SQLException("deadlock");
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("delete from track")).thenReturn(statement);
+        when(statement.execute()).thenThrow(failure);
+
+        PreparedStatement observed = dataSource.getConnection().prepareStatement("delete from track");
+
+        assertSame(failure, assertThrows(SQLException.class, observed::execute));
+        assertSame(failure, stopped.get(1).getError());
+    }
+
+    @Test
+    void close_ShouldReachTargetWithoutObservation() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+
+        dataSource.getConnection().close();
+
+        verify(connection).close();
+        assertEquals(1, stopped.size());
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.MusicStream.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica1;
+
+    @Mock
+    private DataSource replica2;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replica1Connection;
+
+    @Mock
+    private Connection replica2Connection;
+
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica1.getConnection()).thenReturn(replica1Connection);
+        when(replica2.getConnection()).thenReturn(replica2Connection);
+        dataSource = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void getConnection_ShouldUsePrimary_OutsideReadOnlyTransactions() throws SQLException {
+        assertSame(primaryConnection, target());
+        verify(replica1, never()).getConnection();
+    }
+
+    @Test
+    void getConnection_ShouldRotateReplicas_InReadOnlyTransactions() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(List.of(replica1Connection, replica2Connection, replica1Connection),
+                List.of(target(), target(), target()));
+    }
+
+    @Test
+    void getConnection_ShouldSkipFailedReplica_UntilHealthCheckPasses() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replica1.getConnection()).thenThrow(new SQLException("down"));
+
+        assertEquals(List.of(replica2Connection, replica2Connection), List.of(target(), target()));
+        assertEquals(1, dataSource.healthyReplicas());
+
+        reset(replica1);
+        when(replica1.getConnection()).thenReturn(replica1Connection);
+        when(replica1Connection.isValid(anyInt())).thenReturn(true);
+        when(replica2Connection.isValid(anyInt())).thenReturn(true);
+        dataSource.checkHealth();
+
+        assertEquals(2, dataSource.healthyReplicas());
+    }
+
+    @Test
+    void getConnection_ShouldFallBackToPrimary_WhenNoReplicaIsHealthy() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replica1.getConnection()).thenThrow(new SQLException("down"));
+        when(replica2.getConnection()).thenThrow(new SQLException("down"));
+
+        assertSame(primaryConnection, target());
+        assertEquals(0, dataSource.healthyReplicas());
+        assertEquals(1, dataSource.fallbacks());
+    }
+
+    @Test
+    void usePrimary_ShouldBypassReplicas_InReadOnlyTransactions() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, ReplicaRoutingDataSource.usePrimary(this::target));
+        assertSame(replica1Connection, target());
+    }
+
+    private Connection target() {
+        try {
+            return ((ConnectionProxy) dataSource.getConnection()).getTargetConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.MusicStream.config;
+
+import com.example.MusicStream.entity.Album;
+import com.example.MusicStream.entity.Artist;
+import com.example.MusicStream.entity.AudioBlob;
+import com.example.MusicStream.entity.Playlist;
+import com.example.MusicStream.entity.PlaylistEntry;
+import com.example.MusicStream.entity.Track;
+import com.example.MusicStream.entity.TrendingScore;
+import com.example.MusicStream.repository.AlbumRepository;
+import com.example.MusicStream.repository.ArtistRepository;
+import com.example.MusicStream.repository.AudioBlobRepository;
+import com.example.MusicStream.repository.PlaylistEntryRepository;
+import com.example.MusicStream.repository.PlaylistRepository;
+import com.example.MusicStream.repository.TrackRepository;
+import com.example.MusicStream.repository.TrendingScoreRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Flyway migrations on a real PostgreSQL, both on an empty database and on the schema
+ * Hibernate created under ddl-auto=update before migrations existed, and checks the result
+ * validates against the entity mappings and carries every index the repositories name.
+ */
+class SchemaMigrationTest {
+
+    // Hibernate's DDL for the original Track mapping
+    private static final String ORIGINAL_SCHEMA = """
+            create table track (
+                id bigint generated by default as identity,
+                artist varchar(255) not null,
+                category varchar(255) not null
+                    check (category in ('pop','rock','rap','jazz','classical','electronic','reggae','other')),
+                cover_image varchar(255),
+                description varchar(500),
+                duration bigint,
+                file_size bigint,
+                file_url varchar(255),
+                title varchar(255) not null,
+                primary key (id)
+            )""";
+
+    private static EmbeddedPostgres postgres;
+
+    @BeforeAll
+    static void start() throws IOException {
+        postgres = EmbeddedPostgres.start();
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void migrate_ShouldCreateSchema_OnEmptyDatabase() {
+        DataSource dataSource = database("empty");
+
+        migrate(dataSource);
+
+        assertMatchesMappings(dataSource);
+    }
+
+    @Test
+    void migrate_ShouldUpgradeOriginalSchema() {
+        DataSource dataSource = database("original");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute(ORIGINAL_SCHEMA);
+        jdbc.update("insert into track (title, artist, category, duration) values ('One', ' Daft  Punk', 'pop', 60)");
+        jdbc.update("insert into track (title, artist, category, duration) values ('Two', 'daft punk', 'pop', 60)");
+
+        migrate(dataSource);
+
+        assertMatchesMappings(dataSource);
+        assertEquals(List.of(0L, 0L), jdbc.queryForList("select version from track order by id", Long.class));
+        assertEquals(1, jdbc.queryForObject("select count(distinct artist_id) from track", Integer.class));
+        assertEquals(List.of("Daft Punk", "Daft Punk"),
+                jdbc.queryForList("select artist from track order by id", String.class));
+        assertTrue(jdbc.queryForObject("select nextval('track_seq')", Long.class) > 2);
+        // Ids are no longer generated by the column itself
+        assertEquals("NO", jdbc.queryForObject(
+                "select is_identity from information_schema.columns where table_name = 'track' and column_name = 'id'",
+                String.class));
+    }
+
+    private static DataSource database(String name) {
+        new JdbcTemplate(postgres.getPostgresDatabase()).execute("create database " + name);
+        return postgres.getDatabase("postgres", name);
+    }
+
+    private static void migrate(DataSource dataSource) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+    }
+
+    private static void assertMatchesMappings(DataSource dataSource) {
+        Map<String, List<Method>> queryMethods = new TreeMap<>();
+        for (Class<?> repository : List.of(AlbumRepository.class, ArtistRepository.class, AudioBlobRepository.class,
+                PlaylistEntryRepository.class, PlaylistRepository.class, TrackRepository.class,
+                TrendingScoreRepository.class)) {
+            queryMethods.put(repository.getSimpleName(), Arrays.stream(repository.getDeclaredMethods())
+                    .filter(method -> !method.isDefault() && !method.isSynthetic())
+                    .toList());
+        }
+        List<String> indexes = new JdbcTemplate(dataSource).queryForList(
+                "select indexname from pg_indexes where schemaname = current_schema()", String.class);
+        assertEquals(List.of(), DeclaredIndexVerifier.check(queryMethods, new HashSet<>(indexes)));
+
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.connection.datasource", dataSource)
+                .applySetting("hibernate.hbm2ddl.auto", "validate")
+                .applySetting("hibernate.physical_naming_strategy", new CamelCaseToUnderscoresNamingStrategy())
+                .applySetting("hibernate.implicit_naming_strategy", new SpringImplicitNamingStrategy())
+                .build();
+        try (SessionFactory ignored = new MetadataSources(registry)
+                .addAnnotatedClasses(Artist.class, Album.class, Track.class, AudioBlob.class, TrendingScore.class,
+                        Playlist.class, PlaylistEntry.class)
+                .buildMetadata()
+                .buildSessionFactory()) {
+            // Building the session factory runs the schema validation
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+}
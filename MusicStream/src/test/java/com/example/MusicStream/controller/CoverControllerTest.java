@@ -0,0 +1,120 @@
+package com.example.MusicStream.controller;
+
+import com.example.MusicStream.media.CoverFormat;
+import com.example.MusicStream.service.CoverService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CoverControllerTest {
+
+    private static final String CHECKSUM = "c".repeat(64);
+
+    @Mock
+    private CoverService coverService;
+
+    @InjectMocks
+    private CoverController coverController;
+
+    @Test
+    void cover_ShouldServeWebp_WhenAcceptedAndAvailable() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/covers/" + CHECKSUM + "/256");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(coverService.formats()).thenReturn(List.of(CoverFormat.webp, CoverFormat.jpg));
+        when(coverService.read(CHECKSUM, 256, CoverFormat.webp)).thenReturn(Optional.of(new byte[]{1}));
+
+        ResponseEntity<byte[]> result = coverController.cover(CHECKSUM, 256, "image/webp,*/*",
+            new ServletWebRequest(request, response), response);
+
+        assertEquals(CoverFormat.webp.mediaType(), result.getHeaders().getContentType());
+        assertArrayEquals(new byte[]{1}, result.getBody());
+        assertEquals(HttpHeaders.ACCEPT, response.getHeader(HttpHeaders.VARY));
+        assertTrue(response.getHeader(HttpHeaders.CACHE_CONTROL).contains("immutable"));
+    }
+
+    @Test
+    void cover_ShouldFallBackToJpeg_WhenWebpNotAccepted() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/covers/" + CHECKSUM + "/256");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(coverService.formats()).thenReturn(List.of(CoverFormat.webp, CoverFormat.jpg));
+        when(coverService.read(CHECKSUM, 256, CoverFormat.jpg)).thenReturn(Optional.of(new byte[]{2}));
+
+        ResponseEntity<byte[]> result = coverController.cover(CHECKSUM, 256, "*/*",
+            new ServletWebRequest(request, response), response);
+
+        assertEquals(CoverFormat.jpg.mediaType(), result.getHeaders().getContentType());
+        verify(coverService, never()).read(CHECKSUM, 256, CoverFormat.webp);
+    }
+
+    @Test
+    void cover_ShouldOnlyServeNamedFormats_WhenAcceptHasImageWildcard() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/covers/" + CHECKSUM + "/256");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(coverService.formats()).thenReturn(List.of(CoverFormat.avif, CoverFormat.webp, CoverFormat.jpg));
+        when(coverService.read(CHECKSUM, 256, CoverFormat.webp)).thenReturn(Optional.of(new byte[]{1}));
+
+        ResponseEntity<byte[]> result = coverController.cover(CHECKSUM, 256, "image/webp,image/*;q=0.8,*/*;q=0.5",
+            new ServletWebRequest(request, response), response);
+
+        assertEquals(CoverFormat.webp.mediaType(), result.getHeaders().getContentType());
+        verify(coverService, never()).read(CHECKSUM, 256, CoverFormat.avif);
+    }
+
+    @Test
+    void cover_ShouldSkipFormat_WhenRefusedWithZeroQuality() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/covers/" + CHECKSUM + "/256");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(coverService.formats()).thenReturn(List.of(CoverFormat.webp, CoverFormat.jpg));
+        when(coverService.read(CHECKSUM, 256, CoverFormat.jpg)).thenReturn(Optional.of(new byte[]{2}));
+
+        ResponseEntity<byte[]> result = coverController.cover(CHECKSUM, 256, "image/webp;q=0,image/*",
+            new ServletWebRequest(request, response), response);
+
+        assertEquals(CoverFormat.jpg.mediaType(), result.getHeaders().getContentType());
+        verify(coverService, never()).read(CHECKSUM, 256, CoverFormat.webp);
+    }
+
+    @Test
+    void cover_ShouldReturnNotModified_WhenEtagMatches() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/covers/" + CHECKSUM + "/256");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + CHECKSUM + "-256.jpg\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(coverService.formats()).thenReturn(List.of(CoverFormat.jpg));
+        when(coverService.read(CHECKSUM, 256, CoverFormat.jpg)).thenReturn(Optional.of(new byte[]{2}));
+
+        ResponseEntity<byte[]> result = coverController.cover(CHECKSUM, 256, null,
+            new ServletWebRequest(request, response), response);
+
+        assertNull(result);
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        assertNotNull(response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void cover_ShouldReturn404_WhenNoVariantExists() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/covers/" + CHECKSUM + "/99");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(coverService.formats()).thenReturn(List.of(CoverFormat.jpg));
+        when(coverService.read(CHECKSUM, 99, CoverFormat.jpg)).thenReturn(Optional.empty());
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> coverController.cover(
+            CHECKSUM, 99, null, new ServletWebRequest(request, response), response));
+        assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+    }
+}
@@ -1,23 +1,43 @@
 package com.example.MusicStream.controller;
 
+import com.example.MusicStream.dto.CursorPage;
+import com.example.MusicStream.dto.ImportResult;
+import com.example.MusicStream.dto.ImportSummary;
 import com.example.MusicStream.dto.TrackDto;
+import com.example.MusicStream.dto.TrackSummary;
+import com.example.MusicStream.entity.ImportFormat;
 import com.example.MusicStream.entity.MusicCategory;
+import com.example.MusicStream.entity.TrackSort;
+import com.example.MusicStream.service.CoverService;
+import com.example.MusicStream.service.PlayCountService;
+import com.example.MusicStream.service.TrackImportService;
 import com.example.MusicStream.service.TrackService;
+import com.example.MusicStream.service.TrendingService;
+import com.example.MusicStream.streaming.AudioStreamer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -29,6 +49,24 @@ class TrackControllerTest {
     @Mock
     private TrackService trackService;
 
+    @Mock
+    private CoverService coverService;
+
+    @Mock
+    private PlayCountService playCountService;
+
+    @Mock
+    private TrendingService trendingService;
+
+    @Mock
+    private TrackImportService trackImportService;
+
+    @Mock
+    private AudioStreamer audioStreamer;
+
+    @Spy
+    private JsonMapper jsonMapper = JsonMapper.builder().build();
+
     @InjectMocks
     private TrackController trackController;
 
@@ -66,6 +104,7 @@ class TrackControllerTest {
         TrackDto result = trackController.create(
             "Test Song",
             "Test Artist",
+            "Test Album",
             "pop",
             "Test Description",
             "180",
@@ -92,6 +131,7 @@ class TrackControllerTest {
         TrackDto result = trackController.create(
             "Test Song",
             "Test Artist",
+            null,
             "pop",
             null,
             null,
@@ -103,6 +143,27 @@ class TrackControllerTest {
         verify(trackService).createWithFile(any(TrackDto.class), eq(testFile));
     }
 
+    @Test
+    void importTracks_ShouldWriteRowResultsAndSummaryAsNdjson_WhenCsvPosted() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/tracks/import");
+        request.setContentType("text/csv; charset=UTF-8");
+        request.setContent("title,artist,category\nA,B,pop\n".getBytes());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(trackImportService.importTracks(any(), eq(ImportFormat.csv), any())).thenAnswer(invocation -> {
+            Consumer<ImportResult> results = invocation.getArgument(2);
+            results.accept(new ImportResult(2, 7L, null));
+            return new ImportSummary(1, 1, 0);
+        });
+
+        trackController.importTracks(request, response);
+
+        assertEquals("application/x-ndjson", response.getContentType());
+        String[] lines = response.getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"id\":7"));
+        assertTrue(lines[1].contains("\"imported\":1"));
+    }
+
     @Test
     void search_ShouldReturnPageOfTracks_WhenCalledWithParameters() {
         when(trackService.search(anyString(), any(MusicCategory.class), any(Pageable.class)))
@@ -112,7 +173,8 @@ class TrackControllerTest {
             "Test Song",
             MusicCategory.pop,
             0,
-            8
+            8,
+            getRequest()
         );
 
         assertNotNull(result);
@@ -122,6 +184,29 @@ class TrackControllerTest {
         verify(trackService).search(eq("Test Song"), eq(MusicCategory.pop), any(Pageable.class));
     }
 
+    @Test
+    void search_ShouldClampPageSize_BeforeItReachesTheCacheKey() {
+        when(trackService.search(isNull(), isNull(), any(Pageable.class))).thenReturn(testTrackPage);
+        when(trackService.searchSummaries(isNull(), isNull(), any(Pageable.class))).thenReturn(Page.empty());
+
+        trackController.search(null, null, 0, 100_000, getRequest());
+        trackController.searchSummaries(null, null, 0, -5, getRequest());
+
+        verify(trackService).search(null, null, PageRequest.of(0, 100));
+        verify(trackService).searchSummaries(null, null, PageRequest.of(0, 1));
+    }
+
+    @Test
+    void scroll_ShouldDelegateWithClampedSize_WhenCursorRequested() {
+        CursorPage<TrackDto> page = new CursorPage<>(List.of(testTrackDto), 1, true, "abc");
+        when(trackService.scroll(null, MusicCategory.pop, TrackSort.title, "", 100)).thenReturn(page);
+
+        CursorPage<TrackDto> result = trackController.scroll(null, MusicCategory.pop, TrackSort.title, "", 500, getRequest());
+
+        assertSame(page, result);
+        verify(trackService).scroll(null, MusicCategory.pop, TrackSort.title, "", 100);
+    }
+
     @Test
     void search_ShouldReturnPageOfTracks_WhenCalledWithNullParameters() {
         when(trackService.search(isNull(), isNull(), any(Pageable.class)))
@@ -131,7 +216,8 @@ class TrackControllerTest {
             null,
             null,
             0,
-            8
+            8,
+            getRequest()
         );
 
         assertNotNull(result);
@@ -144,7 +230,7 @@ class TrackControllerTest {
     void show_ShouldReturnTrackDto_WhenValidId() {
         when(trackService.show(1L)).thenReturn(testTrackDto);
 
-        TrackDto result = trackController.show(1L);
+        TrackDto result = trackController.show(1L, getRequest());
 
         assertNotNull(result);
         assertEquals(1L, result.getId());
@@ -153,6 +239,111 @@ class TrackControllerTest {
         verify(trackService).show(1L);
     }
 
+    @Test
+    void show_ShouldSetStrongEtagAndLastModified_WhenTrackLoaded() {
+        testTrackDto.setVersion(3L);
+        testTrackDto.setUpdatedAt(Instant.parse("2025-01-01T10:00:00Z"));
+        when(trackService.show(1L)).thenReturn(testTrackDto);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        trackController.show(1L, new ServletWebRequest(new MockHttpServletRequest("GET", "/api/tracks/1"), response));
+
+        assertEquals("\"1.3\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(Instant.parse("2025-01-01T10:00:00Z").toEpochMilli(), response.getDateHeader(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    void show_ShouldAnswerNotModifiedFromVersionLookup_WhenEtagMatches() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tracks/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1.3\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(trackService.getVersion(1L)).thenReturn(3L);
+
+        TrackDto result = trackController.show(1L, new ServletWebRequest(request, response));
+
+        assertNull(result);
+        assertEquals(304, response.getStatus());
+        verify(trackService, never()).show(anyLong());
+    }
+
+    @Test
+    void show_ShouldReturnBody_WhenEtagIsStale() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tracks/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1.2\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        testTrackDto.setVersion(3L);
+        when(trackService.getVersion(1L)).thenReturn(3L);
+        when(trackService.show(1L)).thenReturn(testTrackDto);
+
+        TrackDto result = trackController.show(1L, new ServletWebRequest(request, response));
+
+        assertSame(testTrackDto, result);
+        assertEquals(200, response.getStatus());
+        assertEquals("\"1.3\"", response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void search_ShouldAnswerNotModified_WhenWeakEtagMatches() {
+        when(trackService.search(isNull(), isNull(), any(Pageable.class))).thenReturn(testTrackPage);
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        trackController.search(null, null, 0, 8, new ServletWebRequest(new MockHttpServletRequest("GET", "/api/tracks"), first));
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertTrue(etag.startsWith("W/"));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tracks");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        Page<TrackDto> result = trackController.search(null, null, 0, 8, new ServletWebRequest(request, response));
+
+        assertNull(result);
+        assertEquals(304, response.getStatus());
+    }
+
+    @Test
+    void waveform_ShouldServeWaveformObject_WhenValidId() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tracks/1/waveform");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(trackService.getWaveformKey(1L)).thenReturn("abc~waveform.bin");
+
+        trackController.waveform(1L, request, response);
+
+        verify(audioStreamer).stream("abc~waveform.bin", request, response);
+    }
+
+    @Test
+    void uploadCover_ShouldDelegateToCoverService() {
+        MultipartFile file = new MockMultipartFile("file", "cover.png", "image/png", new byte[]{1, 2, 3});
+        when(coverService.uploadCover(1L, file)).thenReturn(testTrackDto);
+
+        TrackDto result = trackController.uploadCover(1L, file);
+
+        assertEquals(testTrackDto, result);
+        verify(coverService).uploadCover(1L, file);
+    }
+
+    @Test
+    void stream_ShouldStreamResolvedAudioFile_WhenValidId() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tracks/1/stream");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        testTrackDto.setFileUrl("http://localhost/uploads/music/test-song.mp3");
+        when(trackService.show(1L)).thenReturn(testTrackDto);
+
+        trackController.stream(1L, request, response);
+
+        verify(trackService).show(1L);
+        verify(audioStreamer).stream("test-song.mp3", request, response);
+    }
+
+    @Test
+    void stream_ShouldThrowRuntimeException_WhenTrackHasNoFile() {
+        when(trackService.show(1L)).thenReturn(testTrackDto);
+
+        assertThrows(RuntimeException.class, () ->
+            trackController.stream(1L, new MockHttpServletRequest(), new MockHttpServletResponse()));
+        verifyNoInteractions(audioStreamer);
+    }
+
     @Test
     void update_ShouldReturnUpdatedTrackDto_WhenValidInput() {
         TrackDto updatedTrack = new TrackDto();
@@ -171,6 +362,7 @@ class TrackControllerTest {
             1L,
             "Updated Song",
             "Updated Artist",
+            "Test Album",
             "rock",
             "Updated Description",
             "200",
@@ -198,6 +390,7 @@ class TrackControllerTest {
             1L,
             "Test Song",
             "Test Artist",
+            null,
             "pop",
             null,
             null,
@@ -218,6 +411,7 @@ class TrackControllerTest {
             1L,
             "Test Song",
             "Test Artist",
+            null,
             "pop",
             "Test Description",
             "180",
@@ -249,6 +443,7 @@ class TrackControllerTest {
         TrackDto result = trackController.create(
             "Test Song",
             "Test Artist",
+            null,
             "pop",
             null,
             "300",
@@ -265,8 +460,62 @@ class TrackControllerTest {
         when(trackService.search(isNull(), isNull(), any(Pageable.class)))
             .thenReturn(testTrackPage);
 
-        trackController.search(null, null, 0, 8);
+        trackController.search(null, null, 0, 8, getRequest());
 
         verify(trackService).search(isNull(), isNull(), any(Pageable.class));
     }
+
+    private static ServletWebRequest getRequest() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/api/tracks"), new MockHttpServletResponse());
+    }
+
+    @Test
+    void mostPlayed_ShouldClampLimit() {
+        when(playCountService.mostPlayed(MusicCategory.pop, 100)).thenReturn(List.of(testTrackDto));
+
+        List<TrackDto> result = trackController.mostPlayed(MusicCategory.pop, 5000);
+
+        assertEquals(List.of(testTrackDto), result);
+    }
+
+    @Test
+    void recordPlay_ShouldDelegateToPlayCountService() {
+        trackController.recordPlay(1L);
+
+        verify(playCountService).recordPlay(1L);
+    }
+
+    @Test
+    void trending_ShouldDefaultToAllCategories() {
+        when(trendingService.trending(null, 20)).thenReturn(List.of(testTrackDto));
+
+        assertEquals(List.of(testTrackDto), trackController.trending(null, 20));
+    }
+
+    @Test
+    void searchSummaries_ShouldReturnProjectionWithOwnEtag() {
+        TrackSummary summary = mock(TrackSummary.class);
+        when(summary.getId()).thenReturn(1L);
+        when(summary.getVersion()).thenReturn(0L);
+        Page<TrackSummary> page = new PageImpl<>(List.of(summary), PageRequest.of(0, 8), 1);
+        when(trackService.searchSummaries(isNull(), eq(MusicCategory.pop), any(Pageable.class))).thenReturn(page);
+        when(trackService.search(isNull(), eq(MusicCategory.pop), any(Pageable.class))).thenReturn(testTrackPage);
+        ServletWebRequest summaryRequest = getRequest();
+        ServletWebRequest fullRequest = getRequest();
+
+        Page<TrackSummary> result = trackController.searchSummaries(null, MusicCategory.pop, 0, 8, summaryRequest);
+        trackController.search(null, MusicCategory.pop, 0, 8, fullRequest);
+
+        assertSame(page, result);
+        assertNotEquals(fullRequest.getResponse().getHeader(HttpHeaders.ETAG),
+            summaryRequest.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void scrollSummaries_ShouldDelegateWithClampedSize() {
+        CursorPage<TrackSummary> page = new CursorPage<>(List.of(), 0, false, null);
+        when(trackService.scrollSummaries(null, null, TrackSort.id, "", 100)).thenReturn(page);
+
+        assertSame(page, trackController.scrollSummaries(null, null, TrackSort.id, "", 500, getRequest()));
+    }
 }
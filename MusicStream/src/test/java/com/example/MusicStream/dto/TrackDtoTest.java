@@ -1,8 +1,11 @@
 package com.example.MusicStream.dto;
 
 import com.example.MusicStream.entity.MusicCategory;
+import com.example.MusicStream.entity.ProcessingStatus;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class TrackDtoTest {
@@ -13,23 +16,47 @@ class TrackDtoTest {
             1L,
             "Test Song",
             "Test Artist",
+            5L,
+            "Test Album",
+            6L,
             "Test Description",
             180L,
             MusicCategory.pop,
             1024000L,
             "http://example.com/file.mp3",
-            "http://example.com/cover.jpg"
+            "http://example.com/cover.jpg",
+            2L,
+            Instant.parse("2025-01-01T10:00:00Z"),
+            ProcessingStatus.ready,
+            "http://example.com/track~hls.m3u8",
+            ProcessingStatus.ready,
+            320,
+            44100,
+            "MPEG-1 Layer 3",
+            42L
         );
 
         assertEquals(1L, trackDto.getId());
         assertEquals("Test Song", trackDto.getTitle());
         assertEquals("Test Artist", trackDto.getArtist());
+        assertEquals(5L, trackDto.getArtistId());
+        assertEquals("Test Album", trackDto.getAlbum());
+        assertEquals(6L, trackDto.getAlbumId());
         assertEquals("Test Description", trackDto.getDescription());
         assertEquals(180L, trackDto.getDuration());
         assertEquals(MusicCategory.pop, trackDto.getCategory());
         assertEquals(1024000L, trackDto.getFileSize());
         assertEquals("http://example.com/file.mp3", trackDto.getFileUrl());
         assertEquals("http://example.com/cover.jpg", trackDto.getCoverImage());
+        assertEquals(2L, trackDto.getVersion());
+        assertEquals(Instant.parse("2025-01-01T10:00:00Z"), trackDto.getUpdatedAt());
+        assertEquals(ProcessingStatus.ready, trackDto.getHlsStatus());
+        assertEquals("http://example.com/track~hls.m3u8", trackDto.getHlsPlaylistUrl());
+        assertEquals(ProcessingStatus.ready, trackDto.getMetadataStatus());
+        assertEquals(320, trackDto.getBitrate());
+        assertEquals(44100, trackDto.getSampleRate());
+        assertEquals("MPEG-1 Layer 3", trackDto.getCodec());
+        assertEquals(42L, trackDto.getPlayCount());
     }
 
     @Test
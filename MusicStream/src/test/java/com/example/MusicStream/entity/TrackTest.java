@@ -2,33 +2,65 @@ package com.example.MusicStream.entity;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class TrackTest {
 
     @Test
     void track_ShouldCreateWithAllArgsConstructor() {
+        Artist artist = new Artist(5L, "Test Artist", "test artist");
+        Album album = new Album(6L, artist, "Test Album", "test album");
         Track track = new Track(
             1L,
             "Test Song",
             "Test Artist",
+            artist,
+            album,
+            "Test Album",
             "Test Description",
             MusicCategory.pop,
             180L,
             1024000L,
             "http://example.com/file.mp3",
-            "http://example.com/cover.jpg"
+            "http://example.com/cover.jpg",
+            "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08",
+            2L,
+            Instant.parse("2025-01-01T10:00:00Z"),
+            ProcessingStatus.ready,
+            "http://example.com/track~hls.m3u8",
+            ProcessingStatus.ready,
+            320,
+            44100,
+            "MPEG-1 Layer 3",
+            "a".repeat(64),
+            42L
         );
 
         assertEquals(1L, track.getId());
         assertEquals("Test Song", track.getTitle());
         assertEquals("Test Artist", track.getArtist());
+        assertEquals(artist, track.getArtistRef());
+        assertEquals(album, track.getAlbumRef());
+        assertEquals("Test Album", track.getAlbumTitle());
         assertEquals("Test Description", track.getDescription());
         assertEquals(MusicCategory.pop, track.getCategory());
         assertEquals(180L, track.getDuration());
         assertEquals(1024000L, track.getFileSize());
         assertEquals("http://example.com/file.mp3", track.getFileUrl());
         assertEquals("http://example.com/cover.jpg", track.getCoverImage());
+        assertEquals("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08", track.getFileChecksum());
+        assertEquals(2L, track.getVersion());
+        assertEquals(Instant.parse("2025-01-01T10:00:00Z"), track.getUpdatedAt());
+        assertEquals(ProcessingStatus.ready, track.getHlsStatus());
+        assertEquals("http://example.com/track~hls.m3u8", track.getHlsPlaylistUrl());
+        assertEquals(ProcessingStatus.ready, track.getMetadataStatus());
+        assertEquals(320, track.getBitrate());
+        assertEquals(44100, track.getSampleRate());
+        assertEquals("MPEG-1 Layer 3", track.getCodec());
+        assertEquals("a".repeat(64), track.getCoverChecksum());
+        assertEquals(42L, track.getPlayCount());
     }
 
     @Test
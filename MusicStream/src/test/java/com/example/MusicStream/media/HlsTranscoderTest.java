@@ -0,0 +1,136 @@
+package com.example.MusicStream.media;
+
+import com.example.MusicStream.entity.ProcessingStatus;
+import com.example.MusicStream.service.TrackAudioChangedEvent;
+import com.example.MusicStream.service.TrackService;
+import com.example.MusicStream.storage.LocalTrackStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HlsTranscoderTest {
+
+    private static final String CHECKSUM = "c".repeat(64);
+    private static final String AUDIO_KEY = CHECKSUM + ".mp3";
+
+    @Mock
+    private TrackService trackService;
+
+    @Mock
+    private Ffmpeg ffmpeg;
+
+    @TempDir
+    Path tempDir;
+
+    private LocalTrackStorage storage;
+    private MediaWorkspace workspace;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        storage = new LocalTrackStorage(tempDir.resolve("music"));
+        workspace = new MediaWorkspace(storage, tempDir.resolve("work").toString());
+        Path audio = Files.writeString(tempDir.resolve("audio"), "audio");
+        storage.put(AUDIO_KEY, audio);
+    }
+
+    private HlsTranscoder transcoder(TaskExecutor executor) {
+        return new HlsTranscoder(trackService, storage, workspace, ffmpeg, executor, List.of("64k", "128k"), 6);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void ffmpegWritesRenditions() throws IOException {
+        doAnswer(invocation -> {
+            List<String> args = invocation.getArgument(1);
+            Path out = Path.of(args.get(args.size() - 1)).getParent();
+            for (String name : List.of("64k", "128k")) {
+                Files.writeString(out.resolve(CHECKSUM + "~hls-" + name + ".m3u8"), "#EXTM3U");
+                Files.writeString(out.resolve(CHECKSUM + "~hls-" + name + "-00000.ts"), "segment");
+            }
+            Files.writeString(out.resolve(CHECKSUM + "~hls.m3u8"), "#EXTM3U");
+            return null;
+        }).when(ffmpeg).run(any(Path.class), anyList());
+    }
+
+    @Test
+    void onAudioChanged_ShouldPublishRenditionsAndRecordReady() throws IOException {
+        ffmpegWritesRenditions();
+
+        transcoder(new SyncTaskExecutor()).onAudioChanged(new TrackAudioChangedEvent(1L, AUDIO_KEY, CHECKSUM));
+
+        InOrder order = inOrder(trackService);
+        order.verify(trackService).recordHls(1L, AUDIO_KEY, ProcessingStatus.pending, null);
+        order.verify(trackService).recordHls(1L, AUDIO_KEY, ProcessingStatus.processing, null);
+        order.verify(trackService).recordHls(1L, AUDIO_KEY, ProcessingStatus.ready, CHECKSUM + "~hls.m3u8");
+        assertTrue(storage.stat(CHECKSUM + "~hls.m3u8").isPresent());
+        assertTrue(storage.stat(CHECKSUM + "~hls-128k.m3u8").isPresent());
+        assertTrue(storage.stat(CHECKSUM + "~hls-64k-00000.ts").isPresent());
+        try (var jobs = Files.list(tempDir.resolve("work"))) {
+            assertEquals(0, jobs.count());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void transcode_ShouldPassOneAacStreamPerBitrate() throws IOException {
+        ffmpegWritesRenditions();
+
+        transcoder(new SyncTaskExecutor()).transcode(AUDIO_KEY, CHECKSUM);
+
+        verify(ffmpeg).run(any(Path.class), argThat(args -> {
+            List<String> list = (List<String>) args;
+            return list.contains("-b:a:1") && list.contains("128k")
+                && list.contains("a:0,name:64k a:1,name:128k")
+                && list.contains(CHECKSUM + "~hls.m3u8");
+        }));
+    }
+
+    @Test
+    void transcode_ShouldReuseRenditions_WhenSameContentWasPackaged() throws IOException {
+        storage.put(CHECKSUM + "~hls.m3u8", Files.writeString(tempDir.resolve("master"), "#EXTM3U"));
+
+        String master = transcoder(new SyncTaskExecutor()).transcode(AUDIO_KEY, CHECKSUM);
+
+        assertEquals(CHECKSUM + "~hls.m3u8", master);
+        verifyNoInteractions(ffmpeg);
+    }
+
+    @Test
+    void onAudioChanged_ShouldRecordFailed_WhenFfmpegFails() throws IOException {
+        doThrow(new IOException("ffmpeg exited with 1")).when(ffmpeg).run(any(Path.class), anyList());
+
+        transcoder(new SyncTaskExecutor()).onAudioChanged(new TrackAudioChangedEvent(1L, AUDIO_KEY, CHECKSUM));
+
+        verify(trackService).recordHls(1L, AUDIO_KEY, ProcessingStatus.failed, null);
+        verify(trackService, never()).recordHls(eq(1L), eq(AUDIO_KEY), eq(ProcessingStatus.ready), any());
+        assertTrue(storage.stat(CHECKSUM + "~hls.m3u8").isEmpty());
+    }
+
+    @Test
+    void onAudioChanged_ShouldRecordFailed_WhenQueueIsFull() {
+        TaskExecutor full = task -> {
+            throw new TaskRejectedException("full");
+        };
+
+        transcoder(full).onAudioChanged(new TrackAudioChangedEvent(1L, AUDIO_KEY, CHECKSUM));
+
+        verify(trackService).recordHls(1L, AUDIO_KEY, ProcessingStatus.failed, null);
+        verifyNoInteractions(ffmpeg);
+    }
+}
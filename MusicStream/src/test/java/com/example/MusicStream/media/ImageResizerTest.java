@@ -0,0 +1,71 @@
+package com.example.MusicStream.media;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageResizerTest {
+
+    private static byte[] png(int width, int height, int type) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, type);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    @Test
+    void fit_ShouldKeepAspectRatioWithinBox() throws IOException {
+        BufferedImage image = ImageResizer.decode(png(1000, 500, BufferedImage.TYPE_INT_RGB), 1_000_000);
+
+        BufferedImage resized = ImageResizer.fit(image, 256);
+
+        assertEquals(256, resized.getWidth());
+        assertEquals(128, resized.getHeight());
+    }
+
+    @Test
+    void fit_ShouldNotUpscaleSmallImages() throws IOException {
+        BufferedImage image = ImageResizer.decode(png(40, 30, BufferedImage.TYPE_INT_RGB), 1_000_000);
+
+        BufferedImage resized = ImageResizer.fit(image, 256);
+
+        assertEquals(40, resized.getWidth());
+        assertEquals(30, resized.getHeight());
+    }
+
+    @Test
+    void decode_ShouldRejectImagesOverPixelLimit() throws IOException {
+        byte[] data = png(200, 200, BufferedImage.TYPE_INT_RGB);
+
+        IOException e = assertThrows(IOException.class, () -> ImageResizer.decode(data, 10_000));
+        assertTrue(e.getMessage().contains("10000"));
+    }
+
+    @Test
+    void decode_ShouldRejectNonImages() {
+        assertThrows(IOException.class, () -> ImageResizer.decode("not an image".getBytes(), 10_000));
+    }
+
+    @Test
+    void encode_ShouldWriteJpegFromTransparentImage() throws IOException {
+        BufferedImage image = ImageResizer.decode(png(64, 64, BufferedImage.TYPE_INT_ARGB), 1_000_000);
+
+        byte[] jpeg = ImageResizer.encode(ImageResizer.fit(image, 32), "jpeg");
+
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(jpeg));
+        assertEquals(32, decoded.getWidth());
+        assertEquals(0xFFFFFFFF, decoded.getRGB(16, 16));
+    }
+
+    @Test
+    void canWrite_ShouldReportMissingWriters() {
+        assertTrue(ImageResizer.canWrite("jpeg"));
+        assertFalse(ImageResizer.canWrite("no-such-format"));
+    }
+}
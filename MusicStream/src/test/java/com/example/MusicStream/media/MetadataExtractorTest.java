@@ -0,0 +1,90 @@
+package com.example.MusicStream.media;
+
+import com.example.MusicStream.dto.AudioMetadata;
+import com.example.MusicStream.entity.ProcessingStatus;
+import com.example.MusicStream.service.TrackAudioChangedEvent;
+import com.example.MusicStream.service.TrackService;
+import com.example.MusicStream.storage.LocalTrackStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MetadataExtractorTest {
+
+    @Mock
+    private TrackService trackService;
+
+    @TempDir
+    Path tempDir;
+
+    private LocalTrackStorage storage;
+    private MetadataExtractor extractor;
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalTrackStorage(tempDir.resolve("music"));
+        extractor = new MetadataExtractor(trackService,
+            new MediaWorkspace(storage, tempDir.resolve("work").toString()), new SyncTaskExecutor());
+    }
+
+    // Two seconds of 16-bit mono PCM silence at 8 kHz
+    private static byte[] wav() {
+        int sampleRate = 8000;
+        int dataSize = sampleRate * 2 * 2;
+        ByteBuffer buffer = ByteBuffer.allocate(44 + dataSize).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put("RIFF".getBytes()).putInt(36 + dataSize).put("WAVE".getBytes());
+        buffer.put("fmt ".getBytes()).putInt(16).putShort((short) 1).putShort((short) 1)
+            .putInt(sampleRate).putInt(sampleRate * 2).putShort((short) 2).putShort((short) 16);
+        buffer.put("data".getBytes()).putInt(dataSize);
+        return buffer.array();
+    }
+
+    @Test
+    void extract_ShouldReadDurationAndStreamParameters_FromWavHeader() throws IOException {
+        storage.put("song.wav", Files.write(tempDir.resolve("upload"), wav()));
+
+        AudioMetadata metadata = extractor.extract("song.wav");
+
+        assertEquals(2L, metadata.getDuration());
+        assertEquals(8000, metadata.getSampleRate());
+        assertEquals(128, metadata.getBitrate());
+        assertNotNull(metadata.getCodec());
+    }
+
+    @Test
+    void onAudioChanged_ShouldRecordReadyMetadata() throws IOException {
+        storage.put("song.wav", Files.write(tempDir.resolve("upload"), wav()));
+
+        extractor.onAudioChanged(new TrackAudioChangedEvent(1L, "song.wav", "abc"));
+
+        ArgumentCaptor<AudioMetadata> metadata = ArgumentCaptor.forClass(AudioMetadata.class);
+        verify(trackService).recordMetadata(1L, "song.wav", ProcessingStatus.processing, null);
+        verify(trackService).recordMetadata(eq(1L), eq("song.wav"), eq(ProcessingStatus.ready), metadata.capture());
+        assertEquals(2L, metadata.getValue().getDuration());
+    }
+
+    @Test
+    void onAudioChanged_ShouldRecordFailed_WhenAudioIsUnreadable() throws IOException {
+        storage.put("broken.mp3", Files.writeString(tempDir.resolve("upload"), "not audio"));
+
+        extractor.onAudioChanged(new TrackAudioChangedEvent(1L, "broken.mp3", "abc"));
+
+        verify(trackService).recordMetadata(1L, "broken.mp3", ProcessingStatus.failed, null);
+    }
+}
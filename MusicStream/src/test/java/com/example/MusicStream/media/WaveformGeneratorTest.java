@@ -0,0 +1,98 @@
+package com.example.MusicStream.media;
+
+import com.example.MusicStream.service.TrackAudioChangedEvent;
+import com.example.MusicStream.storage.LocalTrackStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WaveformGeneratorTest {
+
+    private static final String CHECKSUM = "d".repeat(64);
+
+    @Mock
+    private Ffmpeg ffmpeg;
+
+    @TempDir
+    Path tempDir;
+
+    private LocalTrackStorage storage;
+    private WaveformGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalTrackStorage(tempDir.resolve("music"));
+        generator = new WaveformGenerator(storage, new MediaWorkspace(storage, tempDir.resolve("work").toString()),
+            ffmpeg, new SyncTaskExecutor(), 4);
+    }
+
+    private static byte[] pcm(short... samples) {
+        ByteBuffer buffer = ByteBuffer.allocate(samples.length * 2).order(ByteOrder.LITTLE_ENDIAN);
+        for (short sample : samples) buffer.putShort(sample);
+        return buffer.array();
+    }
+
+    @Test
+    void peaks_ShouldKeepLoudestSampleOfEachSlice() throws IOException {
+        Path pcm = Files.write(tempDir.resolve("a.pcm"),
+            pcm((short) 0, (short) 100, (short) -32768, (short) 5, (short) 16384, (short) 0, (short) 0, (short) -1));
+
+        byte[] peaks = WaveformGenerator.peaks(pcm, 4);
+
+        assertEquals(4, peaks.length);
+        assertEquals(1, peaks[0] & 0xff);
+        assertEquals(255, peaks[1] & 0xff);
+        assertEquals(128, peaks[2] & 0xff);
+        assertEquals(0, peaks[3] & 0xff);
+    }
+
+    @Test
+    void peaks_ShouldReturnOnePointPerSample_WhenTrackIsShorterThanResolution() throws IOException {
+        Path pcm = Files.write(tempDir.resolve("a.pcm"), pcm((short) 32767, (short) 0));
+
+        assertArrayEquals(new byte[]{(byte) 255, 0}, WaveformGenerator.peaks(pcm, 2000));
+        assertEquals(0, WaveformGenerator.peaks(Files.write(tempDir.resolve("empty.pcm"), new byte[0]), 2000).length);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onAudioChanged_ShouldStoreWaveformUnderChecksum() throws IOException {
+        storage.put(CHECKSUM + ".mp3", Files.writeString(tempDir.resolve("upload"), "audio"));
+        doAnswer(invocation -> {
+            List<String> args = invocation.getArgument(1);
+            Files.write(Path.of(args.get(args.size() - 1)), pcm((short) 32767, (short) 0, (short) 0, (short) 0));
+            return null;
+        }).when(ffmpeg).run(any(Path.class), anyList());
+
+        generator.onAudioChanged(new TrackAudioChangedEvent(1L, CHECKSUM + ".mp3", CHECKSUM));
+
+        assertEquals(4, storage.stat(CHECKSUM + "~waveform.bin").orElseThrow().size());
+        try (var in = storage.getRange(CHECKSUM + "~waveform.bin", 0, 4)) {
+            assertArrayEquals(new byte[]{(byte) 255, 0, 0, 0}, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void generate_ShouldSkipDecoding_WhenWaveformAlreadyStored() throws IOException {
+        storage.put(CHECKSUM + "~waveform.bin", Files.write(tempDir.resolve("w"), new byte[]{1}));
+
+        assertEquals(CHECKSUM + "~waveform.bin", generator.generate(CHECKSUM + ".mp3", CHECKSUM));
+        verifyNoInteractions(ffmpeg);
+    }
+}
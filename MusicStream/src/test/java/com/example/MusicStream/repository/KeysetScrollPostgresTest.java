@@ -0,0 +1,158 @@
+package com.example.MusicStream.repository;
+
+import com.example.MusicStream.dto.TrackSummary;
+import com.example.MusicStream.entity.MusicCategory;
+import com.example.MusicStream.entity.Playlist;
+import com.example.MusicStream.entity.PlaylistEntry;
+import com.example.MusicStream.entity.Track;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jpa.autoconfigure.DataJpaRepositoriesAutoConfiguration;
+import org.springframework.boot.flyway.autoconfigure.FlywayAutoConfiguration;
+import org.springframework.boot.hibernate.autoconfigure.HibernateJpaAutoConfiguration;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceAutoConfiguration;
+import org.springframework.boot.persistence.autoconfigure.EntityScan;
+import org.springframework.boot.transaction.autoconfigure.TransactionAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the row-value keyset scrolls against a real PostgreSQL, where ties on the sort column
+ * must resume on the id.
+ */
+@SpringJUnitConfig
+@ImportAutoConfiguration({DataSourceAutoConfiguration.class, FlywayAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class, DataJpaRepositoriesAutoConfiguration.class,
+        TransactionAutoConfiguration.class})
+@Transactional
+class KeysetScrollPostgresTest {
+
+    private static final EmbeddedPostgres POSTGRES = start();
+
+    @Configuration
+    @EntityScan(basePackageClasses = Track.class)
+    @EnableJpaRepositories(basePackageClasses = TrackRepository.class)
+    static class Config {
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    }
+
+    @Autowired
+    private TrackRepository trackRepository;
+
+    @Autowired
+    private PlaylistRepository playlistRepository;
+
+    @Autowired
+    private PlaylistEntryRepository playlistEntryRepository;
+
+    private List<Track> tracks;
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        POSTGRES.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        tracks = trackRepository.saveAllAndFlush(List.of(
+                track("B", MusicCategory.pop), track("A", MusicCategory.rock), track("B", MusicCategory.rock),
+                track("A", MusicCategory.pop), track("B", MusicCategory.pop)));
+    }
+
+    @Test
+    void scrollByTitle_ShouldResumeWithinTies() {
+        Track first = trackRepository.scrollByTitle("", 0L, Limit.of(3)).get(2);
+        assertEquals("B", first.getTitle());
+
+        List<Track> rest = trackRepository.scrollByTitle(first.getTitle(), first.getId(), Limit.of(10));
+
+        assertEquals(List.of(tracks.get(2).getId(), tracks.get(4).getId()), rest.stream().map(Track::getId).toList());
+    }
+
+    @Test
+    void scrollInCategoryByTitle_ShouldOnlyReturnThatCategory() {
+        Track a = tracks.get(3);
+
+        List<Track> rest = trackRepository.scrollInCategoryByTitle(MusicCategory.pop, a.getTitle(), a.getId(),
+                Limit.of(10));
+
+        assertEquals(List.of(tracks.get(0).getId(), tracks.get(4).getId()), rest.stream().map(Track::getId).toList());
+    }
+
+    @Test
+    void scrollSummaries_ShouldMatchEntityScrolls() {
+        assertEquals(ids(trackRepository.scrollByTitle("", 0L, Limit.of(10))),
+                trackRepository.scrollSummariesByTitle("", 0L, Limit.of(10)).stream().map(TrackSummary::getId).toList());
+        assertEquals(ids(trackRepository.scrollInCategoryById(MusicCategory.rock, 0L, Limit.of(10))),
+                trackRepository.scrollSummariesInCategoryById(MusicCategory.rock, 0L, Limit.of(10)).stream()
+                        .map(TrackSummary::getId).toList());
+        assertEquals(5, trackRepository.scrollSummariesById(0L, Limit.of(10)).size());
+        assertEquals(2, trackRepository.scrollSummariesInCategoryByTitle(MusicCategory.rock, "", 0L, Limit.of(10))
+                .size());
+    }
+
+    @Test
+    void playlistScroll_ShouldResumeWithinEqualPositions() {
+        Playlist playlist = new Playlist();
+        playlist.setName("Mix");
+        playlist = playlistRepository.save(playlist);
+        List<PlaylistEntry> entries = playlistEntryRepository.saveAllAndFlush(List.of(
+                entry(playlist, tracks.get(0), 10L), entry(playlist, tracks.get(1), 10L),
+                entry(playlist, tracks.get(2), 20L)));
+
+        List<PlaylistEntry> rest = playlistEntryRepository.scroll(playlist.getId(), 10L, entries.get(0).getId(),
+                Limit.of(10));
+
+        assertEquals(List.of(entries.get(1).getId(), entries.get(2).getId()),
+                rest.stream().map(PlaylistEntry::getId).toList());
+    }
+
+    private static List<Long> ids(List<Track> tracks) {
+        return tracks.stream().map(Track::getId).toList();
+    }
+
+    private static Track track(String title, MusicCategory category) {
+        Track track = new Track();
+        track.setTitle(title);
+        track.setArtist("Artist");
+        track.setCategory(category);
+        return track;
+    }
+
+    private static PlaylistEntry entry(Playlist playlist, Track track, long position) {
+        PlaylistEntry entry = new PlaylistEntry();
+        entry.setPlaylist(playlist);
+        entry.setTrack(track);
+        entry.setPosition(position);
+        return entry;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.MusicStream.service;
+
+import com.example.MusicStream.entity.Track;
+import com.example.MusicStream.repository.ArtistRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jpa.autoconfigure.DataJpaRepositoriesAutoConfiguration;
+import org.springframework.boot.flyway.autoconfigure.FlywayAutoConfiguration;
+import org.springframework.boot.hibernate.autoconfigure.HibernateJpaAutoConfiguration;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceAutoConfiguration;
+import org.springframework.boot.jdbc.autoconfigure.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.persistence.autoconfigure.EntityScan;
+import org.springframework.boot.transaction.autoconfigure.TransactionAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Resolves the same new artist and album from several transactions at once against a real
+ * PostgreSQL, where the unique keys decide who inserts.
+ */
+@SpringJUnitConfig
+@ImportAutoConfiguration({DataSourceAutoConfiguration.class, JdbcTemplateAutoConfiguration.class,
+        FlywayAutoConfiguration.class, HibernateJpaAutoConfiguration.class, DataJpaRepositoriesAutoConfiguration.class,
+        TransactionAutoConfiguration.class})
+class ArtistResolverPostgresTest {
+
+    private static final EmbeddedPostgres POSTGRES = start();
+
+    private static final int WRITERS = 6;
+
+    @Configuration
+    @EntityScan(basePackageClasses = Track.class)
+    @EnableJpaRepositories(basePackageClasses = ArtistRepository.class)
+    @Import(ArtistResolver.class)
+    static class Config {
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    }
+
+    @Autowired
+    private ArtistResolver artistResolver;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        POSTGRES.close();
+    }
+
+    @Test
+    void link_ShouldShareOneRow_WhenWritersRace() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<Future<Track>> results = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                String spelling = i % 2 == 0 ? "Boards of Canada" : "boards  of canada";
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return transactionTemplate.execute(status -> {
+                        Track track = new Track();
+                        track.setArtist(spelling);
+                        track.setAlbumTitle("Geogaddi");
+                        artistResolver.link(List.of(track));
+                        // Keeps the transaction open so the others run into the uncommitted rows
+                        sleep();
+                        return track;
+                    });
+                }));
+            }
+            start.countDown();
+
+            List<Track> linked = new ArrayList<>();
+            for (Future<Track> result : results) {
+                linked.add(result.get());
+            }
+
+            assertEquals(1, linked.stream().map(track -> track.getArtistRef().getId()).distinct().count());
+            assertEquals(1, linked.stream().map(track -> track.getAlbumRef().getId()).distinct().count());
+            assertEquals(1, jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM artist WHERE name_key = 'boards of canada'", Integer.class));
+            assertEquals(1, jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM album WHERE title_key = 'geogaddi'", Integer.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
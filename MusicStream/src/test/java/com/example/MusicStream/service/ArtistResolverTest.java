@@ -0,0 +1,115 @@
+package com.example.MusicStream.service;
+
+import com.example.MusicStream.entity.Album;
+import com.example.MusicStream.entity.Artist;
+import com.example.MusicStream.entity.Track;
+import com.example.MusicStream.repository.AlbumRepository;
+import com.example.MusicStream.repository.ArtistRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ArtistResolverTest {
+
+    @Mock
+    private ArtistRepository artistRepository;
+
+    @Mock
+    private AlbumRepository albumRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ArtistResolver artistResolver;
+
+    private static Track track(String artist, String album) {
+        Track track = new Track();
+        track.setArtist(artist);
+        track.setAlbumTitle(album);
+        return track;
+    }
+
+    @Test
+    void key_TrimsCollapsesWhitespaceAndLowerCases() {
+        assertEquals("daft punk", Artist.key("  Daft \t Punk "));
+        assertEquals("Daft Punk", Artist.normalize("  Daft \t Punk "));
+    }
+
+    @Test
+    void link_ExistingArtist_UsesStoredSpellingWithoutInsert() {
+        Artist existing = new Artist(1L, "Daft Punk", "daft punk");
+        when(artistRepository.findByNameKeyIn(any())).thenReturn(List.of(existing));
+        Track track = track("daft  PUNK", null);
+
+        artistResolver.link(List.of(track));
+
+        assertSame(existing, track.getArtistRef());
+        assertEquals("Daft Punk", track.getArtist());
+        assertNull(track.getAlbumRef());
+        verifyNoInteractions(jdbcTemplate, albumRepository);
+    }
+
+    @Test
+    void link_NewArtists_InsertedOncePerNameInOneBatchAndReadBack() {
+        Artist air = new Artist(101L, "Air", "air");
+        Artist justice = new Artist(151L, "Justice", "justice");
+        when(artistRepository.findByNameKeyIn(any())).thenReturn(List.of(), List.of(air, justice));
+        Track first = track("Air", null);
+        Track second = track(" air ", null);
+        Track third = track("Justice", null);
+
+        artistResolver.link(List.of(third, first, second));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("ON CONFLICT (name_key) DO NOTHING"), captor.capture());
+        assertEquals(List.of(List.of("Air", "air"), List.of("Justice", "justice")),
+                captor.getValue().stream().map(List::of).toList());
+        verify(artistRepository).findByNameKeyIn(List.of("air", "justice"));
+        assertSame(air, first.getArtistRef());
+        assertSame(air, second.getArtistRef());
+        assertEquals("Air", second.getArtist());
+        assertSame(justice, third.getArtistRef());
+    }
+
+    @Test
+    void link_Albums_MatchedPerArtistAndInsertedWhenMissing() {
+        Artist air = new Artist(1L, "Air", "air");
+        Artist justice = new Artist(2L, "Justice", "justice");
+        Album moonSafari = new Album(10L, air, "Moon Safari", "moon safari");
+        Album justicesMoonSafari = new Album(11L, justice, "Moon Safari", "moon safari");
+        when(artistRepository.findByNameKeyIn(any())).thenReturn(List.of(air, justice));
+        // The cross product also returns Moon Safari for Justice's lookup; it must not be reused there
+        when(albumRepository.findByArtistsAndTitleKeys(any(), any()))
+            .thenReturn(List.of(moonSafari), List.of(moonSafari, justicesMoonSafari));
+        Track first = track("Air", "moon safari");
+        Track second = track("Justice", "Moon Safari");
+        Track third = track("Justice", "  ");
+
+        artistResolver.link(List.of(first, second, third));
+
+        assertSame(moonSafari, first.getAlbumRef());
+        assertEquals("Moon Safari", first.getAlbumTitle());
+        assertSame(justicesMoonSafari, second.getAlbumRef());
+        assertNull(third.getAlbumRef());
+        assertNull(third.getAlbumTitle());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("ON CONFLICT (artist_id, title_key) DO NOTHING"), captor.capture());
+        assertEquals(List.of(List.of(2L, "Moon Safari", "moon safari")),
+                captor.getValue().stream().map(List::of).toList());
+        verify(albumRepository).findByArtistsAndTitleKeys(List.of(2L), List.of("moon safari"));
+    }
+}
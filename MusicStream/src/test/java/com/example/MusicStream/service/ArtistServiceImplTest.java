@@ -0,0 +1,131 @@
+package com.example.MusicStream.service;
+
+import com.example.MusicStream.dto.ArtistDto;
+import com.example.MusicStream.dto.CursorPage;
+import com.example.MusicStream.dto.TrackDto;
+import com.example.MusicStream.entity.Artist;
+import com.example.MusicStream.entity.Track;
+import com.example.MusicStream.entity.TrackSort;
+import com.example.MusicStream.mapper.ArtistMapper;
+import com.example.MusicStream.mapper.TrackMapper;
+import com.example.MusicStream.repository.AlbumRepository;
+import com.example.MusicStream.repository.ArtistRepository;
+import com.example.MusicStream.repository.TrackRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ArtistServiceImplTest {
+
+    @Mock
+    private ArtistRepository artistRepository;
+
+    @Mock
+    private AlbumRepository albumRepository;
+
+    @Mock
+    private TrackRepository trackRepository;
+
+    @Mock
+    private ArtistMapper artistMapper;
+
+    @Mock
+    private TrackMapper trackMapper;
+
+    @InjectMocks
+    private ArtistServiceImpl artistService;
+
+    private static Track track(long id) {
+        Track track = new Track();
+        track.setId(id);
+        return track;
+    }
+
+    @Test
+    void search_ByName_UsesNormalisedPrefix() {
+        PageRequest pageable = PageRequest.of(0, 20);
+        when(artistRepository.findByNameKeyStartingWithOrderByNameKey("daft p", pageable))
+                .thenReturn(new PageImpl<>(List.of()));
+
+        Page<ArtistDto> result = artistService.search("  Daft  P", pageable);
+
+        assertTrue(result.isEmpty());
+        verify(artistRepository, never()).findAllByOrderByNameKey(any());
+    }
+
+    @Test
+    void rename_UpdatesArtistAndDenormalisedTrackNames() {
+        Artist artist = new Artist(1L, "Daft Punk", "daft punk");
+        when(artistRepository.findById(1L)).thenReturn(Optional.of(artist));
+        when(artistRepository.findByNameKey("daft punk!")).thenReturn(Optional.empty());
+        when(artistMapper.toDto(artist)).thenReturn(new ArtistDto(1L, "Daft Punk!"));
+
+        artistService.rename(1L, new ArtistDto(null, " Daft Punk! "));
+
+        assertEquals("Daft Punk!", artist.getName());
+        assertEquals("daft punk!", artist.getNameKey());
+        verify(trackRepository).renameArtist(eq(1L), eq("Daft Punk!"), any());
+    }
+
+    @Test
+    void rename_NameOfAnotherArtist_ThrowsConflict() {
+        when(artistRepository.findById(1L)).thenReturn(Optional.of(new Artist(1L, "Air", "air")));
+        when(artistRepository.findByNameKey("justice")).thenReturn(Optional.of(new Artist(2L, "Justice", "justice")));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> artistService.rename(1L, new ArtistDto(null, "Justice")));
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+        verify(trackRepository, never()).renameArtist(anyLong(), any(), any());
+    }
+
+    @Test
+    void tracks_FetchesOneExtraRowForNextCursor() {
+        when(trackRepository.scrollByArtist(1L, 0L, Limit.of(3))).thenReturn(List.of(track(4L), track(7L), track(9L)));
+        when(trackMapper.toDto(any(Track.class))).thenReturn(new TrackDto());
+
+        CursorPage<TrackDto> page = artistService.tracks(1L, null, null, 2);
+
+        assertEquals(2, page.getSize());
+        assertTrue(page.isHasNext());
+        assertEquals(7L, TrackCursor.decode(page.getNext(), TrackSort.id).id());
+        verify(artistRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void tracks_WithAlbum_FiltersOnAlbum() {
+        when(trackRepository.scrollByAlbum(1L, 5L, 0L, Limit.of(21))).thenReturn(List.of(track(4L)));
+        when(trackMapper.toDto(any(Track.class))).thenReturn(new TrackDto());
+
+        CursorPage<TrackDto> page = artistService.tracks(1L, 5L, null, 20);
+
+        assertFalse(page.isHasNext());
+        verify(trackRepository, never()).scrollByArtist(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void tracks_MissingArtist_ThrowsException() {
+        when(trackRepository.scrollByArtist(eq(9L), anyLong(), any())).thenReturn(List.of());
+        when(artistRepository.existsById(9L)).thenReturn(false);
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> artistService.tracks(9L, null, null, 20));
+        assertEquals("Artist not found with id: 9", exception.getMessage());
+    }
+}
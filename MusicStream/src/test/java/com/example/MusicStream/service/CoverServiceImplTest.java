@@ -0,0 +1,104 @@
+package com.example.MusicStream.service;
+
+import com.example.MusicStream.dto.TrackDto;
+import com.example.MusicStream.media.CoverFormat;
+import com.example.MusicStream.media.MediaWorkspace;
+import com.example.MusicStream.storage.LocalTrackStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CoverServiceImplTest {
+
+    @Mock
+    private TrackService trackService;
+
+    @TempDir
+    Path tempDir;
+
+    private LocalTrackStorage storage;
+    private CoverServiceImpl coverService;
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalTrackStorage(tempDir.resolve("music"));
+        coverService = new CoverServiceImpl(trackService, storage,
+            new MediaWorkspace(storage, tempDir.resolve("work").toString()), List.of(64, 256), 1_000_000);
+    }
+
+    private static MockMultipartFile cover(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return new MockMultipartFile("file", "cover.png", "image/png", out.toByteArray());
+    }
+
+    @Test
+    void uploadCover_ShouldStoreEverySizeAndAttachChecksum() throws IOException {
+        TrackDto dto = new TrackDto();
+        when(trackService.attachCover(eq(1L), anyString(), eq(256))).thenReturn(dto);
+
+        assertSame(dto, coverService.uploadCover(1L, cover(800, 400)));
+
+        verify(trackService).attachCover(eq(1L), argThat(checksum -> {
+            try {
+                byte[] small = coverService.read(checksum, 64, CoverFormat.jpg).orElseThrow();
+                byte[] large = coverService.read(checksum, 256, CoverFormat.jpg).orElseThrow();
+                return ImageIO.read(new ByteArrayInputStream(small)).getWidth() == 64
+                    && ImageIO.read(new ByteArrayInputStream(large)).getHeight() == 128;
+            } catch (IOException e) {
+                return false;
+            }
+        }), eq(256));
+    }
+
+    @Test
+    void uploadCover_ShouldReuseStoredVariants_WhenSameImageUploadedTwice() throws IOException {
+        MockMultipartFile file = cover(300, 300);
+        coverService.uploadCover(1L, file);
+        long stored = storage.list().size();
+
+        coverService.uploadCover(2L, file);
+
+        assertEquals(stored, storage.list().size());
+        verify(trackService, times(2)).attachCover(anyLong(), anyString(), eq(256));
+    }
+
+    @Test
+    void uploadCover_ShouldRejectUnreadableImage() {
+        MockMultipartFile file = new MockMultipartFile("file", "cover.png", "image/png", "garbage".getBytes());
+
+        assertThrows(ResponseStatusException.class, () -> coverService.uploadCover(1L, file));
+        verifyNoInteractions(trackService);
+    }
+
+    @Test
+    void read_ShouldReturnEmpty_ForUnknownSizeOrMalformedChecksum() {
+        assertEquals(Optional.empty(), coverService.read("a".repeat(64), 100, CoverFormat.jpg));
+        assertEquals(Optional.empty(), coverService.read("../secret", 64, CoverFormat.jpg));
+        assertEquals(Optional.empty(), coverService.read("a".repeat(64), 64, CoverFormat.jpg));
+    }
+
+    @Test
+    void formats_ShouldAlwaysIncludeJpeg() {
+        assertTrue(coverService.formats().contains(CoverFormat.jpg));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.MusicStream.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecayingTopKTest {
+
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+
+    private static List<Long> ids(List<DecayingTopK.Entry> entries) {
+        return entries.stream().map(DecayingTopK.Entry::trackId).toList();
+    }
+
+    @Test
+    void top_ShouldRankByPlays() {
+        DecayingTopK topK = new DecayingTopK(10, Duration.ofHours(1), 0);
+        topK.add(1, 1, 0);
+        topK.add(2, 1, 0);
+        topK.add(2, 1, 0);
+        topK.add(3, 1, 0);
+        topK.add(3, 1, 0);
+        topK.add(3, 1, 0);
+
+        assertEquals(List.of(3L, 2L), ids(topK.top(2, 0)));
+        assertEquals(3.0, topK.top(1, 0).get(0).score(), 1e-9);
+    }
+
+    @Test
+    void top_ShouldHalveScoresEveryHalfLife() {
+        DecayingTopK topK = new DecayingTopK(10, Duration.ofHours(1), 0);
+        topK.add(1, 8, 0);
+
+        assertEquals(4.0, topK.top(1, HOUR).get(0).score(), 1e-9);
+        assertEquals(1.0, topK.top(1, 3 * HOUR).get(0).score(), 1e-9);
+    }
+
+    @Test
+    void top_ShouldPreferRecentPlays_OverOlderOnesOfSameCount() {
+        DecayingTopK topK = new DecayingTopK(10, Duration.ofHours(1), 0);
+        topK.add(1, 5, 0);
+        topK.add(2, 3, 2 * HOUR);
+
+        assertEquals(List.of(2L, 1L), ids(topK.top(2, 2 * HOUR)));
+    }
+
+    @Test
+    void add_ShouldEvictLowestCounter_WhenFull() {
+        DecayingTopK topK = new DecayingTopK(2, Duration.ofHours(1), 0);
+        topK.add(1, 5, 0);
+        topK.add(2, 1, 0);
+        topK.add(3, 1, 0);
+
+        assertEquals(2, topK.size());
+        // The newcomer inherits the evicted count, an upper bound on its true count
+        assertEquals(List.of(1L, 3L), ids(topK.top(2, 0)));
+        assertEquals(2.0, topK.top(2, 0).get(1).score(), 1e-9);
+    }
+
+    @Test
+    void add_ShouldRescaleWithoutChangingScores_AfterLongRun() {
+        DecayingTopK topK = new DecayingTopK(10, Duration.ofMinutes(1), 0);
+        long later = Duration.ofDays(2).toMillis();
+        topK.add(1, 1, later - Duration.ofMinutes(1).toMillis());
+        topK.add(2, 1, later);
+
+        List<DecayingTopK.Entry> top = topK.top(2, later);
+        assertEquals(List.of(2L, 1L), ids(top));
+        assertEquals(1.0, top.get(0).score(), 1e-9);
+        assertEquals(0.5, top.get(1).score(), 1e-9);
+    }
+
+    @Test
+    void remove_ShouldDropTrack() {
+        DecayingTopK topK = new DecayingTopK(10, Duration.ofHours(1), 0);
+        topK.add(1, 1, 0);
+        topK.remove(1);
+
+        assertTrue(topK.top(5, 0).isEmpty());
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.MusicStream.service;
+
+import com.example.MusicStream.dto.TrackDto;
+import com.example.MusicStream.entity.MusicCategory;
+import com.example.MusicStream.mapper.TrackMapper;
+import com.example.MusicStream.repository.TrackRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlayCountServiceImplTest {
+
+    @Mock
+    private TrackService trackService;
+
+    @Mock
+    private TrendingService trendingService;
+
+    @Mock
+    private TrackRepository trackRepository;
+
+    @Mock
+    private TrackMapper trackMapper;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private PlayCountServiceImpl playCountService;
+
+    @BeforeEach
+    void setUp() {
+        TrackDto track = new TrackDto();
+        track.setCategory(MusicCategory.rock);
+        lenient().when(trackService.show(anyLong())).thenReturn(track);
+        lenient().when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Collection<Map.Entry<Long, Long>>> flushedDeltas(int flushes) {
+        ArgumentCaptor<Collection<Map.Entry<Long, Long>>> deltas = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, times(flushes)).batchUpdate(anyString(), deltas.capture(), anyInt(), any());
+        return deltas.getAllValues();
+    }
+
+    @Test
+    void flush_ShouldWriteAggregatedDeltasInIdOrder() {
+        playCountService.recordPlay(9L);
+        playCountService.recordPlay(3L);
+        playCountService.recordPlay(9L);
+        playCountService.recordPlay(9L);
+
+        assertEquals(2, playCountService.flush());
+
+        assertEquals(List.of(List.of(Map.entry(3L, 1L), Map.entry(9L, 3L))), flushedDeltas(1));
+        verify(trendingService, times(3)).recordPlay(9L, MusicCategory.rock);
+        assertEquals(0, playCountService.flush());
+    }
+
+    @Test
+    void flush_ShouldKeepDeltas_WhenWriteFails() {
+        playCountService.recordPlay(1L);
+        playCountService.recordPlay(1L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+            .thenThrow(new QueryTimeoutException("timeout"))
+            .thenReturn(new int[][]{{1}});
+
+        assertEquals(0, playCountService.flush());
+        playCountService.recordPlay(1L);
+        assertEquals(1, playCountService.flush());
+
+        assertEquals(List.of(List.of(Map.entry(1L, 2L)), List.of(Map.entry(1L, 3L))), flushedDeltas(2));
+    }
+
+    @Test
+    void flush_ShouldDropCounters_OnceDrained() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any())).thenReturn(new int[][]{{1}});
+        playCountService.recordPlay(1L);
+
+        assertEquals(1, playCountService.flush());
+        assertEquals(1, playCountService.pendingTracks());
+        assertEquals(0, playCountService.flush());
+        assertEquals(0, playCountService.pendingTracks());
+
+        playCountService.recordPlay(1L);
+        assertEquals(1, playCountService.flush());
+        assertEquals(List.of(List.of(Map.entry(1L, 1L)), List.of(Map.entry(1L, 1L))), flushedDeltas(2));
+    }
+
+    @Test
+    void recordPlay_ShouldReject_WhenTrackMissing() {
+        when(trackService.show(5L)).thenThrow(new RuntimeException("Track not found with id: 5"));
+
+        assertThrows(RuntimeException.class, () -> playCountService.recordPlay(5L));
+
+        assertEquals(0, playCountService.flush());
+        verifyNoInteractions(jdbcTemplate, trendingService);
+    }
+}
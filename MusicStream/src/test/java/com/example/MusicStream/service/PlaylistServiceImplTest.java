@@ -0,0 +1,236 @@
+package com.example.MusicStream.service;
+
+import com.example.MusicStream.dto.CursorPage;
+import com.example.MusicStream.dto.PlaylistEntryDto;
+import com.example.MusicStream.dto.PlaylistTracksRequest;
+import com.example.MusicStream.entity.Playlist;
+import com.example.MusicStream.entity.PlaylistEntry;
+import com.example.MusicStream.entity.Track;
+import com.example.MusicStream.mapper.PlaylistMapper;
+import com.example.MusicStream.repository.PlaylistEntryRepository;
+import com.example.MusicStream.repository.PlaylistRepository;
+import com.example.MusicStream.repository.TrackRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlaylistServiceImplTest {
+
+    private static final long GAP = PlaylistServiceImpl.GAP;
+
+    @Mock
+    private PlaylistRepository playlistRepository;
+
+    @Mock
+    private PlaylistEntryRepository playlistEntryRepository;
+
+    @Mock
+    private TrackRepository trackRepository;
+
+    @Mock
+    private PlaylistMapper playlistMapper;
+
+    @InjectMocks
+    private PlaylistServiceImpl playlistService;
+
+    private Playlist playlist;
+
+    @BeforeEach
+    void setUp() {
+        playlist = new Playlist(1L, "Road trip", null, 0L, null);
+    }
+
+    private static Track track(long id) {
+        Track track = new Track();
+        track.setId(id);
+        return track;
+    }
+
+    private static PlaylistTracksRequest append(Long... trackIds) {
+        return new PlaylistTracksRequest(List.of(trackIds), null, null, false);
+    }
+
+    @Test
+    void positions_AppendToEmptyPlaylist_StartsAtOneGap() {
+        when(playlistEntryRepository.findLastPosition(1L)).thenReturn(Optional.empty());
+
+        long[] positions = playlistService.positions(1L, append(7L, 8L), 2);
+
+        assertArrayEquals(new long[]{GAP, 2 * GAP}, positions);
+    }
+
+    @Test
+    void positions_AfterEntry_SplitsGapEvenly() {
+        when(playlistEntryRepository.findPosition(1L, 10L)).thenReturn(Optional.of(100L));
+        when(playlistEntryRepository.findPositionAfter(1L, 100L)).thenReturn(Optional.of(400L));
+        PlaylistTracksRequest request = new PlaylistTracksRequest(List.of(7L, 8L), null, 10L, false);
+
+        long[] positions = playlistService.positions(1L, request, 2);
+
+        assertArrayEquals(new long[]{200L, 300L}, positions);
+        verify(playlistEntryRepository, never()).respace(anyLong(), anyLong());
+    }
+
+    @Test
+    void positions_AtStart_GoesBeforeFirstEntry() {
+        when(playlistEntryRepository.findFirstPosition(1L)).thenReturn(Optional.of(GAP));
+        PlaylistTracksRequest request = new PlaylistTracksRequest(List.of(7L), null, null, true);
+
+        long[] positions = playlistService.positions(1L, request, 1);
+
+        assertTrue(positions[0] < GAP);
+    }
+
+    @Test
+    void positions_ExhaustedGap_RespacesOnceAndRetries() {
+        when(playlistEntryRepository.findPosition(1L, 10L)).thenReturn(Optional.of(100L), Optional.of(GAP));
+        when(playlistEntryRepository.findPositionAfter(eq(1L), anyLong()))
+                .thenReturn(Optional.of(101L), Optional.of(2 * GAP));
+        PlaylistTracksRequest request = new PlaylistTracksRequest(List.of(7L), null, 10L, false);
+
+        long[] positions = playlistService.positions(1L, request, 1);
+
+        verify(playlistEntryRepository).respace(1L, GAP);
+        assertTrue(positions[0] > GAP && positions[0] < 2 * GAP);
+    }
+
+    @Test
+    void positions_UnknownAfterEntry_ThrowsBadRequest() {
+        when(playlistEntryRepository.findPosition(1L, 10L)).thenReturn(Optional.empty());
+        PlaylistTracksRequest request = new PlaylistTracksRequest(List.of(7L), null, 10L, false);
+
+        assertThrows(ResponseStatusException.class, () -> playlistService.positions(1L, request, 1));
+    }
+
+    @Test
+    void addTracks_SavesEntriesInRequestOrderInOneBatch() {
+        when(playlistRepository.findForUpdate(1L)).thenReturn(Optional.of(playlist));
+        when(playlistRepository.getReferenceById(1L)).thenReturn(playlist);
+        when(playlistEntryRepository.findLastPosition(1L)).thenReturn(Optional.of(GAP));
+        when(trackRepository.findAllById(any())).thenReturn(List.of(track(7L), track(8L)));
+        when(playlistEntryRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        playlistService.addTracks(1L, append(8L, 7L, 8L));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PlaylistEntry>> captor = ArgumentCaptor.forClass(List.class);
+        verify(playlistEntryRepository).saveAll(captor.capture());
+        List<PlaylistEntry> saved = captor.getValue();
+        assertEquals(List.of(8L, 7L, 8L), saved.stream().map(e -> e.getTrack().getId()).toList());
+        assertEquals(List.of(2 * GAP, 3 * GAP, 4 * GAP), saved.stream().map(PlaylistEntry::getPosition).toList());
+        verify(trackRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void addTracks_UnknownTrack_ThrowsBadRequest() {
+        when(playlistRepository.findForUpdate(1L)).thenReturn(Optional.of(playlist));
+        when(playlistEntryRepository.findLastPosition(1L)).thenReturn(Optional.empty());
+        when(trackRepository.findAllById(any())).thenReturn(List.of(track(7L)));
+
+        assertThrows(ResponseStatusException.class, () -> playlistService.addTracks(1L, append(7L, 99L)));
+        verify(playlistEntryRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void addTracks_TooManyIds_ThrowsBadRequest() {
+        PlaylistTracksRequest request = new PlaylistTracksRequest(
+                Collections.nCopies(PlaylistServiceImpl.MAX_BATCH + 1, 7L), null, null, false);
+
+        assertThrows(ResponseStatusException.class, () -> playlistService.addTracks(1L, request));
+        verifyNoInteractions(playlistRepository);
+    }
+
+    @Test
+    void addTracks_MissingPlaylist_ThrowsException() {
+        when(playlistRepository.findForUpdate(1L)).thenReturn(Optional.empty());
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> playlistService.addTracks(1L, append(7L)));
+        assertEquals("Playlist not found with id: 1", exception.getMessage());
+    }
+
+    @Test
+    void moveEntries_AssignsPositionsInRequestOrder() {
+        PlaylistEntry first = new PlaylistEntry(20L, playlist, track(7L), 5 * GAP);
+        PlaylistEntry second = new PlaylistEntry(21L, playlist, track(8L), 6 * GAP);
+        when(playlistRepository.findForUpdate(1L)).thenReturn(Optional.of(playlist));
+        when(playlistEntryRepository.findFirstPosition(1L)).thenReturn(Optional.of(GAP));
+        when(playlistEntryRepository.findInPlaylist(1L, List.of(21L, 20L))).thenReturn(List.of(first, second));
+        PlaylistTracksRequest request = new PlaylistTracksRequest(null, List.of(21L, 20L), null, true);
+
+        playlistService.moveEntries(1L, request);
+
+        assertTrue(second.getPosition() < first.getPosition());
+        assertTrue(first.getPosition() < GAP);
+    }
+
+    @Test
+    void moveEntries_AfterMovedEntry_ThrowsBadRequest() {
+        PlaylistTracksRequest request = new PlaylistTracksRequest(null, List.of(20L, 21L), 21L, false);
+
+        assertThrows(ResponseStatusException.class, () -> playlistService.moveEntries(1L, request));
+        verifyNoInteractions(playlistRepository);
+    }
+
+    @Test
+    void moveEntries_EntryFromOtherPlaylist_ThrowsBadRequest() {
+        when(playlistRepository.findForUpdate(1L)).thenReturn(Optional.of(playlist));
+        when(playlistEntryRepository.findLastPosition(1L)).thenReturn(Optional.of(GAP));
+        when(playlistEntryRepository.findInPlaylist(1L, List.of(20L))).thenReturn(List.of());
+        PlaylistTracksRequest request = new PlaylistTracksRequest(null, List.of(20L), null, false);
+
+        assertThrows(ResponseStatusException.class, () -> playlistService.moveEntries(1L, request));
+    }
+
+    @Test
+    void tracks_FetchesOneExtraRowForNextCursor() {
+        PlaylistEntry first = new PlaylistEntry(20L, playlist, track(7L), GAP);
+        PlaylistEntry second = new PlaylistEntry(21L, playlist, track(8L), 2 * GAP);
+        when(playlistEntryRepository.scroll(1L, Long.MIN_VALUE, Long.MIN_VALUE, Limit.of(2)))
+                .thenReturn(List.of(first, second));
+        when(playlistMapper.toDto(first)).thenReturn(new PlaylistEntryDto(20L, GAP, null));
+
+        CursorPage<PlaylistEntryDto> page = playlistService.tracks(1L, null, 1);
+
+        assertEquals(1, page.getContent().size());
+        assertTrue(page.isHasNext());
+        assertEquals(new PlaylistCursor(GAP, 20L), PlaylistCursor.decode(page.getNext()));
+        verify(playlistRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void tracks_MissingPlaylist_ThrowsException() {
+        when(playlistEntryRepository.scroll(eq(1L), anyLong(), anyLong(), any(Limit.class))).thenReturn(List.of());
+        when(playlistRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(RuntimeException.class, () -> playlistService.tracks(1L, null, 10));
+    }
+
+    @Test
+    void tracks_InvalidCursor_ThrowsBadRequest() {
+        assertThrows(ResponseStatusException.class, () -> playlistService.tracks(1L, "not-a-cursor", 10));
+    }
+
+    @Test
+    void removeEntries_DeletesInOneStatement() {
+        when(playlistRepository.findForUpdate(1L)).thenReturn(Optional.of(playlist));
+        when(playlistEntryRepository.deleteEntries(1L, List.of(20L, 21L))).thenReturn(2);
+
+        assertEquals(2, playlistService.removeEntries(1L, List.of(20L, 21L)));
+    }
+}
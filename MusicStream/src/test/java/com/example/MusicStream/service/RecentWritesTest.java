@@ -0,0 +1,26 @@
+package com.example.MusicStream.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecentWritesTest {
+
+    @Test
+    void record_ShouldMarkTrackAndListingsUntilWindowPasses() throws InterruptedException {
+        RecentWrites recentWrites = new RecentWrites(Duration.ofMillis(200));
+        assertFalse(recentWrites.any());
+
+        recentWrites.record(7L);
+
+        assertTrue(recentWrites.contains(7L));
+        assertFalse(recentWrites.contains(8L));
+        assertTrue(recentWrites.any());
+
+        Thread.sleep(300);
+
+        assertFalse(recentWrites.any());
+    }
+}
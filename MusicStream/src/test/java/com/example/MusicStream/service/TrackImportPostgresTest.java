@@ -0,0 +1,113 @@
+package com.example.MusicStream.service;
+
+import com.example.MusicStream.dto.ImportResult;
+import com.example.MusicStream.dto.ImportSummary;
+import com.example.MusicStream.entity.ImportFormat;
+import com.example.MusicStream.entity.Track;
+import com.example.MusicStream.mapper.TrackMapper;
+import com.example.MusicStream.repository.TrackRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jpa.autoconfigure.DataJpaRepositoriesAutoConfiguration;
+import org.springframework.boot.flyway.autoconfigure.FlywayAutoConfiguration;
+import org.springframework.boot.hibernate.autoconfigure.HibernateJpaAutoConfiguration;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceAutoConfiguration;
+import org.springframework.boot.jdbc.autoconfigure.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.persistence.autoconfigure.EntityScan;
+import org.springframework.boot.transaction.autoconfigure.TransactionAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Imports against a real PostgreSQL, so constraint failures come out of Hibernate's flush
+ * rather than from a mocked repository.
+ */
+@SpringJUnitConfig
+@ImportAutoConfiguration({DataSourceAutoConfiguration.class, JdbcTemplateAutoConfiguration.class,
+        FlywayAutoConfiguration.class, HibernateJpaAutoConfiguration.class, DataJpaRepositoriesAutoConfiguration.class,
+        TransactionAutoConfiguration.class})
+class TrackImportPostgresTest {
+
+    private static final EmbeddedPostgres POSTGRES = start();
+
+    @Configuration
+    @EntityScan(basePackageClasses = Track.class)
+    @EnableJpaRepositories(basePackageClasses = TrackRepository.class)
+    @Import({TrackImportServiceImpl.class, ArtistResolver.class})
+    static class Config {
+
+        @Bean
+        TrackMapper trackMapper() {
+            return Mappers.getMapper(TrackMapper.class);
+        }
+
+        @Bean
+        JsonMapper jsonMapper() {
+            return JsonMapper.builder().build();
+        }
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    }
+
+    @Autowired
+    private TrackImportService importService;
+
+    @Autowired
+    private TrackRepository trackRepository;
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        POSTGRES.close();
+    }
+
+    @Test
+    void importTracks_ShouldRetryRowByRow_WhenFlushFails() throws IOException {
+        String ndjson = """
+            {"title":"Good","artist":"A","category":"pop"}
+            {"title":"Too long","artist":"A","category":"pop","description":"%s"}
+            {"title":"Also good","artist":"B","category":"rock"}
+            """.formatted("x".repeat(501));
+        List<ImportResult> results = new ArrayList<>();
+
+        ImportSummary summary = importService.importTracks(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), ImportFormat.ndjson, results::add);
+
+        assertEquals(new ImportSummary(3, 2, 1), summary);
+        assertEquals(List.of(1L, 3L), results.stream().filter(r -> r.getError() == null).map(ImportResult::getLine).toList());
+        assertNotNull(results.stream().filter(r -> r.getLine() == 2).findFirst().orElseThrow().getError());
+        assertEquals(List.of("Also good", "Good"),
+                trackRepository.findAll().stream().map(Track::getTitle).sorted().toList());
+    }
+}
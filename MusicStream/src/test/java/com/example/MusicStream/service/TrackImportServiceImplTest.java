@@ -0,0 +1,189 @@
+package com.example.MusicStream.service;
+
+import com.example.MusicStream.dto.ImportResult;
+import com.example.MusicStream.dto.ImportSummary;
+import com.example.MusicStream.entity.ImportFormat;
+import com.example.MusicStream.entity.MusicCategory;
+import com.example.MusicStream.entity.Track;
+import com.example.MusicStream.mapper.TrackMapper;
+import com.example.MusicStream.repository.TrackRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrackImportServiceImplTest {
+
+    @Mock
+    private TrackRepository trackRepository;
+
+    @Mock
+    private ArtistResolver artistResolver;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final TrackMapper trackMapper = Mappers.getMapper(TrackMapper.class);
+    private final AtomicLong ids = new AtomicLong();
+    private final List<ImportResult> results = new ArrayList<>();
+
+    private TrackImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new TrackImportServiceImpl(trackRepository, trackMapper, artistResolver, entityManager,
+            transactionManager, JsonMapper.builder().build(), 2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assignIdsOnSave() {
+        when(trackRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Track> tracks = invocation.getArgument(0);
+            tracks.forEach(track -> track.setId(ids.incrementAndGet()));
+            return tracks;
+        });
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void importTracks_ShouldSaveNdjsonInBatches_AndReportEachRow() throws IOException {
+        assignIdsOnSave();
+        String ndjson = """
+            {"title":"One","artist":"A","category":"pop"}
+            {"title":"Two","artist":"B","category":"rock","duration":200}
+
+            {"title":"Three","artist":"C","category":"jazz","fileUrl":"http://elsewhere/x.mp3"}
+            """;
+
+        ImportSummary summary = importService.importTracks(body(ndjson), ImportFormat.ndjson, results::add);
+
+        assertEquals(new ImportSummary(3, 3, 0), summary);
+        verify(trackRepository, times(2)).saveAllAndFlush(anyList());
+        verify(entityManager, times(2)).clear();
+        assertEquals(List.of(1L, 2L, 4L), results.stream().map(ImportResult::getLine).toList());
+        assertEquals(List.of(1L, 2L, 3L), results.stream().map(ImportResult::getId).toList());
+    }
+
+    @Test
+    void importTracks_ShouldIgnoreServerOwnedFields() throws IOException {
+        List<Track> saved = new ArrayList<>();
+        when(trackRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Track> tracks = invocation.getArgument(0);
+            saved.addAll(tracks);
+            return tracks;
+        });
+        String ndjson = """
+            {"title":"One","artist":"A","category":"pop","hlsStatus":"ready","hlsPlaylistUrl":"http://x/p.m3u8",\
+            "metadataStatus":"ready","bitrate":320,"sampleRate":48000,"codec":"flac","coverChecksum":"abc",\
+            "playCount":1000000}
+            """;
+
+        ImportSummary summary = importService.importTracks(body(ndjson), ImportFormat.ndjson, results::add);
+
+        assertEquals(new ImportSummary(1, 1, 0), summary);
+        Track track = saved.get(0);
+        assertNull(track.getHlsStatus());
+        assertNull(track.getHlsPlaylistUrl());
+        assertNull(track.getMetadataStatus());
+        assertNull(track.getBitrate());
+        assertNull(track.getSampleRate());
+        assertNull(track.getCodec());
+        assertNull(track.getCoverChecksum());
+        assertNull(track.getPlayCount());
+    }
+
+    @Test
+    void importTracks_ShouldReportInvalidRows_WithoutStoppingImport() throws IOException {
+        assignIdsOnSave();
+        String ndjson = """
+            {"title":"One","artist":"A","category":"pop"}
+            {"title":"","artist":"A","category":"pop"}
+            not json
+            """;
+
+        ImportSummary summary = importService.importTracks(body(ndjson), ImportFormat.ndjson, results::add);
+
+        assertEquals(new ImportSummary(3, 1, 2), summary);
+        assertEquals("Missing required field: title", results.get(0).getError());
+        assertEquals(2L, results.get(0).getLine());
+        assertNotNull(results.get(1).getError());
+        assertEquals(1L, results.get(2).getId());
+    }
+
+    @Test
+    void importTracks_ShouldParseCsvWithQuotedFields() throws IOException {
+        List<Track> saved = new ArrayList<>();
+        when(trackRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Track> tracks = invocation.getArgument(0);
+            saved.addAll(tracks);
+            return tracks;
+        });
+        String csv = "title,artist,category,duration,description\n"
+            + "\"Hello, World\",Artist,Pop,180,\"Say \"\"hi\"\"\"\n"
+            + "Other,Artist,unknown,1,\n";
+
+        ImportSummary summary = importService.importTracks(body(csv), ImportFormat.csv, results::add);
+
+        assertEquals(new ImportSummary(2, 1, 1), summary);
+        assertEquals("Hello, World", saved.get(0).getTitle());
+        assertEquals(MusicCategory.pop, saved.get(0).getCategory());
+        assertEquals(180L, saved.get(0).getDuration());
+        assertEquals("Say \"hi\"", saved.get(0).getDescription());
+        assertEquals("Unknown category: unknown", results.get(0).getError());
+        assertEquals(3L, results.get(0).getLine());
+    }
+
+    @Test
+    void importTracks_ShouldRetryRowByRow_WhenBatchFails() throws IOException {
+        when(trackRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Track> tracks = invocation.getArgument(0);
+            if (tracks.size() > 1 || tracks.get(0).getTitle().equals("Bad")) {
+                throw new DataIntegrityViolationException("constraint");
+            }
+            tracks.get(0).setId(ids.incrementAndGet());
+            return tracks;
+        });
+        String ndjson = """
+            {"title":"Good","artist":"A","category":"pop"}
+            {"title":"Bad","artist":"A","category":"pop"}
+            """;
+
+        ImportSummary summary = importService.importTracks(body(ndjson), ImportFormat.ndjson, results::add);
+
+        assertEquals(new ImportSummary(2, 1, 1), summary);
+        assertEquals(1L, results.get(0).getId());
+        assertNull(results.get(1).getId());
+        assertEquals("constraint", results.get(1).getError());
+    }
+
+    @Test
+    void parseCsvLine_ShouldRejectUnterminatedQuote() {
+        assertEquals(List.of("a", "", "b"), TrackImportServiceImpl.parseCsvLine("a,,b"));
+        assertThrows(IllegalArgumentException.class, () -> TrackImportServiceImpl.parseCsvLine("\"open,b"));
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.MusicStream.service;
+
+import com.example.MusicStream.config.CacheConfig;
+import com.example.MusicStream.dto.TrackDto;
+import com.example.MusicStream.entity.MusicCategory;
+import com.example.MusicStream.entity.Track;
+import com.example.MusicStream.mapper.TrackMapper;
+import com.example.MusicStream.repository.TrackRepository;
+import com.example.MusicStream.storage.AudioBlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.cache.autoconfigure.CacheAutoConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+@Import({CacheConfig.class, TrackServiceImpl.class, RecentWrites.class, TrackServiceCachingTest.Conversions.class})
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+@TestPropertySource(properties = "spring.cache.type=caffeine")
+class TrackServiceCachingTest {
+
+    @Configuration
+    static class Conversions {
+
+        @Bean
+        static ConversionService conversionService() {
+            return ApplicationConversionService.getSharedInstance();
+        }
+    }
+
+    @MockitoBean
+    private TrackRepository trackRepository;
+
+    @MockitoBean
+    private TrackMapper trackMapper;
+
+    @MockitoBean
+    private ArtistResolver artistResolver;
+
+    @MockitoBean
+    private AudioBlobStore audioBlobStore;
+
+    @MockitoBean
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TrackService trackService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Track testTrack;
+    private TrackDto testTrackDto;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        testTrack = new Track();
+        testTrack.setId(1L);
+        testTrack.setTitle("Test Song");
+        testTrack.setCategory(MusicCategory.pop);
+
+        testTrackDto = new TrackDto();
+        testTrackDto.setId(1L);
+        testTrackDto.setTitle("Test Song");
+
+        when(trackRepository.findById(1L)).thenReturn(Optional.of(testTrack));
+        when(trackMapper.toDto(any(Track.class))).thenReturn(testTrackDto);
+    }
+
+    @Test
+    void show_ShouldHitDatabaseOnce_WhenCalledRepeatedly() {
+        trackService.show(1L);
+        TrackDto result = trackService.show(1L);
+
+        assertEquals("Test Song", result.getTitle());
+        verify(trackRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void update_ShouldEvictCachedTrack() {
+        when(trackRepository.save(testTrack)).thenReturn(testTrack);
+        trackService.show(1L);
+
+        trackService.update(1L, testTrackDto);
+        trackService.show(1L);
+
+        // show, update's own lookup, then show again after eviction
+        verify(trackRepository, times(3)).findById(1L);
+    }
+
+    @Test
+    void search_ShouldBeCachedPerPage_AndEvictedOnCreate() {
+        PageRequest firstPage = PageRequest.of(0, 8);
+        PageRequest secondPage = PageRequest.of(1, 8);
+        when(trackRepository.findByCategory(MusicCategory.pop, firstPage))
+            .thenReturn(new PageImpl<>(List.of(testTrack), firstPage, 1));
+        when(trackRepository.findByCategory(MusicCategory.pop, secondPage))
+            .thenReturn(new PageImpl<>(List.of(), secondPage, 1));
+
+        trackService.search(null, MusicCategory.pop, firstPage);
+        trackService.search(null, MusicCategory.pop, firstPage);
+        trackService.search(null, MusicCategory.pop, secondPage);
+
+        verify(trackRepository, times(1)).findByCategory(MusicCategory.pop, firstPage);
+        verify(trackRepository, times(1)).findByCategory(MusicCategory.pop, secondPage);
+
+        when(trackMapper.toEntity(testTrackDto)).thenReturn(testTrack);
+        when(trackRepository.save(testTrack)).thenReturn(testTrack);
+        trackService.create(testTrackDto);
+        trackService.search(null, MusicCategory.pop, firstPage);
+
+        verify(trackRepository, times(2)).findByCategory(MusicCategory.pop, firstPage);
+    }
+}
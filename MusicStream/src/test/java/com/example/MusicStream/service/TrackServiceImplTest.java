@@ -1,30 +1,46 @@
 package com.example.MusicStream.service;
 
+import com.example.MusicStream.dto.AudioMetadata;
+import com.example.MusicStream.dto.CursorPage;
 import com.example.MusicStream.dto.TrackDto;
+import com.example.MusicStream.dto.TrackSummary;
 import com.example.MusicStream.entity.MusicCategory;
+import com.example.MusicStream.entity.ProcessingStatus;
 import com.example.MusicStream.entity.Track;
+import com.example.MusicStream.entity.TrackSort;
 import com.example.MusicStream.mapper.TrackMapper;
 import com.example.MusicStream.repository.TrackRepository;
+import com.example.MusicStream.storage.AudioBlobStore;
+import com.example.MusicStream.storage.StagedAudio;
+import com.example.MusicStream.storage.StoredAudio;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
@@ -45,6 +61,21 @@ class TrackServiceImplTest {
     @Mock
     private TrackMapper trackMapper;
 
+    @Mock
+    private ArtistResolver artistResolver;
+
+    @Mock
+    private RecentWrites recentWrites;
+
+    @Mock
+    private AudioBlobStore audioBlobStore;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private TrackServiceImpl trackService;
 
@@ -57,6 +88,9 @@ class TrackServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
         testTrack = new Track();
         testTrack.setId(1L);
         testTrack.setTitle("Test Song");
@@ -99,6 +133,7 @@ class TrackServiceImplTest {
         verify(trackMapper).toEntity(testTrackDto);
         verify(trackRepository).save(testTrack);
         verify(trackMapper).toDto(testTrack);
+        verify(recentWrites).record(testTrack.getId());
     }
 
     @Test
@@ -146,6 +181,104 @@ class TrackServiceImplTest {
         });
     }
 
+    @Test
+    void createWithFile_ShouldStoreFileAndRecordSizeAndChecksum() throws IOException {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            StoredAudio stored = new StoredAudio("stored.mp3", 18L, "abc123");
+            StagedAudio staged = new StagedAudio(tempDir.resolve(".upload-1.tmp"), "stored.mp3", 18L, "abc123");
+            when(audioBlobStore.stage(any(), eq(".mp3"))).thenReturn(staged);
+            when(audioBlobStore.store(staged)).thenReturn(stored);
+            when(trackMapper.toEntity(testTrackDto)).thenReturn(testTrack);
+            when(trackRepository.save(testTrack)).thenReturn(testTrack);
+            when(trackMapper.toDto(testTrack)).thenReturn(testTrackDto);
+
+            TrackDto result = trackService.createWithFile(testTrackDto, testFile);
+
+            assertNotNull(result);
+            assertEquals("http://localhost/uploads/music/stored.mp3", testTrack.getFileUrl());
+            assertEquals(18L, testTrack.getFileSize());
+            assertEquals("abc123", testTrack.getFileChecksum());
+            verify(trackRepository).save(testTrack);
+            verify(audioBlobStore).discard(staged);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void uploadFile_ShouldStreamContentIntoStorage_WhenValidId() throws IOException {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            InputStream content = new ByteArrayInputStream("audio".getBytes());
+            when(trackRepository.findById(1L)).thenReturn(Optional.of(testTrack));
+            StagedAudio staged = new StagedAudio(tempDir.resolve(".upload-1.tmp"), "new.ogg", 5L, "def456");
+            when(audioBlobStore.stage(content, ".ogg")).thenReturn(staged);
+            when(audioBlobStore.store(staged)).thenReturn(new StoredAudio("new.ogg", 5L, "def456"));
+            when(trackRepository.save(testTrack)).thenReturn(testTrack);
+            when(trackMapper.toDto(testTrack)).thenReturn(testTrackDto);
+
+            trackService.uploadFile(1L, content, "song.ogg");
+
+            assertEquals("http://localhost/uploads/music/new.ogg", testTrack.getFileUrl());
+            assertEquals(5L, testTrack.getFileSize());
+            assertEquals("def456", testTrack.getFileChecksum());
+            verify(audioBlobStore, never()).release(any());
+            verify(eventPublisher).publishEvent(new TrackAudioChangedEvent(1L, "new.ogg", "def456"));
+            assertEquals(ProcessingStatus.pending, testTrack.getMetadataStatus());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void uploadFile_ShouldReleasePreviousBlob_WhenTrackAlreadyHasFile() throws IOException {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            InputStream content = new ByteArrayInputStream("audio".getBytes());
+            testTrack.setFileUrl("http://localhost/uploads/music/old.mp3");
+            when(trackRepository.findById(1L)).thenReturn(Optional.of(testTrack));
+            StagedAudio staged = new StagedAudio(tempDir.resolve(".upload-1.tmp"), "new.mp3", 5L, "def456");
+            when(audioBlobStore.stage(content, ".mp3")).thenReturn(staged);
+            when(audioBlobStore.store(staged)).thenReturn(new StoredAudio("new.mp3", 5L, "def456"));
+            when(trackRepository.save(testTrack)).thenReturn(testTrack);
+            when(trackMapper.toDto(testTrack)).thenReturn(testTrackDto);
+
+            trackService.uploadFile(1L, content, "song.mp3");
+
+            assertEquals("http://localhost/uploads/music/new.mp3", testTrack.getFileUrl());
+            verify(audioBlobStore).release("old.mp3");
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void uploadFile_ShouldThrowRuntimeException_WhenInvalidId() {
+        when(trackRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> {
+            trackService.uploadFile(999L, InputStream.nullInputStream(), "song.mp3");
+        });
+    }
+
+    @Test
+    void uploadFile_ShouldStageBeforeTransaction_AndDiscardWhenItRollsBack() throws IOException {
+        InputStream content = new ByteArrayInputStream("audio".getBytes());
+        StagedAudio staged = new StagedAudio(tempDir.resolve(".upload-1.tmp"), "new.mp3", 5L, "def456");
+        when(audioBlobStore.stage(content, ".mp3")).thenReturn(staged);
+        when(trackRepository.findById(1L)).thenReturn(Optional.of(testTrack));
+        when(audioBlobStore.store(staged)).thenThrow(new RuntimeException("db down"));
+
+        assertThrows(RuntimeException.class, () -> trackService.uploadFile(1L, content, "song.mp3"));
+
+        InOrder inOrder = inOrder(audioBlobStore, transactionTemplate);
+        inOrder.verify(audioBlobStore).stage(content, ".mp3");
+        inOrder.verify(transactionTemplate).execute(any());
+        inOrder.verify(audioBlobStore).discard(staged);
+        verify(trackRepository, never()).save(any());
+    }
+
     @Test
     void show_ShouldReturnTrackDto_WhenValidId() {
         when(trackRepository.findById(1L)).thenReturn(Optional.of(testTrack));
@@ -172,6 +305,36 @@ class TrackServiceImplTest {
         verify(trackRepository).findById(999L);
     }
 
+    @Test
+    void getVersion_ShouldReadVersionColumnOnly_WhenValidId() {
+        when(trackRepository.findVersionById(1L)).thenReturn(Optional.of(4L));
+
+        assertEquals(4L, trackService.getVersion(1L));
+        verify(trackRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getVersion_ShouldThrowRuntimeException_WhenInvalidId() {
+        when(trackRepository.findVersionById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> trackService.getVersion(999L));
+    }
+
+    @Test
+    void getWaveformKey_ShouldDeriveKeyFromChecksum_WhenTrackHasFile() {
+        testTrack.setFileChecksum("abc");
+        when(trackRepository.findById(1L)).thenReturn(Optional.of(testTrack));
+
+        assertEquals("abc~waveform.bin", trackService.getWaveformKey(1L));
+    }
+
+    @Test
+    void getWaveformKey_ShouldThrowRuntimeException_WhenTrackHasNoFile() {
+        when(trackRepository.findById(1L)).thenReturn(Optional.of(testTrack));
+
+        assertThrows(RuntimeException.class, () -> trackService.getWaveformKey(1L));
+    }
+
     @Test
     void update_ShouldReturnUpdatedTrackDto_WhenValidId() {
         Track existingTrack = new Track();
@@ -292,7 +455,7 @@ class TrackServiceImplTest {
         Page<Track> trackPage = new PageImpl<>(tracks, pageable, 1);
         Page<TrackDto> expectedDtoPage = new PageImpl<>(Arrays.asList(testTrackDto), pageable, 1);
 
-        when(trackRepository.findByTitleContainingIgnoreCaseAndCategory("Test", MusicCategory.pop, pageable))
+        when(trackRepository.searchInCategory("Test", "test:*", "pop", pageable))
             .thenReturn(trackPage);
         when(trackMapper.toDto(testTrack)).thenReturn(testTrackDto);
 
@@ -302,7 +465,7 @@ class TrackServiceImplTest {
         assertEquals(1, result.getContent().size());
         assertEquals(testTrackDto.getTitle(), result.getContent().get(0).getTitle());
 
-        verify(trackRepository).findByTitleContainingIgnoreCaseAndCategory("Test", MusicCategory.pop, pageable);
+        verify(trackRepository).searchInCategory("Test", "test:*", "pop", pageable);
         verify(trackMapper).toDto(testTrack);
     }
 
@@ -312,7 +475,7 @@ class TrackServiceImplTest {
         List<Track> tracks = Arrays.asList(testTrack);
         Page<Track> trackPage = new PageImpl<>(tracks, pageable, 1);
 
-        when(trackRepository.findByTitleContainingIgnoreCase("Test", pageable))
+        when(trackRepository.search("Test", "test:*", pageable))
             .thenReturn(trackPage);
         when(trackMapper.toDto(testTrack)).thenReturn(testTrackDto);
 
@@ -322,7 +485,7 @@ class TrackServiceImplTest {
         assertEquals(1, result.getContent().size());
         assertEquals(testTrackDto.getTitle(), result.getContent().get(0).getTitle());
 
-        verify(trackRepository).findByTitleContainingIgnoreCase("Test", pageable);
+        verify(trackRepository).search("Test", "test:*", pageable);
         verify(trackMapper).toDto(testTrack);
     }
 
@@ -366,25 +529,242 @@ class TrackServiceImplTest {
         verify(trackMapper).toDto(testTrack);
     }
 
+    @Test
+    void search_ShouldFallBackToCategory_WhenTitleHasNoSearchableWords() {
+        Pageable pageable = PageRequest.of(0, 8);
+        Page<Track> trackPage = new PageImpl<>(Arrays.asList(testTrack), pageable, 1);
+
+        when(trackRepository.findByCategory(MusicCategory.pop, pageable))
+            .thenReturn(trackPage);
+        when(trackMapper.toDto(testTrack)).thenReturn(testTrackDto);
+
+        Page<TrackDto> result = trackService.search("  -- ", MusicCategory.pop, pageable);
+
+        assertEquals(1, result.getContent().size());
+        verify(trackRepository).findByCategory(MusicCategory.pop, pageable);
+    }
+
+    @Test
+    void search_ShouldStillAnswer_WhileLocalWriteIsInReadYourWritesWindow() {
+        Pageable pageable = PageRequest.of(0, 8);
+        Page<TrackSummary> summaries = new PageImpl<>(List.of(), pageable, 0);
+        when(recentWrites.any()).thenReturn(true);
+        when(trackRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(testTrack), pageable, 1));
+        when(trackMapper.toDto(testTrack)).thenReturn(testTrackDto);
+        when(trackRepository.findAllSummaries(pageable)).thenReturn(summaries);
+
+        assertEquals(List.of(testTrackDto), trackService.search(null, null, pageable).getContent());
+        assertSame(summaries, trackService.searchSummaries(null, null, pageable));
+        verify(recentWrites, times(2)).any();
+    }
+
+    @Test
+    void prefixQuery_ShouldMatchEveryWordAsPrefix() {
+        assertEquals("love:* & so:*", TrackServiceImpl.prefixQuery(" Love,  so"));
+        assertEquals("café:* & 2000:*", TrackServiceImpl.prefixQuery("Café 2000"));
+        assertEquals("don:* & t:*", TrackServiceImpl.prefixQuery("don't"));
+        assertNull(TrackServiceImpl.prefixQuery("'&|!:*()"));
+        assertNull(TrackServiceImpl.prefixQuery(null));
+    }
+
+    @Test
+    void extension_ShouldOnlyKeepShortAlphanumericSuffixes() {
+        assertEquals(".mp3", TrackServiceImpl.extension("song.MP3"));
+        assertEquals(".flac", TrackServiceImpl.extension("a.b.flac"));
+        assertEquals("", TrackServiceImpl.extension("evil.mp3/../../x"));
+        assertEquals("", TrackServiceImpl.extension("song.mp3;rm -rf"));
+        assertEquals("", TrackServiceImpl.extension("song.toolongext"));
+        assertEquals("", TrackServiceImpl.extension("song."));
+        assertEquals("", TrackServiceImpl.extension("song"));
+        assertEquals("", TrackServiceImpl.extension(null));
+    }
+
+    @Test
+    void scroll_ShouldReturnNextCursor_WhenMoreRowsExist() {
+        Track second = new Track();
+        second.setId(2L);
+        second.setTitle("Second Song");
+        Track third = new Track();
+        third.setId(3L);
+        when(trackRepository.scrollById(0L, Limit.of(3)))
+            .thenReturn(List.of(testTrack, second, third));
+        when(trackMapper.toDto(any(Track.class))).thenReturn(testTrackDto);
+
+        CursorPage<TrackDto> result = trackService.scroll(null, null, TrackSort.id, null, 2);
+
+        assertEquals(2, result.getContent().size());
+        assertTrue(result.isHasNext());
+        assertNotNull(result.getNext());
+        verify(trackMapper, never()).toDto(third);
+
+        when(trackRepository.scrollById(2L, Limit.of(3))).thenReturn(List.of(third));
+
+        CursorPage<TrackDto> next = trackService.scroll(null, null, TrackSort.id, result.getNext(), 2);
+
+        assertEquals(1, next.getContent().size());
+        assertFalse(next.isHasNext());
+        assertNull(next.getNext());
+    }
+
+    @Test
+    void scroll_ShouldResumeAfterTitleAndId_WhenSortedByTitle() {
+        when(trackRepository.scrollInCategoryByTitle(MusicCategory.pop, "", 0L, Limit.of(2)))
+            .thenReturn(List.of(testTrack, new Track()));
+        when(trackMapper.toDto(testTrack)).thenReturn(testTrackDto);
+
+        CursorPage<TrackDto> result = trackService.scroll(null, MusicCategory.pop, TrackSort.title, "", 1);
+
+        when(trackRepository.scrollInCategoryByTitle(MusicCategory.pop, "Test Song", 1L, Limit.of(2)))
+            .thenReturn(List.of());
+
+        CursorPage<TrackDto> next = trackService.scroll(null, MusicCategory.pop, TrackSort.title, result.getNext(), 1);
+
+        assertTrue(next.getContent().isEmpty());
+        assertFalse(next.isHasNext());
+    }
+
+    @Test
+    void scroll_ShouldUseFullTextKeyset_WhenTitleProvided() {
+        when(trackRepository.scrollSearchById("Test", "test:*", "pop", 0L, 9)).thenReturn(List.of(testTrack));
+        when(trackMapper.toDto(testTrack)).thenReturn(testTrackDto);
+
+        CursorPage<TrackDto> result = trackService.scroll("Test", MusicCategory.pop, TrackSort.id, null, 8);
+
+        assertEquals(1, result.getSize());
+        assertFalse(result.isHasNext());
+        verify(trackRepository).scrollSearchById("Test", "test:*", "pop", 0L, 9);
+    }
+
+    @Test
+    void scroll_ShouldRejectCursor_WhenIssuedForAnotherSort() {
+        String token = TrackCursor.after(TrackSort.title, testTrack).encode();
+
+        assertThrows(ResponseStatusException.class, () ->
+            trackService.scroll(null, null, TrackSort.id, token, 8));
+        assertThrows(ResponseStatusException.class, () ->
+            trackService.scroll(null, null, TrackSort.id, "not-a-cursor", 8));
+    }
+
     @Test
     void delete_ShouldDeleteTrack_WhenValidId() {
-        when(trackRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(trackRepository).deleteById(1L);
+        when(trackRepository.findById(1L)).thenReturn(Optional.of(testTrack));
+        doNothing().when(trackRepository).delete(testTrack);
+
+        trackService.delete(1L);
+
+        verify(trackRepository).findById(1L);
+        verify(trackRepository).delete(testTrack);
+        verify(audioBlobStore, never()).release(any());
+    }
+
+    @Test
+    void recordHls_ShouldSetStatusAndSiblingPlaylistUrl_WhenAudioUnchanged() {
+        testTrack.setFileUrl("http://localhost/uploads/music/abc.mp3");
+        when(trackRepository.findById(1L)).thenReturn(Optional.of(testTrack));
+
+        trackService.recordHls(1L, "abc.mp3", ProcessingStatus.ready, "abc~hls.m3u8");
+
+        assertEquals(ProcessingStatus.ready, testTrack.getHlsStatus());
+        assertEquals("http://localhost/uploads/music/abc~hls.m3u8", testTrack.getHlsPlaylistUrl());
+    }
+
+    @Test
+    void recordHls_ShouldIgnoreResult_WhenAudioWasReplaced() {
+        testTrack.setFileUrl("http://localhost/uploads/music/new.mp3");
+        when(trackRepository.findById(1L)).thenReturn(Optional.of(testTrack));
+
+        trackService.recordHls(1L, "abc.mp3", ProcessingStatus.ready, "abc~hls.m3u8");
+
+        assertNull(testTrack.getHlsStatus());
+        assertNull(testTrack.getHlsPlaylistUrl());
+    }
+
+    @Test
+    void recordMetadata_ShouldReplaceClientDuration_WhenExtracted() {
+        testTrack.setFileUrl("http://localhost/uploads/music/abc.mp3");
+        when(trackRepository.findById(1L)).thenReturn(Optional.of(testTrack));
+
+        trackService.recordMetadata(1L, "abc.mp3", ProcessingStatus.ready,
+            new AudioMetadata(242L, 320, 44100, "MPEG-1 Layer 3"));
+
+        assertEquals(ProcessingStatus.ready, testTrack.getMetadataStatus());
+        assertEquals(242L, testTrack.getDuration());
+        assertEquals(320, testTrack.getBitrate());
+        assertEquals(44100, testTrack.getSampleRate());
+        assertEquals("MPEG-1 Layer 3", testTrack.getCodec());
+    }
+
+    @Test
+    void recordMetadata_ShouldKeepDuration_WhenExtractionFailed() {
+        testTrack.setFileUrl("http://localhost/uploads/music/abc.mp3");
+        when(trackRepository.findById(1L)).thenReturn(Optional.of(testTrack));
+
+        trackService.recordMetadata(1L, "abc.mp3", ProcessingStatus.failed, null);
+
+        assertEquals(ProcessingStatus.failed, testTrack.getMetadataStatus());
+        assertEquals(180L, testTrack.getDuration());
+    }
+
+    @Test
+    void delete_ShouldReleaseAudioBlob_WhenTrackHasFile() {
+        testTrack.setFileUrl("http://localhost/uploads/music/abc.mp3");
+        when(trackRepository.findById(1L)).thenReturn(Optional.of(testTrack));
 
         trackService.delete(1L);
 
-        verify(trackRepository).existsById(1L);
-        verify(trackRepository).deleteById(1L);
+        verify(trackRepository).delete(testTrack);
+        verify(audioBlobStore).release("abc.mp3");
     }
 
     @Test
     void delete_ShouldThrowRuntimeException_WhenInvalidId() {
-        when(trackRepository.existsById(999L)).thenReturn(false);
+        when(trackRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(RuntimeException.class, () -> {
             trackService.delete(999L);
         });
 
-        verify(trackRepository).existsById(999L);
+        verify(trackRepository).findById(999L);
+        verify(trackRepository, never()).delete(any());
+    }
+
+    private static TrackSummary summary(long id, String title) {
+        TrackSummary summary = mock(TrackSummary.class);
+        lenient().when(summary.getId()).thenReturn(id);
+        lenient().when(summary.getTitle()).thenReturn(title);
+        return summary;
+    }
+
+    @Test
+    void searchSummaries_ShouldUseProjectionQueries_WithoutMapping() {
+        Pageable pageable = PageRequest.of(0, 8);
+        Page<TrackSummary> page = new PageImpl<>(List.of(summary(1L, "Test Song")), pageable, 1);
+        when(trackRepository.searchSummariesInCategory("Test", "test:*", "pop", pageable)).thenReturn(page);
+        when(trackRepository.searchSummaries("Test", "test:*", pageable)).thenReturn(page);
+        when(trackRepository.findSummariesByCategory(MusicCategory.pop, pageable)).thenReturn(page);
+        when(trackRepository.findAllSummaries(pageable)).thenReturn(page);
+
+        assertSame(page, trackService.searchSummaries("Test", MusicCategory.pop, pageable));
+        assertSame(page, trackService.searchSummaries("Test", null, pageable));
+        assertSame(page, trackService.searchSummaries(null, MusicCategory.pop, pageable));
+        assertSame(page, trackService.searchSummaries(null, null, pageable));
+
+        verify(trackRepository, never()).findAll(any(Pageable.class));
+        verifyNoInteractions(trackMapper);
+    }
+
+    @Test
+    void scrollSummaries_ShouldFetchOneExtraRowAndEncodeTitleCursor() {
+        List<TrackSummary> rows = List.of(summary(4L, "A"), summary(2L, "B"), summary(9L, "C"));
+        when(trackRepository.scrollSummariesByTitle("", 0L, Limit.of(3))).thenReturn(rows);
+
+        CursorPage<TrackSummary> page = trackService.scrollSummaries(null, null, TrackSort.title, null, 2);
+
+        assertEquals(2, page.getContent().size());
+        assertTrue(page.isHasNext());
+        TrackCursor next = TrackCursor.decode(page.getNext(), TrackSort.title);
+        assertEquals("B", next.title());
+        assertEquals(2L, next.id());
+        verifyNoInteractions(trackMapper);
     }
 }
@@ -0,0 +1,125 @@
+package com.example.MusicStream.service;
+
+import com.example.MusicStream.dto.TrackDto;
+import com.example.MusicStream.entity.MusicCategory;
+import com.example.MusicStream.entity.TrendingScore;
+import com.example.MusicStream.repository.TrendingScoreRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrendingServiceImplTest {
+
+    @Mock
+    private TrackService trackService;
+
+    @Mock
+    private TrendingScoreRepository trendingScoreRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private TrendingServiceImpl trendingService;
+
+    @BeforeEach
+    void setUp() {
+        trendingService = new TrendingServiceImpl(trackService, trendingScoreRepository, jdbcTemplate, transactionTemplate,
+            50, Duration.ofHours(6));
+    }
+
+    private static TrackDto track(long id, MusicCategory category) {
+        TrackDto dto = new TrackDto();
+        dto.setId(id);
+        dto.setCategory(category);
+        return dto;
+    }
+
+    @Test
+    void trending_ShouldRankWithinCategoryAndOverall() {
+        when(trackService.show(1L)).thenReturn(track(1L, MusicCategory.rock));
+        when(trackService.show(2L)).thenReturn(track(2L, MusicCategory.jazz));
+        trendingService.recordPlay(1L, MusicCategory.rock);
+        trendingService.recordPlay(2L, MusicCategory.jazz);
+        trendingService.recordPlay(2L, MusicCategory.jazz);
+
+        assertEquals(List.of(2L, 1L), trendingService.trending(null, 10).stream().map(TrackDto::getId).toList());
+        assertEquals(List.of(1L), trendingService.trending(MusicCategory.rock, 10).stream().map(TrackDto::getId).toList());
+    }
+
+    @Test
+    void trending_ShouldSkipDeletedAndRecategorisedTracks() {
+        when(trackService.show(1L)).thenThrow(new TrackNotFoundException(1L));
+        when(trackService.show(2L)).thenReturn(track(2L, MusicCategory.pop));
+        when(trackService.show(3L)).thenReturn(track(3L, MusicCategory.rock));
+        trendingService.recordPlay(1L, MusicCategory.rock);
+        trendingService.recordPlay(2L, MusicCategory.rock);
+        trendingService.recordPlay(3L, MusicCategory.rock);
+
+        assertEquals(List.of(3L), trendingService.trending(MusicCategory.rock, 10).stream().map(TrackDto::getId).toList());
+        trendingService.trending(MusicCategory.rock, 10);
+        verify(trackService, times(1)).show(1L);
+    }
+
+    @Test
+    void trending_ShouldPropagateLookupFailures_AndKeepTheTrack() {
+        when(trackService.show(1L)).thenThrow(new RuntimeException("connection refused"));
+        trendingService.recordPlay(1L, MusicCategory.rock);
+
+        assertThrows(RuntimeException.class, () -> trendingService.trending(null, 10));
+
+        reset(trackService);
+        when(trackService.show(1L)).thenReturn(track(1L, MusicCategory.rock));
+        assertEquals(List.of(1L), trendingService.trending(null, 10).stream().map(TrackDto::getId).toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void snapshot_ShouldReplaceStoredScores_AndRestoreThemOnStartup() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        trendingService.recordPlay(7L, MusicCategory.rap);
+
+        trendingService.snapshot();
+
+        ArgumentCaptor<List<TrendingScore>> saved = ArgumentCaptor.forClass(List.class);
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute(startsWith("LOCK TABLE trending_score"));
+        inOrder.verify(jdbcTemplate).update("DELETE FROM trending_score");
+        inOrder.verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO trending_score"), saved.capture(), eq(2), any());
+        assertEquals(List.of(TrendingScore.ALL, "rap"), saved.getValue().stream().map(TrendingScore::getScope).toList());
+        verify(trendingScoreRepository, never()).saveAll(any());
+
+        TrendingServiceImpl restarted = new TrendingServiceImpl(trackService, trendingScoreRepository, jdbcTemplate,
+            transactionTemplate, 50, Duration.ofHours(6));
+        when(trendingScoreRepository.findAll()).thenReturn(List.of(
+            new TrendingScore("rap", 7L, 4.0, Instant.now()),
+            new TrendingScore("unknown", 8L, 9.0, Instant.now())));
+        when(trackService.show(7L)).thenReturn(track(7L, MusicCategory.rap));
+
+        restarted.restore();
+
+        assertEquals(List.of(7L), restarted.trending(MusicCategory.rap, 10).stream().map(TrackDto::getId).toList());
+        assertTrue(restarted.trending(null, 10).isEmpty());
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.MusicStream.service;
+
+import com.example.MusicStream.entity.MusicCategory;
+import com.example.MusicStream.entity.TrendingScore;
+import com.example.MusicStream.repository.TrendingScoreRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jpa.autoconfigure.DataJpaRepositoriesAutoConfiguration;
+import org.springframework.boot.flyway.autoconfigure.FlywayAutoConfiguration;
+import org.springframework.boot.hibernate.autoconfigure.HibernateJpaAutoConfiguration;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceAutoConfiguration;
+import org.springframework.boot.jdbc.autoconfigure.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.persistence.autoconfigure.EntityScan;
+import org.springframework.boot.transaction.autoconfigure.TransactionAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Writes trending snapshots into a real PostgreSQL, where the table lock and batch insert run.
+ */
+@SpringJUnitConfig
+@ImportAutoConfiguration({DataSourceAutoConfiguration.class, JdbcTemplateAutoConfiguration.class,
+        FlywayAutoConfiguration.class, HibernateJpaAutoConfiguration.class, DataJpaRepositoriesAutoConfiguration.class,
+        TransactionAutoConfiguration.class})
+class TrendingSnapshotPostgresTest {
+
+    private static final EmbeddedPostgres POSTGRES = start();
+
+    @Configuration
+    @EntityScan(basePackageClasses = TrendingScore.class)
+    @EnableJpaRepositories(basePackageClasses = TrendingScoreRepository.class)
+    static class Config {
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    }
+
+    @Autowired
+    private TrendingScoreRepository trendingScoreRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        POSTGRES.close();
+    }
+
+    @Test
+    void snapshot_ShouldReplaceTheStoredScores() {
+        TrendingServiceImpl trendingService = new TrendingServiceImpl(null, trendingScoreRepository, jdbcTemplate,
+                transactionTemplate, 50, Duration.ofHours(6));
+        trendingService.recordPlay(1L, MusicCategory.rock);
+        trendingService.snapshot();
+        trendingService.recordPlay(2L, MusicCategory.jazz);
+        trendingService.recordPlay(2L, MusicCategory.jazz);
+
+        trendingService.snapshot();
+
+        List<TrendingScore> stored = trendingScoreRepository.findAll().stream()
+                .sorted(Comparator.comparing(TrendingScore::getScope).thenComparing(TrendingScore::getTrackId))
+                .toList();
+        assertEquals(List.of("all:1", "all:2", "jazz:2", "rock:1"),
+                stored.stream().map(score -> score.getScope() + ":" + score.getTrackId()).toList());
+        assertEquals(2.0, stored.get(2).getScore(), 0.01);
+        assertNotNull(stored.get(0).getTakenAt());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.MusicStream.storage;
+
+import com.example.MusicStream.entity.AudioBlob;
+import com.example.MusicStream.repository.AudioBlobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AudioBlobStoreTest {
+
+    @Mock
+    private AudioStager audioStager;
+
+    @Mock
+    private TrackStorage trackStorage;
+
+    @Mock
+    private AudioBlobRepository audioBlobRepository;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private ObservationRegistry observationRegistry = ObservationRegistry.create();
+
+    @InjectMocks
+    private AudioBlobStore audioBlobStore;
+
+    @Test
+    void store_ShouldPinBlobBeforePublishingFile() throws IOException {
+        InputStream content = new ByteArrayInputStream("test".getBytes());
+        StagedAudio staged = new StagedAudio(Path.of("uploads/music/.upload-1.tmp"), "abc.mp3", 4L, "abc");
+        when(audioStager.stage(content, ".mp3")).thenReturn(staged);
+
+        StoredAudio stored = audioBlobStore.store(audioBlobStore.stage(content, ".mp3"));
+
+        assertEquals(new StoredAudio("abc.mp3", 4L, "abc"), stored);
+        InOrder inOrder = inOrder(audioBlobRepository, trackStorage);
+        inOrder.verify(audioBlobRepository).acquire("abc.mp3", "abc", 4L);
+        inOrder.verify(trackStorage).put("abc.mp3", staged.temp());
+        verify(audioStager, never()).discard(any());
+        assertEquals(4, meterRegistry.get("track.upload.bytes").counter().count());
+    }
+
+    @Test
+    void store_ShouldNotPublishFile_WhenPinningFails() throws IOException {
+        StagedAudio staged = new StagedAudio(Path.of("uploads/music/.upload-1.tmp"), "abc.mp3", 4L, "abc");
+        doThrow(new RuntimeException("db down")).when(audioBlobRepository).acquire(anyString(), anyString(), anyLong());
+
+        assertThrows(RuntimeException.class, () -> audioBlobStore.store(staged));
+
+        verify(trackStorage, never()).put(any(), any());
+    }
+
+    @Test
+    void discard_ShouldSwallowFailures_LeavingTheTempToThePurge() throws IOException {
+        StagedAudio staged = new StagedAudio(Path.of("uploads/music/.upload-1.tmp"), "abc.mp3", 4L, "abc");
+        doThrow(new IOException("busy")).when(audioStager).discard(staged);
+
+        audioBlobStore.discard(staged);
+
+        verify(audioStager).discard(staged);
+    }
+
+    @Test
+    void release_ShouldDecrementReferenceCount() {
+        audioBlobStore.release("abc.mp3");
+
+        verify(audioBlobRepository).release(eq("abc.mp3"), any(Instant.class));
+    }
+
+    @Test
+    void reclaim_ShouldDeleteFileAndRow_WhenBlobIsUnreferenced() throws IOException {
+        AudioBlob blob = new AudioBlob("abc.mp3", "abc", 4L, 0L, Instant.now());
+        when(audioBlobRepository.findForUpdate("abc.mp3")).thenReturn(Optional.of(blob));
+
+        assertTrue(audioBlobStore.reclaim("abc.mp3"));
+
+        verify(trackStorage).delete("abc.mp3");
+        verify(audioBlobRepository).delete(blob);
+    }
+
+    @Test
+    void reclaim_ShouldKeepBlob_WhenReacquiredInTheMeantime() throws IOException {
+        AudioBlob blob = new AudioBlob("abc.mp3", "abc", 4L, 1L, null);
+        when(audioBlobRepository.findForUpdate("abc.mp3")).thenReturn(Optional.of(blob));
+
+        assertFalse(audioBlobStore.reclaim("abc.mp3"));
+
+        verify(trackStorage, never()).delete(any());
+        verify(audioBlobRepository, never()).delete(any());
+    }
+}
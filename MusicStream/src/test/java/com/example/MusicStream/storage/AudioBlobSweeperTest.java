@@ -0,0 +1,99 @@
+package com.example.MusicStream.storage;
+
+import com.example.MusicStream.repository.AudioBlobRepository;
+import com.example.MusicStream.repository.TrackRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AudioBlobSweeperTest {
+
+    @Mock
+    private AudioBlobStore audioBlobStore;
+
+    @Mock
+    private AudioStager audioStager;
+
+    @Mock
+    private TrackStorage trackStorage;
+
+    @Mock
+    private AudioBlobRepository audioBlobRepository;
+
+    @Mock
+    private TrackRepository trackRepository;
+
+    private AudioBlobSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        sweeper = new AudioBlobSweeper(audioBlobStore, audioStager, trackStorage, audioBlobRepository,
+                trackRepository, Duration.ofHours(1));
+    }
+
+    @Test
+    void sweep_ShouldReclaimReleasedBlobs() throws IOException {
+        when(audioBlobRepository.findReleasedBefore(any(Instant.class))).thenReturn(List.of("a.mp3", "b.mp3"));
+        when(trackStorage.list()).thenReturn(List.of());
+
+        sweeper.sweep();
+
+        verify(audioBlobStore).reclaim("a.mp3");
+        verify(audioBlobStore).reclaim("b.mp3");
+    }
+
+    @Test
+    void sweep_ShouldDeleteOnlyOldUnreferencedFiles() throws IOException {
+        Instant old = Instant.now().minus(Duration.ofDays(1));
+        when(audioBlobRepository.findReleasedBefore(any(Instant.class))).thenReturn(List.of());
+        when(trackStorage.list()).thenReturn(List.of(
+                new StoredObject("orphan.mp3", 1, old, "\"a\""),
+                new StoredObject("blob.mp3", 1, old, "\"b\""),
+                new StoredObject("legacy.mp3", 1, old, "\"c\""),
+                new StoredObject("fresh.mp3", 1, Instant.now(), "\"d\"")));
+        when(audioBlobRepository.existsById("orphan.mp3")).thenReturn(false);
+        when(trackRepository.existsByFileUrlEndingWith("/orphan.mp3")).thenReturn(false);
+        when(audioBlobRepository.existsById("blob.mp3")).thenReturn(true);
+        when(audioBlobRepository.existsById("legacy.mp3")).thenReturn(false);
+        when(trackRepository.existsByFileUrlEndingWith("/legacy.mp3")).thenReturn(true);
+
+        sweeper.sweep();
+
+        verify(audioStager).purgeStale(any(Instant.class));
+        verify(trackStorage).delete("orphan.mp3");
+        verify(trackStorage, never()).delete("blob.mp3");
+        verify(trackStorage, never()).delete("legacy.mp3");
+        verify(trackStorage, never()).delete("fresh.mp3");
+    }
+
+    @Test
+    void sweep_ShouldDeleteDerivedObjects_OnlyWhenTheirAudioIsGone() throws IOException {
+        Instant old = Instant.now().minus(Duration.ofDays(1));
+        String live = "a".repeat(64);
+        String gone = "b".repeat(64);
+        when(audioBlobRepository.findReleasedBefore(any(Instant.class))).thenReturn(List.of());
+        when(trackStorage.list()).thenReturn(List.of(
+                new StoredObject(live + "~hls.m3u8", 1, old, "\"a\""),
+                new StoredObject(gone + "~hls-64k-00000.ts", 1, old, "\"b\"")));
+        when(audioBlobRepository.existsByChecksum(live)).thenReturn(true);
+        when(audioBlobRepository.existsByChecksum(gone)).thenReturn(false);
+        when(trackRepository.existsByFileChecksum(gone)).thenReturn(false);
+
+        sweeper.sweep();
+
+        verify(trackStorage, never()).delete(live + "~hls.m3u8");
+        verify(trackStorage).delete(gone + "~hls-64k-00000.ts");
+        verify(audioBlobRepository, never()).existsById(any());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.MusicStream.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AudioStagerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private AudioStager stager;
+
+    @BeforeEach
+    void setUp() {
+        stager = new AudioStager(tempDir.toString(), DataSize.ofKilobytes(256));
+    }
+
+    @Test
+    void stage_ShouldWriteContentAndComputeSizeAndChecksum() throws IOException {
+        StagedAudio staged = stager.stage(new ByteArrayInputStream("test".getBytes()), ".MP3");
+
+        assertEquals("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08.mp3", staged.name());
+        assertEquals(4L, staged.size());
+        assertEquals("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08", staged.checksum());
+        assertEquals("test", Files.readString(staged.temp()));
+    }
+
+    @Test
+    void stage_ShouldHandleContentLargerThanOneBuffer() throws IOException {
+        byte[] content = new byte[200 * 1024 + 17];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+
+        StagedAudio staged = stager.stage(new ByteArrayInputStream(content), ".flac");
+
+        assertEquals(content.length, staged.size());
+        assertArrayEquals(content, Files.readAllBytes(staged.temp()));
+    }
+
+    @Test
+    void stage_ShouldRejectAndCleanUp_WhenContentExceedsMaxSize() throws IOException {
+        byte[] content = new byte[300 * 1024];
+
+        assertThrows(MaxUploadSizeExceededException.class, () -> {
+            stager.stage(new ByteArrayInputStream(content), ".mp3");
+        });
+
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void discard_ShouldDeleteStagedFile() throws IOException {
+        StagedAudio staged = stager.stage(new ByteArrayInputStream("test".getBytes()), ".mp3");
+
+        stager.discard(staged);
+
+        assertFalse(Files.exists(staged.temp()));
+    }
+
+    @Test
+    void purgeStale_ShouldDeleteOnlyOldTempFiles() throws IOException {
+        StagedAudio old = stager.stage(new ByteArrayInputStream("old".getBytes()), ".mp3");
+        Files.setLastModifiedTime(old.temp(), FileTime.from(Instant.now().minus(Duration.ofDays(1))));
+        StagedAudio fresh = stager.stage(new ByteArrayInputStream("fresh".getBytes()), ".mp3");
+        Path stored = Files.writeString(tempDir.resolve("abc.mp3"), "stored");
+        Files.setLastModifiedTime(stored, FileTime.from(Instant.now().minus(Duration.ofDays(1))));
+
+        int purged = stager.purgeStale(Instant.now().minus(Duration.ofHours(1)));
+
+        assertEquals(1, purged);
+        assertFalse(Files.exists(old.temp()));
+        assertTrue(Files.exists(fresh.temp()));
+        assertTrue(Files.exists(stored));
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.MusicStream.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalTrackStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path root;
+    private LocalTrackStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        root = tempDir.resolve("music");
+        storage = new LocalTrackStorage(root);
+    }
+
+    @Test
+    void put_ShouldMoveSourceIntoPlace() throws IOException {
+        Path source = Files.writeString(tempDir.resolve(".upload-1.tmp"), "0123456789");
+
+        storage.put("abc.mp3", source);
+
+        assertFalse(Files.exists(source));
+        assertEquals("0123456789", Files.readString(root.resolve("abc.mp3")));
+    }
+
+    @Test
+    void put_ShouldKeepExistingObject_WhenKeyAlreadyStored() throws IOException {
+        storage.put("abc.mp3", Files.writeString(tempDir.resolve(".upload-1.tmp"), "first"));
+        Path duplicate = Files.writeString(tempDir.resolve(".upload-2.tmp"), "first");
+
+        storage.put("abc.mp3", duplicate);
+
+        assertFalse(Files.exists(duplicate));
+        assertEquals(1, storage.list().size());
+    }
+
+    @Test
+    void put_ShouldRejectKeysOutsideRoot() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            storage.put("../escape.mp3", tempDir.resolve("missing"));
+        });
+    }
+
+    @Test
+    void stat_ShouldDescribeStoredObject() throws IOException {
+        storage.put("abc.mp3", Files.writeString(tempDir.resolve(".upload-1.tmp"), "0123456789"));
+
+        StoredObject object = storage.stat("abc.mp3").orElseThrow();
+
+        assertEquals("abc.mp3", object.key());
+        assertEquals(10, object.size());
+        assertNotNull(object.etag());
+        assertTrue(storage.stat("missing.mp3").isEmpty());
+    }
+
+    @Test
+    void getRange_ShouldReturnRequestedBytesOnly() throws IOException {
+        storage.put("abc.mp3", Files.writeString(tempDir.resolve(".upload-1.tmp"), "0123456789"));
+
+        try (InputStream in = storage.getRange("abc.mp3", 3, 4)) {
+            assertEquals("3456", new String(in.readAllBytes()));
+        }
+    }
+
+    @Test
+    void list_ShouldSkipHiddenTempFiles() throws IOException {
+        storage.put("abc.mp3", Files.writeString(tempDir.resolve(".upload-1.tmp"), "0123456789"));
+        Files.writeString(root.resolve(".upload-2.tmp"), "partial");
+
+        List<StoredObject> objects = storage.list();
+
+        assertEquals(1, objects.size());
+        assertEquals("abc.mp3", objects.get(0).key());
+    }
+
+    @Test
+    void delete_ShouldRemoveObject() throws IOException {
+        storage.put("abc.mp3", Files.writeString(tempDir.resolve(".upload-1.tmp"), "0123456789"));
+
+        storage.delete("abc.mp3");
+
+        assertTrue(storage.localPath("abc.mp3").isEmpty());
+    }
+
+    @Test
+    void localPath_ShouldReturnEmpty_WhenKeyEscapesRoot() throws IOException {
+        Files.writeString(tempDir.resolve("secret.txt"), "secret");
+
+        assertTrue(storage.localPath("../secret.txt").isEmpty());
+        assertTrue(storage.localPath("missing.mp3").isEmpty());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.MusicStream.storage;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObservedTrackStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final List<Observation.Context> stopped = new CopyOnWriteArrayList<>();
+    private ObservedTrackStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onStop(Observation.Context context) {
+                stopped.add(context);
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+        storage = new ObservedTrackStorage(new LocalTrackStorage(tempDir.resolve("music")), registry);
+    }
+
+    @Test
+    void put_ShouldRecordSizeOfSource() throws IOException {
+        storage.put("abc.mp3", Files.writeString(tempDir.resolve(".upload-1.tmp"), "0123456789"));
+
+        Observation.Context put = stopped.get(0);
+        assertEquals(ObservedTrackStorage.NAME, put.getName());
+        assertEquals("put", put.getLowCardinalityKeyValue("operation").getValue());
+        assertEquals("abc.mp3", put.getHighCardinalityKeyValue("key").getValue());
+        assertEquals("10", put.getHighCardinalityKeyValue("bytes").getValue());
+    }
+
+    @Test
+    void getRange_ShouldStopWhenStreamClosed_WithBytesRead() throws IOException {
+        storage.put("abc.mp3", Files.writeString(tempDir.resolve(".upload-1.tmp"), "0123456789"));
+        stopped.clear();
+
+        try (InputStream in = storage.getRange("abc.mp3", 2, 4)) {
+            assertTrue(stopped.isEmpty());
+            assertEquals("2345", new String(in.readAllBytes()));
+        }
+
+        assertEquals(1, stopped.size());
+        assertEquals("get", stopped.get(0).getLowCardinalityKeyValue("operation").getValue());
+        assertEquals("4", stopped.get(0).getHighCardinalityKeyValue("bytes").getValue());
+    }
+
+    @Test
+    void getRange_ShouldRecordError_WhenKeyMissing() {
+        assertThrows(IOException.class, () -> storage.getRange("missing.mp3", 0, 4));
+
+        assertNotNull(stopped.get(0).getError());
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.MusicStream.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.*;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class S3TrackStorageTest {
+
+    @Mock
+    private S3Client s3Client;
+
+    @TempDir
+    Path tempDir;
+
+    private S3Presigner presigner;
+    private ExecutorService executor;
+    private S3TrackStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        presigner = S3Presigner.builder()
+                .region(Region.US_EAST_1)
+                .endpointOverride(URI.create("http://localhost:9000"))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("minio", "minio123")))
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                .build();
+        executor = Executors.newFixedThreadPool(2);
+        storage = new S3TrackStorage(s3Client, presigner, "tracks", "music/", 4, Duration.ofMinutes(5), executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        presigner.close();
+    }
+
+    @Test
+    void put_ShouldUseSinglePut_WhenFileFitsInOnePart() throws IOException {
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenThrow(NoSuchKeyException.builder().build());
+        Path source = Files.writeString(tempDir.resolve(".upload-1.tmp"), "abc");
+
+        storage.put("abc.mp3", source);
+
+        ArgumentCaptor<PutObjectRequest> request = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3Client).putObject(request.capture(), any(RequestBody.class));
+        assertEquals("tracks", request.getValue().bucket());
+        assertEquals("music/abc.mp3", request.getValue().key());
+        assertFalse(Files.exists(source));
+    }
+
+    @Test
+    void put_ShouldUploadPartsInParallelAndComplete_WhenFileIsLarge() throws IOException {
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenThrow(NoSuchKeyException.builder().build());
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        Map<Integer, String> partContents = new ConcurrentHashMap<>();
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenAnswer(invocation -> {
+            UploadPartRequest part = invocation.getArgument(0);
+            RequestBody body = invocation.getArgument(1);
+            try (InputStream in = body.contentStreamProvider().newStream()) {
+                partContents.put(part.partNumber(), new String(in.readAllBytes()));
+            }
+            return UploadPartResponse.builder().eTag("etag-" + part.partNumber()).build();
+        });
+        Path source = Files.writeString(tempDir.resolve(".upload-1.tmp"), "0123456789");
+
+        storage.put("abc.mp3", source);
+
+        assertEquals(Map.of(1, "0123", 2, "4567", 3, "89"), partContents);
+        ArgumentCaptor<CompleteMultipartUploadRequest> complete = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3Client).completeMultipartUpload(complete.capture());
+        assertEquals("upload-1", complete.getValue().uploadId());
+        assertEquals(List.of("etag-1", "etag-2", "etag-3"),
+                complete.getValue().multipartUpload().parts().stream().map(CompletedPart::eTag).toList());
+        assertFalse(Files.exists(source));
+    }
+
+    @Test
+    void put_ShouldAbortMultipartUpload_WhenPartFails() throws IOException {
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenThrow(NoSuchKeyException.builder().build());
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenThrow(S3Exception.builder().statusCode(500).message("boom").build());
+        Path source = Files.writeString(tempDir.resolve(".upload-1.tmp"), "0123456789");
+
+        assertThrows(IOException.class, () -> storage.put("abc.mp3", source));
+
+        verify(s3Client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    @Test
+    void put_ShouldSkipUpload_WhenObjectAlreadyExists() throws IOException {
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+                .contentLength(3L).eTag("\"e\"").lastModified(Instant.now()).build());
+        Path source = Files.writeString(tempDir.resolve(".upload-1.tmp"), "abc");
+
+        storage.put("abc.mp3", source);
+
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        assertFalse(Files.exists(source));
+    }
+
+    @Test
+    void stat_ShouldReturnEmpty_WhenObjectMissing() throws IOException {
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenThrow(NoSuchKeyException.builder().build());
+
+        assertTrue(storage.stat("missing.mp3").isEmpty());
+    }
+
+    @Test
+    void getRange_ShouldRequestByteRange() throws IOException {
+        storage.getRange("abc.mp3", 10, 5);
+
+        ArgumentCaptor<GetObjectRequest> request = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(s3Client).getObject(request.capture());
+        assertEquals("music/abc.mp3", request.getValue().key());
+        assertEquals("bytes=10-14", request.getValue().range());
+    }
+
+    @Test
+    void presignedUrl_ShouldPointAtObjectInBucket() {
+        URI url = storage.presignedUrl("abc.mp3").orElseThrow();
+
+        assertEquals("localhost", url.getHost());
+        assertTrue(url.getPath().endsWith("/tracks/music/abc.mp3"));
+        assertTrue(url.getQuery().contains("X-Amz-Signature"));
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.MusicStream.streaming;
+
+import com.example.MusicStream.storage.LocalTrackStorage;
+import com.example.MusicStream.storage.StoredObject;
+import com.example.MusicStream.storage.TrackStorage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AudioStreamerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private Path file;
+    private AudioStreamer audioStreamer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = tempDir.resolve("track.mp3");
+        Files.write(file, "0123456789abcdefghij".getBytes(StandardCharsets.US_ASCII));
+        audioStreamer = new AudioStreamer(new LocalTrackStorage(tempDir), meterRegistry, ObservationRegistry.NOOP);
+    }
+
+    @Test
+    void stream_ShouldCountBytesServedByDelivery() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tracks/1/stream");
+        request.addHeader("Range", "bytes=0-4");
+
+        audioStreamer.stream("track.mp3", request, new MockHttpServletResponse());
+        MockHttpServletRequest sendfile = new MockHttpServletRequest("GET", "/api/tracks/1/stream");
+        sendfile.setAttribute("org.apache.tomcat.sendfile.support", true);
+        audioStreamer.stream("track.mp3", sendfile, new MockHttpServletResponse());
+
+        assertEquals(5, meterRegistry.get("track.stream.bytes").tag("delivery", "channel").counter().count());
+        assertEquals(20, meterRegistry.get("track.stream.bytes").tag("delivery", "sendfile").counter().count());
+    }
+
+    @Test
+    void stream_ShouldReturnWholeFile_WhenNoRangeHeader() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tracks/1/stream");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        audioStreamer.stream("track.mp3", request, response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("audio/mpeg", response.getContentType());
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertEquals(20, response.getContentLengthLong());
+        assertNotNull(response.getHeader("ETag"));
+        assertEquals("0123456789abcdefghij", response.getContentAsString());
+    }
+
+    @Test
+    void stream_ShouldReturnPartialContent_WhenSingleRangeRequested() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tracks/1/stream");
+        request.addHeader("Range", "bytes=5-9");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        audioStreamer.stream("track.mp3", request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 5-9/20", response.getHeader("Content-Range"));
+        assertEquals(5, response.getContentLengthLong());
+        assertEquals("56789", response.getContentAsString());
+    }
+
+    @Test
+    void stream_ShouldReturnTail_WhenSuffixRangeRequested() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tracks/1/stream");
+        request.addHeader("Range", "bytes=-4");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        audioStreamer.stream("track.mp3", request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 16-19/20", response.getHeader("Content-Range"));
+        assertEquals("ghij", response.getContentAsString());
+    }
+
+    @Test
+    void stream_ShouldReturnMultipartByteranges_WhenSeveralRangesRequested() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tracks/1/stream");
+        request.addHeader("Range", "bytes=0-1,10-12");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        audioStreamer.stream("track.mp3", request, response);
+
+        assertEquals(206, response.getStatus());
+        assertTrue(response.getContentType().startsWith("multipart/byteranges; boundary="));
+        String body = response.getContentAsString();
+        assertTrue(body.contains("Content-Range: bytes 0-1/20\r\n\r\n01"));
+        assertTrue(body.contains("Content-Range: bytes 10-12/20\r\n\r\nabc"));
+    }
+
+    @Test
+    void stream_ShouldRejectRanges_WhenTogetherLongerThanFile() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tracks/1/stream");
+        request.addHeader("Range", "bytes=0-15,5-19");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        audioStreamer.stream("track.mp3", request, response);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */20", response.getHeader("Content-Range"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void stream_ShouldRejectRange_WhenNotSatisfiable() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tracks/1/stream");
+        request.addHeader("Range", "bytes=50-60");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        audioStreamer.stream("track.mp3", request, response);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */20", response.getHeader("Content-Range"));
+    }
+
+    @Test
+    void stream_ShouldIgnoreRange_WhenIfRangeDoesNotMatch() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tracks/1/stream");
+        request.addHeader("Range", "bytes=0-1");
+        request.addHeader("If-Range", "\"stale\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        audioStreamer.stream("track.mp3", request, response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(20, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void stream_ShouldHonourRange_WhenIfRangeMatchesEtag() throws IOException {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        audioStreamer.stream("track.mp3", new MockHttpServletRequest("GET", "/api/tracks/1/stream"), first);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tracks/1/stream");
+        request.addHeader("Range", "bytes=0-1");
+        request.addHeader("If-Range", first.getHeader("ETag"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        audioStreamer.stream("track.mp3", request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("01", response.getContentAsString());
+    }
+
+    @Test
+    void stream_ShouldReturnNotModified_WhenEtagMatches() throws IOException {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        audioStreamer.stream("track.mp3", new MockHttpServletRequest("GET", "/api/tracks/1/stream"), first);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tracks/1/stream");
+        request.addHeader("If-None-Match", first.getHeader("ETag"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        audioStreamer.stream("track.mp3", request, response);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void stream_ShouldThrowRuntimeException_WhenFileMissing() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tracks/1/stream");
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> {
+            audioStreamer.stream("missing.mp3", request, new MockHttpServletResponse());
+        });
+        assertEquals(404, e.getStatusCode().value());
+    }
+
+    @Test
+    void stream_ShouldRedirectToPresignedUrl_WhenStorageOffloadsReads() throws IOException {
+        TrackStorage storage = mock(TrackStorage.class);
+        when(storage.presignedUrl("track.mp3")).thenReturn(Optional.of(URI.create("https://bucket.example/track.mp3?sig=1")));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tracks/1/stream");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new AudioStreamer(storage, meterRegistry, ObservationRegistry.NOOP).stream("track.mp3", request, response);
+
+        assertEquals(307, response.getStatus());
+        assertEquals("https://bucket.example/track.mp3?sig=1", response.getHeader("Location"));
+    }
+
+    @Test
+    void stream_ShouldServePlaylistDirectly_WhenStorageOffloadsReads() throws IOException {
+        TrackStorage storage = mock(TrackStorage.class);
+        String playlist = "#EXTM3U\n";
+        when(storage.stat("abc~hls.m3u8")).thenReturn(Optional.of(
+                new StoredObject("abc~hls.m3u8", playlist.length(), Instant.parse("2024-01-01T00:00:00Z"), "\"p\"")));
+        when(storage.getRange("abc~hls.m3u8", 0, playlist.length()))
+                .thenReturn(new ByteArrayInputStream(playlist.getBytes()));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new AudioStreamer(storage, meterRegistry, ObservationRegistry.NOOP).stream("abc~hls.m3u8", new MockHttpServletRequest("GET", "/uploads/music/abc~hls.m3u8"), response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(playlist, response.getContentAsString());
+        verify(storage, never()).presignedUrl(any());
+    }
+
+    @Test
+    void stream_ShouldReadRangeFromStorage_WhenNoLocalFile() throws IOException {
+        TrackStorage storage = mock(TrackStorage.class);
+        when(storage.stat("track.mp3")).thenReturn(Optional.of(
+                new StoredObject("track.mp3", 20, Instant.parse("2024-01-01T00:00:00Z"), "\"etag\"")));
+        when(storage.getRange("track.mp3", 5, 3)).thenReturn(new ByteArrayInputStream("567".getBytes()));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tracks/1/stream");
+        request.addHeader("Range", "bytes=5-7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new AudioStreamer(storage, meterRegistry, ObservationRegistry.NOOP).stream("track.mp3", request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("\"etag\"", response.getHeader("ETag"));
+        assertEquals("567", response.getContentAsString());
+    }
+
+    @Test
+    void stream_ShouldDelegateToSendfile_WhenContainerSupportsIt() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tracks/1/stream");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader("Range", "bytes=2-5");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        audioStreamer.stream("track.mp3", request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals(file.toAbsolutePath().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(2L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(6L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+}
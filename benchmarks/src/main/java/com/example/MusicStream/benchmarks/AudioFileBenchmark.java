@@ -0,0 +1,132 @@
+package com.example.MusicStream.benchmarks;
+
+import com.example.MusicStream.storage.AudioStager;
+import com.example.MusicStream.storage.LocalTrackStorage;
+import com.example.MusicStream.storage.StagedAudio;
+import com.example.MusicStream.streaming.AudioStreamer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Upload staging (hash while copying to disk, then move into storage) and local-file
+ * streaming, full and ranged. Response bodies are discarded so only the server side of the
+ * copy is measured. Divide the file size by the average time for throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class AudioFileBenchmark {
+
+    private static final String KEY = "benchmark.mp3";
+
+    @Param({"1048576", "16777216"})
+    private int fileSize;
+
+    private Path root;
+    private LocalTrackStorage trackStorage;
+    private AudioStager audioStager;
+    private AudioStreamer audioStreamer;
+    private byte[] content;
+
+    @Setup
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("bench-audio");
+        trackStorage = new LocalTrackStorage(root.resolve("music"));
+        audioStager = new AudioStager(root.resolve("staging").toString(), DataSize.ofGigabytes(1));
+        audioStreamer = new AudioStreamer(trackStorage, new SimpleMeterRegistry(), ObservationRegistry.NOOP);
+        content = new byte[fileSize];
+        new Random(42).nextBytes(content);
+        Path source = Files.write(root.resolve("source.mp3"), content);
+        trackStorage.put(KEY, source);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(root);
+    }
+
+    @Benchmark
+    public String save() throws IOException {
+        StagedAudio staged = audioStager.stage(new ByteArrayInputStream(content), ".mp3");
+        try {
+            trackStorage.put(staged.name(), staged.temp());
+            trackStorage.delete(staged.name());
+        } finally {
+            audioStager.discard(staged);
+        }
+        return staged.checksum();
+    }
+
+    @Benchmark
+    public int streamFull() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/uploads/music/" + KEY);
+        DiscardingResponse response = new DiscardingResponse();
+        audioStreamer.stream(KEY, request, response);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int streamRange() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/uploads/music/" + KEY);
+        request.addHeader(HttpHeaders.RANGE, "bytes=" + (fileSize / 2) + "-" + (fileSize / 2 + 65535));
+        DiscardingResponse response = new DiscardingResponse();
+        audioStreamer.stream(KEY, request, response);
+        return response.getStatus();
+    }
+
+    private static class DiscardingResponse extends MockHttpServletResponse {
+
+        private final ServletOutputStream out = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return out;
+        }
+    }
+}
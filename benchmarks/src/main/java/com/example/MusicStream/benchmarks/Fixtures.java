@@ -0,0 +1,82 @@
+package com.example.MusicStream.benchmarks;
+
+import com.example.MusicStream.dto.TrackDto;
+import com.example.MusicStream.entity.MusicCategory;
+import com.example.MusicStream.entity.ProcessingStatus;
+import com.example.MusicStream.entity.Track;
+
+import java.time.Instant;
+
+/**
+ * Catalogue rows shaped like production data: every column populated, categories spread
+ * evenly.
+ */
+final class Fixtures {
+
+    private static final MusicCategory[] CATEGORIES = MusicCategory.values();
+
+    private Fixtures() {
+    }
+
+    static MusicCategory category(int i) {
+        return CATEGORIES[i % CATEGORIES.length];
+    }
+
+    static Track track(long id) {
+        Track track = new Track();
+        track.setId(id);
+        track.setVersion(3L);
+        fill(track, (int) id);
+        return track;
+    }
+
+    /**
+     * A new, unsaved track.
+     */
+    static Track newTrack(int i) {
+        Track track = new Track();
+        fill(track, i);
+        return track;
+    }
+
+    static TrackDto dto(long id) {
+        TrackDto dto = new TrackDto();
+        dto.setId(id);
+        dto.setTitle("Track title " + id);
+        dto.setArtist("Artist " + (id % 500));
+        dto.setDescription("A reasonably long description of track " + id + " used for payload sizing.");
+        dto.setCategory(category((int) id));
+        dto.setDuration(215L);
+        dto.setFileSize(5_242_880L);
+        dto.setFileUrl("http://localhost:8080/uploads/music/" + "a".repeat(64) + ".mp3");
+        dto.setCoverImage("http://localhost:8080/api/covers/" + "b".repeat(64) + "/256");
+        dto.setVersion(3L);
+        dto.setUpdatedAt(Instant.parse("2025-01-01T10:00:00Z"));
+        dto.setHlsStatus(ProcessingStatus.ready);
+        dto.setHlsPlaylistUrl("http://localhost:8080/uploads/music/" + "a".repeat(64) + "~hls.m3u8");
+        dto.setMetadataStatus(ProcessingStatus.ready);
+        dto.setBitrate(320);
+        dto.setSampleRate(44100);
+        dto.setCodec("MPEG-1 Layer 3");
+        return dto;
+    }
+
+    private static void fill(Track track, int i) {
+        track.setTitle("Track title " + i);
+        track.setArtist("Artist " + (i % 500));
+        track.setDescription("A reasonably long description of track " + i + " used for payload sizing.");
+        track.setCategory(category(i));
+        track.setDuration(215L);
+        track.setFileSize(5_242_880L);
+        track.setFileUrl("http://localhost:8080/uploads/music/" + "a".repeat(64) + ".mp3");
+        track.setFileChecksum("a".repeat(64));
+        track.setCoverImage("http://localhost:8080/api/covers/" + "b".repeat(64) + "/256");
+        track.setUpdatedAt(Instant.parse("2025-01-01T10:00:00Z"));
+        track.setHlsStatus(ProcessingStatus.ready);
+        track.setHlsPlaylistUrl("http://localhost:8080/uploads/music/" + "a".repeat(64) + "~hls.m3u8");
+        track.setMetadataStatus(ProcessingStatus.ready);
+        track.setBitrate(320);
+        track.setSampleRate(44100);
+        track.setCodec("MPEG-1 Layer 3");
+    }
+}
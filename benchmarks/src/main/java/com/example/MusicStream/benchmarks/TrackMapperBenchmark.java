@@ -0,0 +1,48 @@
+package com.example.MusicStream.benchmarks;
+
+import com.example.MusicStream.dto.TrackDto;
+import com.example.MusicStream.entity.Track;
+import com.example.MusicStream.mapper.TrackMapper;
+import com.example.MusicStream.mapper.TrackMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class TrackMapperBenchmark {
+
+    private final TrackMapper trackMapper = new TrackMapperImpl();
+
+    private Track track;
+    private TrackDto dto;
+
+    @Setup
+    public void setUp() {
+        track = Fixtures.track(42);
+        dto = Fixtures.dto(42);
+    }
+
+    @Benchmark
+    public TrackDto toDto() {
+        return trackMapper.toDto(track);
+    }
+
+    @Benchmark
+    public Track toEntity() {
+        return trackMapper.toEntity(dto);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.MusicStream.benchmarks;
+
+import com.example.MusicStream.MusicStreamApplication;
+import com.example.MusicStream.dto.CursorPage;
+import com.example.MusicStream.dto.TrackDto;
+import com.example.MusicStream.entity.MusicCategory;
+import com.example.MusicStream.entity.Track;
+import com.example.MusicStream.entity.TrackSort;
+import com.example.MusicStream.repository.TrackRepository;
+import com.example.MusicStream.service.TrackService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code TrackServiceImpl} listing paths through the real Spring context, with H2 standing in
+ * for PostgreSQL and caching switched off so every call reaches the database. Full-text
+ * search uses PostgreSQL-only SQL and is not covered; category filtering, offset paging and
+ * keyset scrolling are.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrackSearchBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private TrackService trackService;
+
+    private Pageable firstPage;
+    private Pageable deepPage;
+    private String deepCursor;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(MusicStreamApplication.class)
+                .web(WebApplicationType.NONE)
+                // Command-line arguments, so they win over the bundled application.properties
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.flyway.enabled=false",
+                        "--schema.verify-indexes=false",
+                        "--spring.cache.type=none",
+                        "--file.upload-dir=" + Files.createTempDirectory("bench-music"),
+                        "--logging.level.root=WARN");
+        trackService = context.getBean(TrackService.class);
+        TrackRepository trackRepository = context.getBean(TrackRepository.class);
+
+        List<Track> batch = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            batch.add(Fixtures.newTrack(i));
+            if (batch.size() == 500) {
+                trackRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        trackRepository.saveAll(batch);
+
+        int middle = rows / PAGE_SIZE / 2;
+        firstPage = PageRequest.of(0, PAGE_SIZE);
+        deepPage = PageRequest.of(middle, PAGE_SIZE);
+        String cursor = "";
+        for (int i = 0; i < middle; i++) {
+            cursor = trackService.scroll(null, null, TrackSort.id, cursor, PAGE_SIZE).getNext();
+        }
+        deepCursor = cursor;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<TrackDto> listFirstPage() {
+        return trackService.search(null, null, firstPage);
+    }
+
+    @Benchmark
+    public Page<TrackDto> listDeepPageByOffset() {
+        return trackService.search(null, null, deepPage);
+    }
+
+    @Benchmark
+    public CursorPage<TrackDto> scrollDeepPageByCursor() {
+        return trackService.scroll(null, null, TrackSort.id, deepCursor, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<TrackDto> listCategory() {
+        return trackService.search(null, MusicCategory.pop, firstPage);
+    }
+
+    @Benchmark
+    public CursorPage<TrackDto> scrollCategoryByTitle() {
+        return trackService.scroll(null, MusicCategory.pop, TrackSort.title, "", PAGE_SIZE);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.MusicStream.benchmarks;
+
+import com.example.MusicStream.dto.TrackDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * JSON encoding of the payloads {@code GET /api/tracks} and {@code GET /api/tracks/{id}}
+ * return. Page sizes cover the UI default and the largest allowed cursor page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class TrackSerializationBenchmark {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private TrackDto track;
+    private byte[] trackJson;
+
+    @State(Scope.Benchmark)
+    public static class Pages {
+
+        @Param({"8", "100"})
+        private int pageSize;
+
+        private Page<TrackDto> page;
+
+        @Setup
+        public void setUp() {
+            List<TrackDto> content = LongStream.rangeClosed(1, pageSize).mapToObj(Fixtures::dto).toList();
+            page = new PageImpl<>(content, PageRequest.of(3, pageSize), 10_000);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        track = Fixtures.dto(42);
+        trackJson = jsonMapper.writeValueAsBytes(track);
+    }
+
+    @Benchmark
+    public byte[] writePage(Pages pages) {
+        return jsonMapper.writeValueAsBytes(pages.page);
+    }
+
+    @Benchmark
+    public byte[] writeTrack() {
+        return jsonMapper.writeValueAsBytes(track);
+    }
+
+    @Benchmark
+    public TrackDto readTrack() {
+        return jsonMapper.readValue(trackJson, TrackDto.class);
+    }
+}
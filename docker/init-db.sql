@@ -3,6 +3,7 @@
 
 -- Extensions utiles
 CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
 
 -- Vérifier que l'utilisateur musicuser existe et a les droits nécessaires
 DO $$
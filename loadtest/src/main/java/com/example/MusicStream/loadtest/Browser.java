@@ -0,0 +1,67 @@
+package com.example.MusicStream.loadtest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URLEncoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Catalogue browsing: offset pages, cursor scrolling a few pages deep, title search and
+ * track detail.
+ */
+class Browser extends VirtualUser {
+
+    private static final String[] CATEGORIES = {"pop", "rock", "rap", "jazz", "classical", "electronic", "reggae", "other"};
+    private static final int PAGE_SIZE = 8;
+    private static final int SCROLL_DEPTH = 3;
+
+    private final JsonMapper jsonMapper;
+
+    Browser(Http http, Catalogue catalogue, LoadTestOptions options, long deadlineNanos, JsonMapper jsonMapper) {
+        super(http, catalogue, options, deadlineNanos);
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    void step() throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int action = random.nextInt(10);
+        if (action < 4) {
+            int pages = Math.max(1, catalogue.size() / PAGE_SIZE);
+            String category = random.nextBoolean() ? "&category=" + CATEGORIES[random.nextInt(CATEGORIES.length)] : "";
+            http.send("browse-page", http.request("/api/tracks?page=" + random.nextInt(pages)
+                    + "&size=" + PAGE_SIZE + category).GET().build());
+        } else if (action < 6) {
+            scroll();
+        } else if (action < 8) {
+            Optional<Catalogue.Entry> track = catalogue.random();
+            if (track.isPresent()) {
+                String word = track.get().title().split("\\s+")[0];
+                http.send("search", http.request("/api/tracks?size=" + PAGE_SIZE + "&title="
+                        + URLEncoder.encode(word, StandardCharsets.UTF_8)).GET().build());
+            }
+        } else {
+            Optional<Catalogue.Entry> track = catalogue.random();
+            if (track.isPresent()) {
+                http.send("track", http.request("/api/tracks/" + track.get().id()).GET().build());
+            }
+        }
+    }
+
+    private void scroll() throws InterruptedException {
+        String cursor = "";
+        for (int page = 0; page < SCROLL_DEPTH && cursor != null && !expired(); page++) {
+            Optional<HttpResponse<byte[]>> response = http.send("scroll", http.request("/api/tracks?size=" + PAGE_SIZE
+                    + "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8)).GET().build());
+            if (response.isEmpty()) {
+                return;
+            }
+            JsonNode body = jsonMapper.readTree(response.get().body());
+            cursor = body.path("next").asString(null);
+        }
+    }
+}
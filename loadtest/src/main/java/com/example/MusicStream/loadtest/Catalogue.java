@@ -0,0 +1,82 @@
+package com.example.MusicStream.loadtest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Tracks the virtual users pick from: the existing catalogue, loaded once before the run,
+ * plus whatever the uploaders create.
+ */
+class Catalogue {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int MAX_PAGES = 20;
+
+    record Entry(long id, String title, String audioPath) {
+    }
+
+    private final List<Entry> tracks = new CopyOnWriteArrayList<>();
+    private final List<Long> created = new CopyOnWriteArrayList<>();
+
+    void load(Http http, JsonMapper jsonMapper) throws IOException, InterruptedException {
+        for (int page = 0; page < MAX_PAGES; page++) {
+            HttpResponse<byte[]> response = http.sendUntimed(
+                    http.request("/api/tracks?page=" + page + "&size=" + PAGE_SIZE).GET().build());
+            if (response.statusCode() != 200) {
+                throw new IOException("Catalogue request failed with status " + response.statusCode());
+            }
+            JsonNode body = jsonMapper.readTree(response.body());
+            for (JsonNode track : body.path("content")) {
+                add(track);
+            }
+            if (body.path("content").size() < PAGE_SIZE) {
+                return;
+            }
+        }
+    }
+
+    void add(JsonNode track) {
+        String fileUrl = track.path("fileUrl").asString(null);
+        tracks.add(new Entry(track.path("id").asLong(), track.path("title").asString(""),
+                fileUrl == null ? null : URI.create(fileUrl).getRawPath()));
+    }
+
+    void addCreated(JsonNode track) {
+        add(track);
+        created.add(track.path("id").asLong());
+    }
+
+    Optional<Entry> random() {
+        List<Entry> snapshot = tracks;
+        if (snapshot.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(snapshot.get(ThreadLocalRandom.current().nextInt(snapshot.size())));
+    }
+
+    Optional<Entry> randomWithAudio() {
+        for (int attempt = 0; attempt < 10; attempt++) {
+            Optional<Entry> entry = random();
+            if (entry.isEmpty() || entry.get().audioPath() != null) {
+                return entry;
+            }
+        }
+        return Optional.empty();
+    }
+
+    int size() {
+        return tracks.size();
+    }
+
+    List<Long> created() {
+        return created;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.MusicStream.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Timed requests against the backend. Latency covers the whole exchange, body included,
+ * transferred bytes count both directions, and any status of 400 or above is an error.
+ */
+class Http {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient client;
+    private final URI baseUrl;
+    private final Metrics metrics;
+
+    Http(HttpClient client, URI baseUrl, Metrics metrics) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.metrics = metrics;
+    }
+
+    HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    Optional<HttpResponse<byte[]>> send(String operation, HttpRequest request) throws InterruptedException {
+        long sent = request.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength).orElse(0L);
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            metrics.record(operation, System.nanoTime() - start, Math.max(0, sent) + response.body().length,
+                    response.statusCode() < 400);
+            return response.statusCode() < 400 ? Optional.of(response) : Optional.empty();
+        } catch (IOException e) {
+            metrics.record(operation, System.nanoTime() - start, 0, false);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Untimed request, for setup and cleanup.
+     */
+    HttpResponse<byte[]> sendUntimed(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.MusicStream.loadtest;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * A player streaming one track the way browsers do: sequential range requests, each fetched
+ * when playback would need it at the configured bitrate. The first chunk is reported
+ * separately, as it is what the listener waits on before hearing anything.
+ */
+class Listener extends VirtualUser {
+
+    Listener(Http http, Catalogue catalogue, LoadTestOptions options, long deadlineNanos) {
+        super(http, catalogue, options, deadlineNanos);
+    }
+
+    @Override
+    void step() throws InterruptedException {
+        Optional<Catalogue.Entry> track = catalogue.randomWithAudio();
+        if (track.isEmpty()) {
+            pause(Duration.ofSeconds(1));
+            return;
+        }
+        long bytesPerSecond = options.bitrateKbps() * 1000L / 8;
+        long position = 0;
+        long length = Long.MAX_VALUE;
+        String operation = "stream-start";
+        while (position < length && !expired()) {
+            long end = position + options.chunkSize() - 1;
+            Optional<HttpResponse<byte[]>> response = http.send(operation, http.request(track.get().audioPath())
+                    .header("Range", "bytes=" + position + "-" + end).GET().build());
+            if (response.isEmpty()) {
+                return;
+            }
+            length = totalLength(response.get());
+            int received = response.get().body().length;
+            position += received;
+            operation = "stream-range";
+            pause(Duration.ofMillis(received * 1000L / bytesPerSecond));
+        }
+    }
+
+    // From "Content-Range: bytes 0-262143/5242880"; a 200 means the whole file was sent
+    private static long totalLength(HttpResponse<byte[]> response) {
+        return response.headers().firstValue("Content-Range")
+                .map(range -> Long.parseLong(range.substring(range.indexOf('/') + 1)))
+                .orElse((long) response.body().length);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.MusicStream.loadtest;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load generator for a running backend. Browsers, listeners and uploaders run side by side
+ * for the configured duration, started evenly over the ramp-up; latency percentiles and
+ * throughput are printed per operation at each interval and for the whole run.
+ * <p>
+ * Exits with status 1 when the error rate exceeds {@code --max-error-rate}.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        Metrics metrics = new Metrics();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        Http http = new Http(client, options.baseUrl(), metrics);
+
+        Catalogue catalogue = new Catalogue();
+        catalogue.load(http, jsonMapper);
+        System.out.printf("Loaded %d tracks from %s; running %d browsers, %d listeners, %d uploaders for %s%n",
+                catalogue.size(), options.baseUrl(), options.browsers(), options.listeners(), options.uploaders(),
+                options.duration());
+
+        long deadline = System.nanoTime() + options.rampUp().plus(options.duration()).toNanos();
+        List<VirtualUser> users = new ArrayList<>();
+        for (int i = 0; i < options.browsers(); i++) {
+            users.add(new Browser(http, catalogue, options, deadline, jsonMapper));
+        }
+        for (int i = 0; i < options.listeners(); i++) {
+            users.add(new Listener(http, catalogue, options, deadline));
+        }
+        for (int i = 0; i < options.uploaders(); i++) {
+            users.add(new Uploader(http, catalogue, options, deadline, jsonMapper));
+        }
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        long interval = options.reportInterval().toMillis();
+        reporter.scheduleAtFixedRate(() -> metrics.printInterval(System.out), interval, interval, TimeUnit.MILLISECONDS);
+
+        // Interleave the kinds so each is ramped up across the whole window
+        Collections.shuffle(users);
+        long stagger = users.isEmpty() ? 0 : options.rampUp().toMillis() / users.size();
+        List<Thread> threads = new ArrayList<>();
+        for (VirtualUser user : users) {
+            Thread thread = new Thread(user, user.getClass().getSimpleName().toLowerCase());
+            thread.start();
+            threads.add(thread);
+            Thread.sleep(stagger);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        reporter.shutdownNow();
+
+        double errorRate = metrics.printSummary(System.out);
+        if (options.cleanup()) {
+            cleanup(http, catalogue);
+        }
+        if (errorRate > options.maxErrorRate()) {
+            System.out.printf("Error rate %.2f%% exceeds %.2f%%%n", errorRate * 100, options.maxErrorRate() * 100);
+            System.exit(1);
+        }
+    }
+
+    private static void cleanup(Http http, Catalogue catalogue) throws InterruptedException {
+        int deleted = 0;
+        for (long id : catalogue.created()) {
+            try {
+                if (http.sendUntimed(http.request("/api/tracks/" + id).DELETE().build()).statusCode() < 400) {
+                    deleted++;
+                }
+            } catch (IOException e) {
+                System.out.printf("Could not delete track %d: %s%n", id, e.getMessage());
+            }
+        }
+        System.out.printf("Deleted %d of %d uploaded tracks%n", deleted, catalogue.created().size());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.MusicStream.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command-line settings, given as {@code --name=value}. Every setting has a default suited to
+ * a developer machine running the backend on port 8080.
+ */
+record LoadTestOptions(URI baseUrl,
+                       Duration duration,
+                       Duration rampUp,
+                       Duration reportInterval,
+                       int browsers,
+                       int listeners,
+                       int uploaders,
+                       Duration thinkTime,
+                       int chunkSize,
+                       int bitrateKbps,
+                       int uploadSize,
+                       boolean cleanup,
+                       double maxErrorRate) {
+
+    private static final Set<String> NAMES = Set.of("base-url", "duration", "ramp-up", "report-interval",
+            "browsers", "listeners", "uploaders", "think-time", "chunk-size", "bitrate-kbps", "upload-size",
+            "cleanup", "max-error-rate");
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0 || !NAMES.contains(arg.substring(2, eq))) {
+                throw new IllegalArgumentException("Unknown option " + arg + ", expected --name=value with name in " + NAMES);
+            }
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        String baseUrl = values.getOrDefault("base-url", "http://localhost:8080");
+        return new LoadTestOptions(
+                URI.create(baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl),
+                Duration.parse(values.getOrDefault("duration", "PT1M")),
+                Duration.parse(values.getOrDefault("ramp-up", "PT10S")),
+                Duration.parse(values.getOrDefault("report-interval", "PT10S")),
+                Integer.parseInt(values.getOrDefault("browsers", "20")),
+                Integer.parseInt(values.getOrDefault("listeners", "50")),
+                Integer.parseInt(values.getOrDefault("uploaders", "2")),
+                Duration.parse(values.getOrDefault("think-time", "PT1S")),
+                bytes(values.getOrDefault("chunk-size", "256KB")),
+                Integer.parseInt(values.getOrDefault("bitrate-kbps", "320")),
+                bytes(values.getOrDefault("upload-size", "4MB")),
+                Boolean.parseBoolean(values.getOrDefault("cleanup", "true")),
+                Double.parseDouble(values.getOrDefault("max-error-rate", "0.01")));
+    }
+
+    // "256KB", "4MB" or a plain byte count
+    private static int bytes(String value) {
+        String upper = value.trim().toUpperCase();
+        if (upper.endsWith("MB")) {
+            return Integer.parseInt(upper.substring(0, upper.length() - 2)) * 1024 * 1024;
+        }
+        if (upper.endsWith("KB")) {
+            return Integer.parseInt(upper.substring(0, upper.length() - 2)) * 1024;
+        }
+        return Integer.parseInt(upper);
+    }
+}
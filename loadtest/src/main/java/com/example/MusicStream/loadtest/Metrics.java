@@ -0,0 +1,90 @@
+package com.example.MusicStream.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms (microseconds), request, error and byte counts. Virtual
+ * users record concurrently; the reporter drains interval histograms into the run totals.
+ */
+class Metrics {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+    private final long startNanos = System.nanoTime();
+    private long lastReportNanos = startNanos;
+
+    void record(String operation, long elapsedNanos, long bytes, boolean ok) {
+        Operation op = operations.computeIfAbsent(operation, name -> new Operation());
+        op.recorder.recordValue(Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(elapsedNanos)));
+        op.bytes.add(bytes);
+        if (!ok) {
+            op.errors.increment();
+            op.intervalErrors.increment();
+        }
+    }
+
+    synchronized void printInterval(PrintStream out) {
+        long now = System.nanoTime();
+        double seconds = (now - lastReportNanos) / 1e9;
+        lastReportNanos = now;
+        out.printf("--- %ds ---%n", TimeUnit.NANOSECONDS.toSeconds(now - startNanos));
+        new TreeMap<>(operations).forEach((name, op) -> {
+            Histogram interval = op.drain();
+            out.printf("%-16s %8.1f req/s  p50 %8.2f ms  p99 %8.2f ms  errors %d%n", name,
+                    interval.getTotalCount() / seconds, millis(interval.getValueAtPercentile(50)),
+                    millis(interval.getValueAtPercentile(99)), op.intervalErrors.sumThenReset());
+        });
+    }
+
+    /**
+     * Prints the run summary and returns the overall error rate.
+     */
+    synchronized double printSummary(PrintStream out) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        long requests = 0;
+        long errors = 0;
+        out.printf("%n%-16s %9s %9s %9s %9s %9s %9s %9s %9s %8s%n", "operation", "requests", "req/s", "MB/s",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+        for (Map.Entry<String, Operation> entry : new TreeMap<>(operations).entrySet()) {
+            Operation op = entry.getValue();
+            op.drain();
+            Histogram total = op.total;
+            out.printf("%-16s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f %8d%n", entry.getKey(),
+                    total.getTotalCount(), total.getTotalCount() / seconds, op.bytes.sum() / seconds / 1024 / 1024,
+                    millis(total.getValueAtPercentile(50)), millis(total.getValueAtPercentile(90)),
+                    millis(total.getValueAtPercentile(99)), millis(total.getValueAtPercentile(99.9)),
+                    millis(total.getMaxValue()), op.errors.sum());
+            requests += total.getTotalCount();
+            errors += op.errors.sum();
+        }
+        return requests == 0 ? 1.0 : (double) errors / requests;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static class Operation {
+
+        private final Recorder recorder = new Recorder(MAX_LATENCY_MICROS, 3);
+        private final Histogram total = new Histogram(MAX_LATENCY_MICROS, 3);
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder intervalErrors = new LongAdder();
+
+        private Histogram drain() {
+            Histogram interval = recorder.getIntervalHistogram();
+            total.add(interval);
+            return interval;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.MusicStream.loadtest;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Multipart track creation with a fresh noise WAV each time, so content deduplication on the
+ * server never short-circuits the upload path. Created tracks join the catalogue.
+ */
+class Uploader extends VirtualUser {
+
+    private static final int WAV_HEADER_SIZE = 44;
+    private static final int SAMPLE_RATE = 44100;
+
+    private final JsonMapper jsonMapper;
+
+    Uploader(Http http, Catalogue catalogue, LoadTestOptions options, long deadlineNanos, JsonMapper jsonMapper) {
+        super(http, catalogue, options, deadlineNanos);
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    void step() throws InterruptedException {
+        String boundary = "loadtest-" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(options.uploadSize() + 1024);
+        part(body, boundary, "title", "Load test " + UUID.randomUUID().toString().substring(0, 8));
+        part(body, boundary, "artist", "Load Generator");
+        part(body, boundary, "category", "electronic");
+        part(body, boundary, "duration", "0");
+        write(body, "--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"loadtest.wav\"\r\n"
+                + "Content-Type: audio/wav\r\n\r\n");
+        body.writeBytes(wav(options.uploadSize()));
+        write(body, "\r\n--" + boundary + "--\r\n");
+
+        Optional<HttpResponse<byte[]>> response = http.send("upload", http.request("/api/tracks")
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build());
+        response.ifPresent(created -> catalogue.addCreated(jsonMapper.readTree(created.body())));
+    }
+
+    private static void part(ByteArrayOutputStream body, String boundary, String name, String value) {
+        write(body, "--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + name + "\"\r\n\r\n" + value + "\r\n");
+    }
+
+    private static void write(ByteArrayOutputStream body, String text) {
+        body.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 16-bit mono PCM filled with noise
+    private static byte[] wav(int size) {
+        int dataSize = Math.max(0, size - WAV_HEADER_SIZE) & ~1;
+        ByteBuffer wav = ByteBuffer.allocate(WAV_HEADER_SIZE + dataSize).order(ByteOrder.LITTLE_ENDIAN);
+        wav.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(36 + dataSize)
+                .put("WAVEfmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16)
+                .putShort((short) 1).putShort((short) 1).putInt(SAMPLE_RATE).putInt(SAMPLE_RATE * 2)
+                .putShort((short) 2).putShort((short) 16)
+                .put("data".getBytes(StandardCharsets.US_ASCII)).putInt(dataSize);
+        byte[] bytes = wav.array();
+        byte[] noise = new byte[dataSize];
+        ThreadLocalRandom.current().nextBytes(noise);
+        System.arraycopy(noise, 0, bytes, WAV_HEADER_SIZE, dataSize);
+        return bytes;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.MusicStream.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One simulated client running its scenario in a closed loop until the deadline, pausing a
+ * randomised think time between steps.
+ */
+abstract class VirtualUser implements Runnable {
+
+    protected final Http http;
+    protected final Catalogue catalogue;
+    protected final LoadTestOptions options;
+    private final long deadlineNanos;
+
+    VirtualUser(Http http, Catalogue catalogue, LoadTestOptions options, long deadlineNanos) {
+        this.http = http;
+        this.catalogue = catalogue;
+        this.options = options;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (!expired()) {
+                step();
+                // 0.5x to 1.5x the configured think time, so users drift out of lockstep
+                pause(Duration.ofMillis((long) (options.thinkTime().toMillis()
+                        * (0.5 + ThreadLocalRandom.current().nextDouble()))));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    abstract void step() throws InterruptedException;
+
+    protected boolean expired() {
+        return System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    protected void pause(Duration duration) throws InterruptedException {
+        long remaining = deadlineNanos - System.nanoTime();
+        if (remaining > 0) {
+            Thread.sleep(Math.min(duration.toMillis(), remaining / 1_000_000));
+        }
+    }
+}